@@ -27,6 +27,7 @@ import com.ritense.audit.service.AuditEventProcessor;
 import com.ritense.audit.service.AuditRetentionService;
 import com.ritense.audit.service.AuditSearchService;
 import com.ritense.audit.service.AuditService;
+import com.ritense.audit.service.impl.AsyncAuditEventProcessor;
 import com.ritense.audit.service.impl.AuditEventProcessorImpl;
 import com.ritense.audit.service.impl.AuditRetentionServiceImpl;
 import com.ritense.audit.service.impl.AuditSearchServiceImpl;
@@ -35,6 +36,7 @@ import com.ritense.authorization.AuthorizationService;
 import com.ritense.document.service.DocumentService;
 import com.ritense.valtimo.contract.database.QueryDialectHelper;
 import jakarta.persistence.EntityManager;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -43,6 +45,7 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @AutoConfiguration
 @EnableJpaRepositories(basePackages = "com.ritense.audit.repository.impl")
@@ -51,7 +54,27 @@ public class AuditAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(AuditEventProcessor.class)
-    public AuditEventProcessor auditEventProcessor(AuditRecordRepository<AuditRecord> auditRecordRepository) {
+    public AuditEventProcessor auditEventProcessor(
+        AuditRecordRepository<AuditRecord> auditRecordRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager platformTransactionManager,
+        @Value("${audit.record.async.enabled:false}") boolean asyncEnabled,
+        @Value("${audit.record.async.queueSize:10000}") int queueSize,
+        @Value("${audit.record.async.batchSize:200}") int batchSize,
+        @Value("${audit.record.async.flushInterval:200ms}") Duration flushInterval,
+        @Value("${audit.record.async.recoveryInterval:1m}") Duration recoveryInterval
+    ) {
+        if (asyncEnabled) {
+            return new AsyncAuditEventProcessor(
+                auditRecordRepository,
+                entityManager,
+                platformTransactionManager,
+                queueSize,
+                batchSize,
+                flushInterval,
+                recoveryInterval
+            );
+        }
         return new AuditEventProcessorImpl(auditRecordRepository);
     }
 
@@ -70,9 +93,12 @@ public class AuditAutoConfiguration {
     @ConditionalOnProperty(prefix = "scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
     public AuditRetentionService auditRetentionService(
         AuditService auditService,
-        @Value("${audit.record.retention:15}") long retentionInDays
+        @Value("${audit.record.retention:15}") long retentionInDays,
+        @Value("${audit.record.retentionBatchSize:1000}") int batchSize,
+        @Value("${audit.record.retentionBatchPause:50ms}") Duration batchPause,
+        @Value("${audit.record.retentionMaxDuration:50m}") Duration maxDuration
     ) {
-        return new AuditRetentionServiceImpl(auditService, retentionInDays);
+        return new AuditRetentionServiceImpl(auditService, retentionInDays, batchSize, batchPause, maxDuration);
     }
 
     @Bean
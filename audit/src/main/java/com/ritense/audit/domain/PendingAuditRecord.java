@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.domain;
+
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import org.hibernate.annotations.Type;
+
+/**
+ * Write-ahead copy of an audit event that has not been written as {@link AuditRecord} yet.
+ *
+ * <p>Stored in the transaction that raised the event and removed in the transaction that writes the audit record.
+ */
+@Entity
+@Table(name = "audit_record_pending")
+public class PendingAuditRecord {
+
+    @Id
+    @Column(name = "audit_record_id", updatable = false)
+    private UUID id;
+
+    @Column(name = "created_on", nullable = false, updatable = false)
+    private LocalDateTime createdOn;
+
+    @Type(value = JsonType.class)
+    @Column(name = "audit_event", columnDefinition = "json", nullable = false, updatable = false)
+    private AuditEvent auditEvent;
+
+    public PendingAuditRecord(AuditRecord auditRecord) {
+        this.id = auditRecord.getId().id();
+        this.createdOn = auditRecord.getCreatedOn();
+        this.auditEvent = auditRecord.getAuditEvent();
+    }
+
+    private PendingAuditRecord() {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PendingAuditRecord that)) {
+            return false;
+        }
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public AuditEvent getAuditEvent() {
+        return auditEvent;
+    }
+}
@@ -19,6 +19,7 @@ package com.ritense.audit.repository;
 import com.ritense.audit.domain.AuditRecord;
 import com.ritense.audit.domain.AuditRecordId;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -61,4 +62,8 @@ public interface AuditRecordRepository<T extends AuditRecord>
 
     void deleteAllBefore(LocalDateTime date);
 
+    List<UUID> findIdsCreatedBefore(LocalDateTime date, Pageable pageable);
+
+    int deleteAllByIds(Collection<UUID> ids);
+
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.ritense.audit.repository.impl;
 import com.ritense.audit.domain.AuditRecord;
 import com.ritense.audit.repository.AuditRecordRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -81,4 +82,16 @@ public interface MySqlAuditRecordRepository extends AuditRecordRepository<AuditR
         "    WHERE   ar.createdOn < :date")
     void deleteAllBefore(@Param("date") LocalDateTime date);
 
+    @Query(" SELECT  ar.auditRecordId.id " +
+        "    FROM    AuditRecord ar " +
+        "    WHERE   ar.createdOn < :date " +
+        "    ORDER BY ar.createdOn")
+    List<UUID> findIdsCreatedBefore(@Param("date") LocalDateTime date, Pageable pageable);
+
+    @Modifying
+    @Query(" DELETE " +
+        "    FROM    AuditRecord ar " +
+        "    WHERE   ar.auditRecordId.id IN (:ids)")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
 }
\ No newline at end of file
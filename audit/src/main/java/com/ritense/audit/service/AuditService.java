@@ -55,4 +55,11 @@ public interface AuditService {
     List<AuditRecord> findByEventTypeAndProperty(Class<? extends AuditEvent> event, String key, Object value);
 
     void deleteAllBefore(LocalDateTime date);
+
+    /**
+     * Deletes at most {@code batchSize} of the oldest audit records that were created before the given date.
+     *
+     * @return the number of deleted audit records
+     */
+    int deleteBatchBefore(LocalDateTime date, int batchSize);
 }
\ No newline at end of file
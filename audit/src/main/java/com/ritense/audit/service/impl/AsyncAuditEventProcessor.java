@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.PendingAuditRecord;
+import com.ritense.audit.exception.AuditRuntimeException;
+import com.ritense.audit.repository.AuditRecordRepository;
+import com.ritense.audit.service.AuditEventProcessor;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Audit event processor that takes the audit writes out of the caller's transaction.
+ *
+ * <p>Every audit event is first stored as a {@link PendingAuditRecord} in the caller's transaction, so a rolled back
+ * transaction leaves nothing behind and a committed one can not lose its audit record. Once the caller's
+ * transaction commits the record is queued. A single writer thread persists the queued records in batches of at most
+ * {@code batchSize} records and removes their pending rows in the same transaction. When the queue is full the record
+ * is written on the calling thread instead.
+ *
+ * <p>When a batch fails, its records are written one by one. A record whose id already exists is skipped, like
+ * {@link com.ritense.audit.exception.AuditRecordAlreadyProcessedException} is ignored for synchronous processing. Any
+ * other failure leaves the pending row in place. Pending rows older than {@code recoveryInterval}, including those
+ * left behind by a crash or shutdown, are queued again every {@code recoveryInterval}.
+ */
+public class AsyncAuditEventProcessor implements AuditEventProcessor, DisposableBean {
+
+    public static final int DEFAULT_QUEUE_SIZE = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+    public static final Duration DEFAULT_RECOVERY_INTERVAL = Duration.ofMinutes(1);
+    private static final Logger logger = LoggerFactory.getLogger(AsyncAuditEventProcessor.class);
+
+    private final AuditRecordRepository<AuditRecord> auditRecordRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration recoveryInterval;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncAuditEventProcessor(
+        AuditRecordRepository<AuditRecord> auditRecordRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager platformTransactionManager,
+        int queueSize,
+        int batchSize,
+        Duration flushInterval,
+        Duration recoveryInterval
+    ) {
+        if (queueSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("queueSize and batchSize must be at least 1");
+        }
+        this.auditRecordRepository = auditRecordRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.recoveryInterval = recoveryInterval;
+        this.writer = new Thread(this::writeQueuedRecords, "audit-record-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void process(final AuditEvent event) {
+        final AuditRecord auditRecord;
+        try {
+            auditRecord = AuditEventProcessorImpl.createAuditRecord(event);
+        } catch (IllegalArgumentException e) {
+            throw new AuditRuntimeException("Error due to invalid argument.", e);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.persist(new PendingAuditRecord(auditRecord));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(auditRecord);
+                }
+            });
+        } else {
+            transactionTemplate.executeWithoutResult(status ->
+                entityManager.persist(new PendingAuditRecord(auditRecord))
+            );
+            enqueue(auditRecord);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        writeBatches();
+    }
+
+    private void enqueue(AuditRecord auditRecord) {
+        if (!running || !queue.offer(auditRecord)) {
+            write(auditRecord);
+        }
+    }
+
+    private void writeQueuedRecords() {
+        var nextRecovery = System.nanoTime() + recoveryInterval.toNanos();
+        while (running) {
+            try {
+                final var first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    final var batch = new ArrayList<AuditRecord>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+                if (System.nanoTime() - nextRecovery >= 0) {
+                    nextRecovery = System.nanoTime() + recoveryInterval.toNanos();
+                    recoverPendingRecords();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error writing audit records", e);
+            }
+        }
+    }
+
+    private void writeBatches() {
+        final var batch = new ArrayList<AuditRecord>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        final var unique = new LinkedHashMap<UUID, AuditRecord>();
+        for (var auditRecord : batch) {
+            if (unique.putIfAbsent(auditRecord.getId().id(), auditRecord) != null) {
+                logger.debug("Notice: skipping AuditRecord - {} - already processed", auditRecord.getId());
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(unique.size());
+                auditRecordRepository.saveAll(unique.values());
+                auditRecordRepository.flush();
+                deletePendingRecords(unique.keySet());
+            });
+            logger.debug("Processed {} AuditRecords", unique.size());
+        } catch (Exception e) {
+            logger.debug("Writing a batch of {} AuditRecords failed, writing them one by one", unique.size(), e);
+            unique.values().forEach(this::write);
+        }
+    }
+
+    private void write(AuditRecord auditRecord) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                auditRecordRepository.saveAndFlush(auditRecord);
+                deletePendingRecords(List.of(auditRecord.getId().id()));
+            });
+            logger.debug("Processed AuditRecord: {}", auditRecord);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMostSpecificCause() instanceof SQLIntegrityConstraintViolationException) {
+                logger.debug("Notice: skipping AuditRecord - {} - already processed", auditRecord.getId());
+                transactionTemplate.executeWithoutResult(status ->
+                    deletePendingRecords(List.of(auditRecord.getId().id()))
+                );
+            } else {
+                logger.warn("Error writing AuditRecord {}, it will be retried", auditRecord.getId(), e);
+            }
+        } catch (Exception e) {
+            logger.warn("Error writing AuditRecord {}, it will be retried", auditRecord.getId(), e);
+        }
+    }
+
+    private void recoverPendingRecords() {
+        final var maxResults = queue.remainingCapacity();
+        if (maxResults == 0) {
+            return;
+        }
+        final var pendingAuditRecords = transactionTemplate.execute(status -> {
+            entityManager.createQuery("""
+                    DELETE FROM PendingAuditRecord pending
+                    WHERE EXISTS (
+                        SELECT auditRecord FROM AuditRecord auditRecord
+                        WHERE auditRecord.auditRecordId.id = pending.id
+                    )""")
+                .executeUpdate();
+            return entityManager.createQuery("""
+                    SELECT pending FROM PendingAuditRecord pending
+                    WHERE pending.createdOn < :createdBefore
+                    ORDER BY pending.createdOn""", PendingAuditRecord.class)
+                .setParameter("createdBefore", LocalDateTime.now().minus(recoveryInterval))
+                .setMaxResults(maxResults)
+                .getResultList();
+        });
+        if (pendingAuditRecords != null && !pendingAuditRecords.isEmpty()) {
+            logger.info("Recovering {} pending AuditRecords", pendingAuditRecords.size());
+            pendingAuditRecords.forEach(pending ->
+                queue.offer(AuditEventProcessorImpl.createAuditRecord(pending.getAuditEvent()))
+            );
+        }
+    }
+
+    private void deletePendingRecords(Collection<UUID> ids) {
+        entityManager.createQuery("DELETE FROM PendingAuditRecord pending WHERE pending.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+
+}
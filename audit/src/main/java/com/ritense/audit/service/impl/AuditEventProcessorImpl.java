@@ -52,18 +52,7 @@ public class AuditEventProcessorImpl implements AuditEventProcessor {
             event
         );
         try {
-            assertArgumentNotNull(event, "auditEvent is required");
-            final MetaData metaData = new MetaDataBuilder()
-                .origin(event.getOrigin())
-                .occurredOn(event.getOccurredOn())
-                .user(event.getUser())
-                .build();
-            final AuditRecord auditRecord = new AuditRecordBuilder()
-                .id(AuditRecordId.newId(event.getId()))
-                .metaData(metaData)
-                .auditEvent(event)
-                .documentId(event.getDocumentId())
-                .build();
+            final AuditRecord auditRecord = createAuditRecord(event);
             auditRecordRepository.saveAndFlush(auditRecord);
             logger.debug("Processed AuditEvent: {}", auditRecord);
         } catch (IllegalArgumentException e) {
@@ -79,4 +68,19 @@ public class AuditEventProcessorImpl implements AuditEventProcessor {
         }
     }
 
+    static AuditRecord createAuditRecord(final AuditEvent event) {
+        assertArgumentNotNull(event, "auditEvent is required");
+        final MetaData metaData = new MetaDataBuilder()
+            .origin(event.getOrigin())
+            .occurredOn(event.getOccurredOn())
+            .user(event.getUser())
+            .build();
+        return new AuditRecordBuilder()
+            .id(AuditRecordId.newId(event.getId()))
+            .metaData(metaData)
+            .auditEvent(event)
+            .documentId(event.getDocumentId())
+            .build();
+    }
+
 }
@@ -20,26 +20,104 @@ import static java.time.LocalDateTime.now;
 
 import com.ritense.audit.service.AuditRetentionService;
 import com.ritense.audit.service.AuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
 public class AuditRetentionServiceImpl implements AuditRetentionService {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final Duration DEFAULT_BATCH_PAUSE = Duration.ofMillis(50);
+    public static final Duration DEFAULT_MAX_DURATION = Duration.ofMinutes(50);
+    private static final Logger logger = LoggerFactory.getLogger(AuditRetentionServiceImpl.class);
+    private static final String TABLE = "audit_record";
+
     private final AuditService auditService;
     private final long retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration maxDuration;
 
     public AuditRetentionServiceImpl(AuditService auditService, long retention) {
+        this(auditService, retention, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_PAUSE, DEFAULT_MAX_DURATION);
+    }
+
+    public AuditRetentionServiceImpl(
+        AuditService auditService,
+        long retention,
+        int batchSize,
+        Duration batchPause,
+        Duration maxDuration
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
         this.auditService = auditService;
         this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxDuration = maxDuration;
     }
 
+    /**
+     * Deletes the audit records that are older than the retention period in batches, each in its own transaction.
+     * The run stops after {@code maxDuration}, well within the scheduler lock, and the next run continues where it
+     * left off.
+     */
     @Override
     @Scheduled(cron = "${scheduling.job.cron.cleanupAuditEvents:-}")
     @SchedulerLock(
         name = "AuditRetentionService_cleanup", lockAtLeastFor = "PT4S", lockAtMostFor = "PT60M"
     )
     public void cleanup() {
-        auditService.deleteAllBefore(now().minusDays(retention));
+        final var cutoff = now().minusDays(retention);
+        final var start = System.nanoTime();
+        final var deadline = start + maxDuration.toNanos();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = auditService.deleteBatchBefore(cutoff, batchSize);
+            purged += deleted;
+        } while (deleted == batchSize && System.nanoTime() < deadline && pause());
+
+        final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Counter.builder("valtimo.retention.purged")
+            .description("Rows deleted by retention jobs")
+            .tag("table", TABLE)
+            .register(Metrics.globalRegistry)
+            .increment(purged);
+        Timer.builder("valtimo.retention.run")
+            .description("Duration of retention job runs")
+            .tag("table", TABLE)
+            .register(Metrics.globalRegistry)
+            .record(elapsed);
+        if (deleted == batchSize) {
+            logger.info(
+                "Purged {} audit records in {} ms, the remaining records will be purged in the next run",
+                purged,
+                elapsed.toMillis()
+            );
+        } else {
+            logger.info("Purged {} audit records created before {} in {} ms", purged, cutoff, elapsed.toMillis());
+        }
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
-}
\ No newline at end of file
+}
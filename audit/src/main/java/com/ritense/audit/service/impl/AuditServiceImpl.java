@@ -34,6 +34,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -100,6 +101,15 @@ public class AuditServiceImpl implements AuditService {
         auditRecordRepository.deleteAllBefore(date);
     }
 
+    @Override
+    public int deleteBatchBefore(LocalDateTime date, int batchSize) {
+        final var ids = auditRecordRepository.findIdsCreatedBefore(date, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return auditRecordRepository.deleteAllByIds(ids);
+    }
+
     private void denyAuthorization() {
         authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ritense.audit.AbstractTestHelper;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.PendingAuditRecord;
+import com.ritense.audit.repository.AuditRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AsyncAuditEventProcessorTest extends AbstractTestHelper {
+
+    private AsyncAuditEventProcessor auditEventProcessor;
+    private AuditRecordRepository<AuditRecord> auditRecordRepository;
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        auditRecordRepository = mock(AuditRecordRepository.class);
+        final var entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        final var query = mock(Query.class);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(entityManager.createQuery(anyString())).thenReturn(query);
+        this.entityManager = entityManager;
+        final var transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        auditEventProcessor = new AsyncAuditEventProcessor(
+            auditRecordRepository,
+            entityManager,
+            transactionManager,
+            100,
+            10,
+            Duration.ofMillis(10),
+            Duration.ofHours(1)
+        );
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        auditEventProcessor.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    public void shouldWriteEventsInBatches() {
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordRepository, timeout(2000).atLeastOnce()).saveAll(anyIterable());
+        verify(auditRecordRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void shouldOnlyQueueEventAfterCommit() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        Thread.sleep(100);
+        verify(entityManager).persist(any(PendingAuditRecord.class));
+        verify(auditRecordRepository, never()).saveAll(anyIterable());
+
+        final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(synchronization -> synchronization.afterCommit());
+        verify(auditRecordRepository, timeout(2000)).saveAll(anyIterable());
+    }
+
+    @Test
+    public void shouldWriteRecordsOneByOneWhenBatchFails() {
+        when(auditRecordRepository.saveAll(anyIterable())).thenThrow(duplicateKeyException());
+        when(auditRecordRepository.saveAndFlush(any()))
+            .thenThrow(duplicateKeyException())
+            .thenReturn(null);
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordRepository, timeout(2000).times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    public void shouldKeepPendingRecordWhenWriteFails() {
+        when(auditRecordRepository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("failed"));
+        when(auditRecordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("failed"));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordRepository, timeout(2000)).saveAndFlush(any());
+        verify(entityManager).persist(any(PendingAuditRecord.class));
+        verify(entityManager, never()).createQuery(anyString());
+    }
+
+    private DataIntegrityViolationException duplicateKeyException() {
+        return new DataIntegrityViolationException("duplicate", new SQLIntegrityConstraintViolationException());
+    }
+
+}
@@ -17,12 +17,16 @@
 package com.ritense.audit.service.impl;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.ritense.audit.service.AuditRetentionService;
 import com.ritense.audit.service.AuditService;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,13 +39,33 @@ public class AuditRetentionServiceImplTest {
     @BeforeEach
     public void setUp() {
         auditService = mock(AuditServiceImpl.class);
-        auditRetentionService = new AuditRetentionServiceImpl(auditService, 5);
+        auditRetentionService = new AuditRetentionServiceImpl(auditService, 5, 2, Duration.ZERO, Duration.ofMinutes(1));
     }
 
     @Test
     public void shouldCleanUpAuditEvents() {
         auditRetentionService.cleanup();
-        verify(auditService, times(1)).deleteAllBefore(any(LocalDateTime.class));
+        verify(auditService, times(1)).deleteBatchBefore(any(LocalDateTime.class), eq(2));
+        verify(auditService, never()).deleteAllBefore(any(LocalDateTime.class));
+    }
+
+    @Test
+    public void shouldCleanUpAuditEventsInBatchesUntilBatchIsNotFull() {
+        when(auditService.deleteBatchBefore(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        auditRetentionService.cleanup();
+
+        verify(auditService, times(3)).deleteBatchBefore(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    public void shouldStopCleaningUpWhenMaxDurationIsReached() {
+        auditRetentionService = new AuditRetentionServiceImpl(auditService, 5, 2, Duration.ZERO, Duration.ZERO);
+        when(auditService.deleteBatchBefore(any(LocalDateTime.class), eq(2))).thenReturn(2);
+
+        auditRetentionService.cleanup();
+
+        verify(auditService, times(1)).deleteBatchBefore(any(LocalDateTime.class), eq(2));
     }
 
 }
\ No newline at end of file
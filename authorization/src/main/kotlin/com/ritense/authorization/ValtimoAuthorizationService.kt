@@ -17,6 +17,7 @@
 package com.ritense.authorization
 
 import com.ritense.authorization.permission.Permission
+import com.ritense.authorization.permission.PermissionCache
 import com.ritense.authorization.permission.PermissionRepository
 import com.ritense.authorization.request.AuthorizationRequest
 import com.ritense.authorization.request.EntityAuthorizationRequest
@@ -38,7 +39,8 @@ class ValtimoAuthorizationService(
     private val mappers: List<AuthorizationEntityMapper<*, *>>,
     private val actionProviders: List<ResourceActionProvider<*>>,
     private val permissionRepository: PermissionRepository,
-    private val userManagementService: UserManagementService
+    private val userManagementService: UserManagementService,
+    private val permissionCache: PermissionCache = PermissionCache()
 ) : AuthorizationService {
     override fun <T : Any> requirePermission(
         request: AuthorizationRequest<T>
@@ -125,17 +127,17 @@ class ValtimoAuthorizationService(
                 ?.roles
                 ?: return emptyList()
         }
-        return permissionRepository.findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(userRoles)
-            .filter { permission ->
-                context.resourceType == permission.resourceType
-                    && context.action == permission.action
-                    && if (context is EntityAuthorizationRequest) {
-                        permission.appliesInContext(context.context?.resourceType, context.context?.entity)
-                    } else {
-                        val requestContextResourceType: Class<*>? = null
-                        permission.appliesInContext(requestContextResourceType, null)
-                    }
+        val permissions = permissionCache.getPermissions(userRoles, context.resourceType, context.action) { roleKeys ->
+            permissionRepository.findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(roleKeys)
+        }
+        return permissions.filter { permission ->
+            if (context is EntityAuthorizationRequest) {
+                permission.appliesInContext(context.context?.resourceType, context.context?.entity)
+            } else {
+                val requestContextResourceType: Class<*>? = null
+                permission.appliesInContext(requestContextResourceType, null)
             }
+        }
     }
 
     private fun logPermissions(request: AuthorizationRequest<*>, permissions: List<Permission>) {
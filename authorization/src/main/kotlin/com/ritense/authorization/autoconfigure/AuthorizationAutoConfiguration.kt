@@ -28,6 +28,7 @@ import com.ritense.authorization.ValtimoAuthorizationService
 import com.ritense.authorization.annotation.RunWithoutAuthorizationAspect
 import com.ritense.authorization.deployment.PermissionDeployer
 import com.ritense.authorization.deployment.RoleDeployer
+import com.ritense.authorization.permission.PermissionCache
 import com.ritense.authorization.permission.PermissionRepository
 import com.ritense.authorization.role.RoleRepository
 import com.ritense.authorization.specification.AuthorizationSpecificationFactory
@@ -40,6 +41,7 @@ import com.ritense.authorization.web.security.ValtimoAuthorizationHttpSecurityCo
 import com.ritense.valtimo.changelog.service.ChangelogService
 import com.ritense.valtimo.contract.authentication.UserManagementService
 import com.ritense.valtimo.contract.config.LiquibaseMasterChangeLogLocation
+import java.time.Duration
 import javax.sql.DataSource
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.AutoConfiguration
@@ -77,19 +79,30 @@ class AuthorizationAutoConfiguration(
         actionProviders: List<ResourceActionProvider<*>>,
         permissionRepository: PermissionRepository,
         roleRepository: RoleRepository,
-        userManagementService: UserManagementService
+        userManagementService: UserManagementService,
+        permissionCache: PermissionCache
     ): AuthorizationService {
         val authorizationService = ValtimoAuthorizationService(
             authorizationSpecificationFactories,
             mappers,
             actionProviders,
             permissionRepository,
-            userManagementService
+            userManagementService,
+            permissionCache
         )
         AuthorizationServiceHolder(authorizationService)
         return authorizationService
     }
 
+    @Bean
+    @ConditionalOnMissingBean(PermissionCache::class)
+    fun permissionCache(
+        @Value("\${valtimo.authorization.permission-cache.time-to-live:PT1M}") timeToLive: Duration,
+        @Value("\${valtimo.authorization.permission-cache.maximum-size:1000}") maximumSize: Int
+    ): PermissionCache {
+        return PermissionCache(timeToLive, maximumSize)
+    }
+
     @Order(HIGHEST_PRECEDENCE + 1)
     @Bean
     @ConditionalOnClass(DataSource::class)
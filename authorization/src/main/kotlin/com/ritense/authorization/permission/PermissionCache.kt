@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.authorization.permission
+
+import com.ritense.authorization.Action
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Metrics
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Index of permissions per role set, grouped by resource type and action.
+ *
+ * Entries are dropped whenever a [Permission] or [com.ritense.authorization.role.Role] is written on this node (see
+ * [PermissionCacheInvalidationListener]) and expire after [timeToLive], which bounds how long changes made on another
+ * node can go unnoticed. A [timeToLive] of zero disables the cache.
+ */
+class PermissionCache(
+    private val timeToLive: Duration = Duration.ofMinutes(1),
+    private val maximumSize: Int = 1000,
+) {
+    private val entries = ConcurrentHashMap<Set<String>, Entry>()
+
+    fun getPermissions(
+        roleKeys: Collection<String>,
+        resourceType: Class<*>,
+        action: Action<*>,
+        loader: (Collection<String>) -> List<Permission>
+    ): List<Permission> {
+        if (timeToLive.isZero) {
+            return loader(roleKeys).filter { it.resourceType == resourceType && it.action == action }
+        }
+        val key = roleKeys.toSet()
+        val now = System.nanoTime()
+        val entry = entries[key]
+        val index = if (entry != null && entry.isValid(now)) {
+            HIT_COUNTER.increment()
+            entry.permissions
+        } else {
+            MISS_COUNTER.increment()
+            val generation = GENERATION.get()
+            val permissions = loader(key).groupBy { PermissionKey(it.resourceType, it.action) }
+            if (generation == GENERATION.get()) {
+                if (entries.size >= maximumSize) {
+                    entries.clear()
+                }
+                entries[key] = Entry(permissions, generation, now)
+            }
+            permissions
+        }
+        return index[PermissionKey(resourceType, action)] ?: emptyList()
+    }
+
+    fun size() = entries.size
+
+    private inner class Entry(
+        val permissions: Map<PermissionKey, List<Permission>>,
+        val generation: Long,
+        val loadedAt: Long
+    ) {
+        fun isValid(now: Long) = generation == GENERATION.get() && now - loadedAt < timeToLive.toNanos()
+    }
+
+    private data class PermissionKey(
+        val resourceType: Class<*>,
+        val action: Action<*>
+    )
+
+    companion object {
+        private val GENERATION = AtomicLong()
+        private val TRANSACTION_RESOURCE_KEY = PermissionCache::class.java.name + ".invalidation"
+
+        private val HIT_COUNTER = Counter.builder("valtimo.authorization.permission.cache")
+            .description("Permission lookups by role set")
+            .tag("result", "hit")
+            .register(Metrics.globalRegistry)
+
+        private val MISS_COUNTER = Counter.builder("valtimo.authorization.permission.cache")
+            .description("Permission lookups by role set")
+            .tag("result", "miss")
+            .register(Metrics.globalRegistry)
+
+        /**
+         * Invalidates every permission cache. Inside a transaction the caches are invalidated again once it completes,
+         * so lookups that read the old permissions while the transaction was still open are not kept.
+         */
+        @JvmStatic
+        fun invalidateAll() {
+            GENERATION.incrementAndGet()
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(TRANSACTION_RESOURCE_KEY)
+            ) {
+                TransactionSynchronizationManager.bindResource(TRANSACTION_RESOURCE_KEY, true)
+                TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                    override fun afterCompletion(status: Int) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_RESOURCE_KEY)
+                        GENERATION.incrementAndGet()
+                    }
+                })
+            }
+        }
+    }
+}
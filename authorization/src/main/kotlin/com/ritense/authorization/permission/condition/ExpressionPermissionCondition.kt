@@ -18,8 +18,12 @@ package com.ritense.authorization.permission.condition
 
 import com.fasterxml.jackson.annotation.JsonTypeName
 import com.fasterxml.jackson.annotation.JsonView
+import com.fasterxml.jackson.databind.JsonNode
+import com.jayway.jsonpath.Configuration
 import com.jayway.jsonpath.JsonPath
 import com.jayway.jsonpath.PathNotFoundException
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider
 import com.ritense.authorization.permission.PermissionView
 import com.ritense.authorization.permission.condition.ExpressionPermissionCondition.Companion.EXPRESSION
 import com.ritense.valtimo.contract.database.QueryDialectHelper
@@ -48,11 +52,13 @@ data class ExpressionPermissionCondition<V>(
         require(value == null || value is Comparable<*> || value is List<*>)
     }
 
+    private val compiledPath by lazy { JsonPath.compile(path) }
+
     override fun <E : Any> isValid(entity: E): Boolean {
-        val jsonValue = toJsonString(entity)
+        val json = toJson(entity)
             ?: return value == null
         val pathValue = try {
-            JsonPath.read<Any?>(jsonValue, path)
+            readPath(json)
         } catch (e: PathNotFoundException) {
             null
         }
@@ -95,19 +101,50 @@ data class ExpressionPermissionCondition<V>(
         )
     }
 
-    private fun toJsonString(entity: Any): String? {
+    /**
+     * Returns the field value as a JSON string or an already parsed [JsonNode], so documents holding their content as a
+     * tree are not serialized and parsed again for every check.
+     */
+    private fun toJson(entity: Any): Any? {
         val fieldValue = findEntityFieldValue(entity, field) ?: return null
-        return if (fieldValue is String) {
+        return if (fieldValue is String || fieldValue is JsonNode) {
             fieldValue
         } else {
             try {
-                MapperSingleton.get().writeValueAsString(fieldValue) ?: return null
+                MapperSingleton.get().valueToTree<JsonNode>(fieldValue) ?: return null
             } catch (e: Exception) {
                 null
             }
         }
     }
 
+    private fun readPath(json: Any): Any? {
+        return if (json is JsonNode) {
+            toValue(compiledPath.read<JsonNode?>(json, JSON_NODE_CONFIGURATION))
+        } else {
+            compiledPath.read<Any?>(json as String)
+        }
+    }
+
+    /**
+     * Converts a node to the value types the default (json-smart) provider would have produced for the same JSON,
+     * so type checks against [clazz] behave the same for parsed and unparsed fields.
+     */
+    private fun toValue(node: JsonNode?): Any? {
+        return when {
+            node == null || node.isNull || node.isMissingNode -> null
+            node.isTextual -> node.textValue()
+            node.isBoolean -> node.booleanValue()
+            node.isFloatingPointNumber -> node.doubleValue()
+            node.isIntegralNumber -> when {
+                node.canConvertToInt() -> node.intValue()
+                node.canConvertToLong() -> node.longValue()
+                else -> node.bigIntegerValue()
+            }
+            else -> MapperSingleton.get().treeToValue(node, Any::class.java)
+        }
+    }
+
     private fun evaluateExpression(pathValue: Any?): Boolean {
         return operator.evaluate(
             pathValue,
@@ -127,5 +164,10 @@ data class ExpressionPermissionCondition<V>(
 
     companion object {
         const val EXPRESSION = "expression"
+
+        private val JSON_NODE_CONFIGURATION = Configuration.builder()
+            .jsonProvider(JacksonJsonNodeJsonProvider())
+            .mappingProvider(JacksonMappingProvider())
+            .build()
     }
 }
\ No newline at end of file
@@ -17,15 +17,18 @@
 package com.ritense.authorization.role
 
 import com.fasterxml.jackson.annotation.JsonView
+import com.ritense.authorization.permission.PermissionCacheInvalidationListener
 import com.ritense.authorization.permission.PermissionView
 import jakarta.persistence.Column
 import jakarta.persistence.Entity
+import jakarta.persistence.EntityListeners
 import jakarta.persistence.Id
 import jakarta.persistence.Table
 import java.util.UUID
 
 @Entity
 @Table(name = "role")
+@EntityListeners(PermissionCacheInvalidationListener::class)
 data class Role(
     @Id
     @Column(name = "id")
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.authorization.permission
+
+import com.ritense.authorization.Action
+import com.ritense.authorization.role.Role
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+class PermissionCacheTest {
+
+    lateinit var permissionCache: PermissionCache
+    lateinit var permissions: List<Permission>
+    var loads = 0
+
+    @BeforeEach
+    fun setup() {
+        permissionCache = PermissionCache()
+        loads = 0
+        permissions = listOf(
+            Permission(
+                resourceType = String::class.java,
+                action = Action<String>(Action.VIEW),
+                conditionContainer = ConditionContainer(),
+                role = Role(key = "ROLE_USER")
+            ),
+            Permission(
+                resourceType = String::class.java,
+                action = Action<String>(Action.CREATE),
+                conditionContainer = ConditionContainer(),
+                role = Role(key = "ROLE_USER")
+            )
+        )
+    }
+
+    @Test
+    fun `should load permissions once per role set`() {
+        val view = getPermissions(listOf("ROLE_USER", "ROLE_ADMIN"), Action(Action.VIEW))
+        val create = getPermissions(listOf("ROLE_ADMIN", "ROLE_USER"), Action(Action.CREATE))
+        val delete = getPermissions(listOf("ROLE_USER", "ROLE_ADMIN"), Action(Action.DELETE))
+
+        assertEquals(listOf(permissions[0]), view)
+        assertEquals(listOf(permissions[1]), create)
+        assertEquals(emptyList<Permission>(), delete)
+        assertEquals(1, loads)
+    }
+
+    @Test
+    fun `should reload permissions after invalidation`() {
+        getPermissions(listOf("ROLE_USER"), Action(Action.VIEW))
+
+        PermissionCache.invalidateAll()
+        getPermissions(listOf("ROLE_USER"), Action(Action.VIEW))
+
+        assertEquals(2, loads)
+    }
+
+    @Test
+    fun `should not cache permissions when time to live is zero`() {
+        permissionCache = PermissionCache(Duration.ZERO)
+
+        val view = getPermissions(listOf("ROLE_USER"), Action(Action.VIEW))
+        getPermissions(listOf("ROLE_USER"), Action(Action.VIEW))
+
+        assertEquals(listOf(permissions[0]), view)
+        assertEquals(2, loads)
+        assertEquals(0, permissionCache.size())
+    }
+
+    private fun getPermissions(roleKeys: List<String>, action: Action<String>): List<Permission> {
+        return permissionCache.getPermissions(roleKeys, String::class.java, action) {
+            loads++
+            permissions
+        }
+    }
+}
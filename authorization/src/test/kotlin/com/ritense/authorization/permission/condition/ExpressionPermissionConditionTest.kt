@@ -156,6 +156,46 @@ class ExpressionPermissionConditionTest {
         assertEquals(true, result)
     }
 
+    @Test
+    fun `should pass validation when the property is an already parsed json tree`() {
+        val entity = TestEntity(TestChildEntity(mapper.readTree("""{"value": "myValue"}""")))
+
+        val result = conditionTemplate.isValid(entity)
+        assertEquals(true, result)
+    }
+
+    @Test
+    fun `should keep number types when the property is an already parsed json tree`() {
+        val entity = TestEntity(TestChildEntity(mapper.readTree("""{"value": 42}""")))
+
+        assertEquals(true, createExpressionCondition(42, Int::class.javaObjectType).isValid(entity))
+        assertEquals(false, createExpressionCondition(42L, Long::class.javaObjectType).isValid(entity))
+    }
+
+    @Test
+    fun `should pass validation for CONTAINS operation when the property is an already parsed json tree`() {
+        val condition = ExpressionPermissionCondition(
+            field = "child.property",
+            path = "value",
+            operator = LIST_CONTAINS,
+            value = "myValue",
+            clazz = String::class.java
+        )
+        val entity = TestEntity(TestChildEntity(mapper.readTree("""{"value": ["myValue","otherValue"]}""")))
+
+        val result = condition.isValid(entity)
+        assertEquals(true, result)
+    }
+
+    @Test
+    fun `should pass validation when the property is an object`() {
+        val entity = TestEntity(TestChildEntity(TestChildEntity("myValue")))
+        val condition = conditionTemplate.copy(path = "property")
+
+        val result = condition.isValid(entity)
+        assertEquals(true, result)
+    }
+
     @Test
     fun `should serialize to JSON`() {
         val condition = conditionTemplate
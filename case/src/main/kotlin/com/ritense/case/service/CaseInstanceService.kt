@@ -51,8 +51,20 @@ class CaseInstanceService(
         )
         val newPageable = mutatePageable(caseListColumns, pageable)
 
-        return documentSearchService.search(caseDefinitionName, searchRequest, newPageable)
-            .map { document -> toCaseListRowDto(document, caseListColumns) }
+        val documents = documentSearchService.search(caseDefinitionName, searchRequest, newPageable)
+        val resolvedValues = valueResolverService.resolveValues(
+            documents.content.map { document -> document.id().id.toString() },
+            caseListColumns.map { it.path }
+        )
+        val caseSettings by lazy { caseDefinitionService.getCaseSettings(caseDefinitionName) }
+
+        return documents.map { document ->
+            toCaseListRowDto(
+                document,
+                caseListColumns,
+                resolvedValues[document.id().id.toString()].orEmpty()
+            ) { caseSettings.canHaveAssignee }
+        }
     }
 
     private fun mutatePageable(caseListColumns: Collection<CaseListColumn>, pageable: Pageable): PageRequest {
@@ -65,19 +77,18 @@ class CaseInstanceService(
         return PageRequest.of(pageable.pageNumber, pageable.pageSize, newSort)
     }
 
-    private fun toCaseListRowDto(document: Document, caseListColumns: List<CaseListColumn>): CaseListRowDto {
-        val paths = caseListColumns.map { it.path }
-        val resolvedValuesMap = valueResolverService.resolveValues(document.id().id.toString(), paths)
-
+    private fun toCaseListRowDto(
+        document: Document,
+        caseListColumns: List<CaseListColumn>,
+        resolvedValuesMap: Map<String, Any?>,
+        canHaveAssignee: () -> Boolean,
+    ): CaseListRowDto {
         val items = caseListColumns.map { caseListColumn ->
             CaseListRowDto.CaseListItemDto(caseListColumn.id.key, resolvedValuesMap[caseListColumn.path])
         }.toMutableList()
 
-        if (items.none { it.key == "assigneeFullName" }) {
-            val caseSettings = caseDefinitionService.getCaseSettings(document.definitionId().name())
-            if (caseSettings.canHaveAssignee) {
-                items.add(CaseListRowDto.CaseListItemDto("assigneeFullName", document.assigneeFullName()))
-            }
+        if (items.none { it.key == "assigneeFullName" } && canHaveAssignee()) {
+            items.add(CaseListRowDto.CaseListItemDto("assigneeFullName", document.assigneeFullName()))
         }
 
         return CaseListRowDto(document.id().toString(), items)
@@ -17,7 +17,11 @@
 package com.ritense.valtimo.contract.authentication;
 
 import com.ritense.valtimo.contract.authentication.model.SearchByUserGroupsCriteria;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.NotImplementedException;
@@ -52,6 +56,24 @@ public interface UserManagementService {
         throw new NotImplementedException("Failed to get current user because method is not implemented.");
     }
 
+    /**
+     * Finds the users with the given identifiers in one go. Identifiers that don't belong to an enabled user are left
+     * out of the result.
+     *
+     * @param userIdentifiers the user identifiers, as used for task assignees
+     * @return the named users, keyed by user identifier
+     */
+    default Map<String, NamedUser> findNamedUsersByUserIdentifiers(Collection<String> userIdentifiers) {
+        var namedUsers = new HashMap<String, NamedUser>();
+        for (var userIdentifier : new HashSet<>(userIdentifiers)) {
+            var user = findByUserIdentifier(userIdentifier);
+            if (user != null) {
+                namedUsers.put(userIdentifier, NamedUser.from(user));
+            }
+        }
+        return namedUsers;
+    }
+
     ManageableUser findById(String userId);
 
     List<ManageableUser> findByRole(String authority);
@@ -16,6 +16,7 @@
 
 package com.ritense.valtimo.contract.client
 
+import org.apache.hc.client5.http.classic.HttpClient
 import org.springframework.boot.web.client.RestClientCustomizer
 import org.springframework.http.client.BufferingClientHttpRequestFactory
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory
@@ -23,18 +24,29 @@ import org.springframework.web.client.RestClient
 import java.time.Duration
 
 class ApacheRequestFactoryCustomizer(
-    private val valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties
+    private val valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties,
+    private val httpClient: HttpClient? = null
 ) : RestClientCustomizer {
 
     override fun customize(restClientBuilder: RestClient.Builder) {
-        val apacheRequestFactory = HttpComponentsClientHttpRequestFactory()
-        valtimoHttpRestClientConfigurationProperties.connectTimeout.let {
-            apacheRequestFactory.setConnectTimeout(Duration.ofSeconds(it))
-        }
-        valtimoHttpRestClientConfigurationProperties.connectionRequestTimeout.let {
-            apacheRequestFactory.setConnectionRequestTimeout(Duration.ofSeconds(it))
-        }
+        val apacheRequestFactory = createApacheRequestFactory(valtimoHttpRestClientConfigurationProperties, httpClient)
         restClientBuilder.requestFactory(BufferingClientHttpRequestFactory(apacheRequestFactory))
     }
 
-}
\ No newline at end of file
+}
+
+internal fun createApacheRequestFactory(
+    valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties,
+    httpClient: HttpClient?
+): HttpComponentsClientHttpRequestFactory {
+    val apacheRequestFactory = httpClient
+        ?.let { HttpComponentsClientHttpRequestFactory(it) }
+        ?: HttpComponentsClientHttpRequestFactory()
+    valtimoHttpRestClientConfigurationProperties.connectTimeout.let {
+        apacheRequestFactory.setConnectTimeout(Duration.ofSeconds(it))
+    }
+    valtimoHttpRestClientConfigurationProperties.connectionRequestTimeout.let {
+        apacheRequestFactory.setConnectionRequestTimeout(Duration.ofSeconds(it))
+    }
+    return apacheRequestFactory
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.valtimo.contract.client
+
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy
+import org.apache.hc.client5.http.config.ConnectionConfig
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient
+import org.apache.hc.client5.http.impl.classic.HttpClients
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder
+import org.apache.hc.core5.util.TimeValue
+import org.apache.hc.core5.util.Timeout
+
+/**
+ * Builds the connection pool and http client that are shared by every RestClient built from the RestClient.Builder.
+ *
+ * Clients clone the builder per call to apply the authentication of a plugin configuration. Because they all share
+ * this client, connections to a host are kept alive and reused across calls and plugin configurations, instead of
+ * every builder creating a pool with the Apache defaults of 5 connections per host.
+ */
+object PooledHttpClientFactory {
+
+    fun createConnectionManager(
+        properties: ValtimoHttpRestClientConfigurationProperties
+    ): PoolingHttpClientConnectionManager {
+        val connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofSeconds(properties.connectTimeout))
+            .setValidateAfterInactivity(TimeValue.ofSeconds(VALIDATE_AFTER_INACTIVITY_SECONDS))
+            .apply {
+                if (properties.connectionTimeToLive > 0) {
+                    setTimeToLive(TimeValue.ofSeconds(properties.connectionTimeToLive))
+                }
+            }
+            .build()
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnPerRoute(properties.maxConnectionsPerRoute)
+            .setMaxConnTotal(properties.maxConnectionsTotal)
+            .setDefaultConnectionConfig(connectionConfig)
+            .build()
+    }
+
+    fun createHttpClient(
+        connectionManager: PoolingHttpClientConnectionManager,
+        properties: ValtimoHttpRestClientConfigurationProperties
+    ): CloseableHttpClient {
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy(keepAliveStrategy(TimeValue.ofSeconds(properties.keepAlive)))
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofSeconds(properties.idleEvictionTimeout))
+            .build()
+    }
+
+    /**
+     * Uses the keep-alive period the server announces, but never more than the configured maximum.
+     */
+    internal fun keepAliveStrategy(maximum: TimeValue) = ConnectionKeepAliveStrategy { response, context ->
+        val keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context)
+        if (keepAlive == null || keepAlive.compareTo(maximum) > 0) maximum else keepAlive
+    }
+
+    private const val VALIDATE_AFTER_INACTIVITY_SECONDS = 2L
+}
@@ -16,7 +16,12 @@
 
 package com.ritense.valtimo.contract.client
 
+import io.micrometer.core.instrument.binder.MeterBinder
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager
 import org.springframework.boot.autoconfigure.AutoConfiguration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean
 
@@ -25,10 +30,48 @@ import org.springframework.context.annotation.Bean
 class RestClientAutoConfiguration {
 
     @Bean
-    fun requestFactoryCustomizer(
+    @ConditionalOnMissingBean(name = ["valtimoRestClientConnectionManager"])
+    fun valtimoRestClientConnectionManager(
+        valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties
+    ): PoolingHttpClientConnectionManager {
+        return PooledHttpClientFactory.createConnectionManager(valtimoHttpRestClientConfigurationProperties)
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = ["valtimoRestHttpClient"])
+    fun valtimoRestHttpClient(
+        valtimoRestClientConnectionManager: PoolingHttpClientConnectionManager,
         valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties
+    ): CloseableHttpClient {
+        return PooledHttpClientFactory.createHttpClient(
+            valtimoRestClientConnectionManager,
+            valtimoHttpRestClientConfigurationProperties
+        )
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = ["valtimoRestClientConnectionPoolMetrics"])
+    fun valtimoRestClientConnectionPoolMetrics(
+        valtimoRestClientConnectionManager: PoolingHttpClientConnectionManager
+    ): MeterBinder {
+        return PoolingHttpClientConnectionManagerMetricsBinder(valtimoRestClientConnectionManager, "valtimo-rest-client")
+    }
+
+    @Bean
+    fun requestFactoryCustomizer(
+        valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties,
+        valtimoRestHttpClient: CloseableHttpClient
     ): ApacheRequestFactoryCustomizer {
-        return ApacheRequestFactoryCustomizer(valtimoHttpRestClientConfigurationProperties)
+        return ApacheRequestFactoryCustomizer(valtimoHttpRestClientConfigurationProperties, valtimoRestHttpClient)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(StreamingRequestFactoryConfigurer::class)
+    fun streamingRequestFactoryConfigurer(
+        valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties,
+        valtimoRestHttpClient: CloseableHttpClient
+    ): StreamingRequestFactoryConfigurer {
+        return StreamingRequestFactoryConfigurer(valtimoHttpRestClientConfigurationProperties, valtimoRestHttpClient)
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.valtimo.contract.client
+
+import org.apache.hc.client5.http.classic.HttpClient
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory
+import org.springframework.web.client.RestClient
+
+/**
+ * Configures a RestClient.Builder to stream request and response bodies instead of holding them in memory.
+ *
+ * Meant for binary or large payload endpoints only. The default builder buffers every body so that
+ * the request/response logging can read it. Callers must close streamed response bodies.
+ *
+ * Note: every request interceptor on the builder is dropped, not only the logging one. Spring always buffers the
+ * request body of an intercepted request, whatever the request factory, so there is no way to keep an interceptor
+ * and still stream. Interceptors added by any RestClientCustomizer therefore do not run for streaming clients.
+ * Interceptors added to the builder after [configure] are kept, but they make the request buffered again.
+ */
+class StreamingRequestFactoryConfigurer(
+    valtimoHttpRestClientConfigurationProperties: ValtimoHttpRestClientConfigurationProperties,
+    httpClient: HttpClient? = null
+) {
+
+    private val streamingRequestFactory: HttpComponentsClientHttpRequestFactory =
+        createApacheRequestFactory(valtimoHttpRestClientConfigurationProperties, httpClient)
+
+    /**
+     * Sets the streaming request factory and removes all request interceptors from the given builder.
+     */
+    fun configure(restClientBuilder: RestClient.Builder): RestClient.Builder {
+        return restClientBuilder
+            .requestFactory(streamingRequestFactory)
+            .requestInterceptors { it.clear() }
+    }
+
+}
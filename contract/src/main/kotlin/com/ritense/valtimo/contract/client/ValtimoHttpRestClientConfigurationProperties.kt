@@ -21,5 +21,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties
 @ConfigurationProperties(prefix = "valtimo.http.rest-client")
 data class ValtimoHttpRestClientConfigurationProperties(
     val connectTimeout: Long = 5, // as seconds, setConnectTimeout in HttpComponentsClientHttpRequestFactory
-    val connectionRequestTimeout: Long = 5 // as seconds, setConnectionRequestTimeout in HttpComponentsClientHttpRequestFactory
+    val connectionRequestTimeout: Long = 5, // as seconds, setConnectionRequestTimeout in HttpComponentsClientHttpRequestFactory
+    val maxConnectionsPerRoute: Int = 50, // pooled connections per target host, shared by all rest clients
+    val maxConnectionsTotal: Int = 200, // pooled connections over all target hosts
+    val keepAlive: Long = 30, // as seconds, upper bound for keeping an idle connection alive
+    val idleEvictionTimeout: Long = 60, // as seconds, idle connections are closed after this period
+    val connectionTimeToLive: Long = 0 // as seconds, 0 keeps connections alive as long as they are reusable
 )
\ No newline at end of file
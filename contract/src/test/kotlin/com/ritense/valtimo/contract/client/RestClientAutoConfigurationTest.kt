@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.valtimo.contract.client
+
+import io.micrometer.core.instrument.MeterRegistry
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager
+import org.apache.hc.client5.http.protocol.HttpClientContext
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse
+import org.apache.hc.core5.util.TimeValue
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration
+import org.springframework.boot.autoconfigure.AutoConfigurations
+import org.springframework.boot.test.context.runner.ApplicationContextRunner
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory
+import org.springframework.test.util.ReflectionTestUtils
+import org.springframework.web.client.RestClient
+
+class RestClientAutoConfigurationTest {
+
+    private val contextRunner = ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(RestClientAutoConfiguration::class.java))
+
+    @Test
+    fun `should back the RestClient builder with the shared pooled client`() {
+        contextRunner.run { context ->
+            val restClientBuilder = RestClient.builder()
+
+            context.getBean(ApacheRequestFactoryCustomizer::class.java).customize(restClientBuilder)
+
+            val bufferingRequestFactory = ReflectionTestUtils.getField(restClientBuilder, "requestFactory")
+                as AbstractClientHttpRequestFactoryWrapper
+            val requestFactory = ReflectionTestUtils.getField(bufferingRequestFactory, "requestFactory")
+                as HttpComponentsClientHttpRequestFactory
+            assertThat(requestFactory.httpClient)
+                .isSameAs(context.getBean("valtimoRestHttpClient", CloseableHttpClient::class.java))
+        }
+    }
+
+    @Test
+    fun `should size the connection pool from the properties`() {
+        contextRunner
+            .withPropertyValues(
+                "valtimo.http.rest-client.max-connections-per-route=7",
+                "valtimo.http.rest-client.max-connections-total=21"
+            )
+            .run { context ->
+                val connectionManager = context.getBean(PoolingHttpClientConnectionManager::class.java)
+
+                assertThat(connectionManager.defaultMaxPerRoute).isEqualTo(7)
+                assertThat(connectionManager.maxTotal).isEqualTo(21)
+            }
+    }
+
+    @Test
+    fun `should cap the keep-alive announced by the server`() {
+        val keepAliveStrategy = PooledHttpClientFactory.keepAliveStrategy(TimeValue.ofSeconds(30))
+        val shortKeepAlive = BasicClassicHttpResponse(200).apply { addHeader("Keep-Alive", "timeout=10") }
+        val longKeepAlive = BasicClassicHttpResponse(200).apply { addHeader("Keep-Alive", "timeout=120") }
+
+        assertThat(keepAliveStrategy.getKeepAliveDuration(shortKeepAlive, HttpClientContext.create()))
+            .isEqualTo(TimeValue.ofSeconds(10))
+        assertThat(keepAliveStrategy.getKeepAliveDuration(longKeepAlive, HttpClientContext.create()))
+            .isEqualTo(TimeValue.ofSeconds(30))
+        assertThat(keepAliveStrategy.getKeepAliveDuration(BasicClassicHttpResponse(200), HttpClientContext.create()))
+            .isEqualTo(TimeValue.ofSeconds(30))
+    }
+
+    @Test
+    fun `should register the connection pool metrics`() {
+        contextRunner
+            .withConfiguration(
+                AutoConfigurations.of(
+                    MetricsAutoConfiguration::class.java,
+                    SimpleMetricsExportAutoConfiguration::class.java
+                )
+            )
+            .withPropertyValues("valtimo.http.rest-client.max-connections-total=21")
+            .run { context ->
+                val maxTotal = context.getBean(MeterRegistry::class.java)
+                    .find("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", "valtimo-rest-client")
+                    .gauge()
+
+                assertThat(maxTotal).isNotNull
+                assertThat(maxTotal!!.value()).isEqualTo(21.0)
+            }
+    }
+}
@@ -53,17 +53,19 @@ import com.ritense.authorization.role.Role;
 import com.ritense.authorization.specification.AuthorizationSpecification;
 import com.ritense.outbox.OutboxService;
 import com.ritense.resource.service.ResourceService;
+import com.ritense.valtimo.camunda.domain.CamundaExecution;
 import com.ritense.valtimo.camunda.domain.CamundaIdentityLink;
 import com.ritense.valtimo.camunda.domain.CamundaTask;
+import com.ritense.valtimo.camunda.domain.CamundaVariableInstance;
 import com.ritense.valtimo.camunda.dto.CamundaIdentityLinkDto;
 import com.ritense.valtimo.camunda.dto.CamundaTaskDto;
 import com.ritense.valtimo.camunda.dto.TaskExtended;
 import com.ritense.valtimo.camunda.repository.CamundaIdentityLinkRepository;
 import com.ritense.valtimo.camunda.repository.CamundaTaskRepository;
+import com.ritense.valtimo.camunda.repository.CamundaVariableInstanceSpecificationHelper;
 import com.ritense.valtimo.contract.authentication.ManageableUser;
 import com.ritense.valtimo.contract.authentication.NamedUser;
 import com.ritense.valtimo.contract.authentication.UserManagementService;
-import com.ritense.valtimo.contract.authentication.model.ValtimoUser;
 import com.ritense.valtimo.contract.authentication.model.ValtimoUserBuilder;
 import com.ritense.valtimo.contract.event.TaskAssignedEvent;
 import com.ritense.valtimo.contract.utils.RequestHelper;
@@ -78,14 +80,18 @@ import com.ritense.valtimo.service.util.FormUtils;
 import com.ritense.valtimo.web.rest.dto.TaskCompletionDTO;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -363,8 +369,19 @@ public class CamundaTaskService {
                 .setMaxResults(pageable.getPageSize());
         }
 
-        var assigneeMap = new java.util.HashMap<String, ValtimoUser>();
-        var tasks = typedQuery.getResultList().stream()
+        var tuples = typedQuery.getResultList();
+        var assignees = tuples.stream()
+            .map(tuple -> tuple.get(0, CamundaTask.class).getAssignee())
+            .filter(Objects::nonNull)
+            .collect(toSet());
+        var namedUsers = assignees.isEmpty()
+            ? Map.<String, NamedUser>of()
+            : userManagementService.findNamedUsersByUserIdentifiers(assignees);
+        var contextByTaskId = getContextVariables(tuples.stream()
+            .map(tuple -> tuple.get(0, CamundaTask.class))
+            .toList());
+
+        var tasks = tuples.stream()
             .map(tuple -> {
                 var task = tuple.get(0, CamundaTask.class);
                 var executionId = tuple.get(1, String.class);
@@ -372,17 +389,14 @@ public class CamundaTaskService {
                 var processDefinitionId = tuple.get(3, String.class);
                 var processDefinitionKey = tuple.get(4, String.class);
 
-                ValtimoUser valtimoUser;
-                if (task.getAssignee() == null) {
-                    valtimoUser = null;
-                } else if (assigneeMap.containsKey(task.getAssignee())) {
-                    valtimoUser = assigneeMap.get(task.getAssignee());
-                } else {
-                    valtimoUser = getValtimoUser(task.getAssignee());
-                    assigneeMap.put(task.getAssignee(), valtimoUser);
-                }
-
-                var context = task.getVariable(CONTEXT);
+                var valtimoUser = Optional.ofNullable(task.getAssignee())
+                    .map(namedUsers::get)
+                    .map(user -> new ValtimoUserBuilder()
+                        .id(task.getAssignee())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .build())
+                    .orElse(null);
 
                 return TaskExtended.of(
                     task,
@@ -391,7 +405,7 @@ public class CamundaTaskService {
                     processDefinitionId,
                     processDefinitionKey,
                     valtimoUser,
-                    context
+                    contextByTaskId.get(task.getId())
                 );
             })
             .toList();
@@ -408,6 +422,75 @@ public class CamundaTaskService {
         return entityManager.createQuery(countQuery).getSingleResult();
     }
 
+    /**
+     * Resolves the context variable of all given tasks with a single query, instead of loading the variables of every
+     * task and its executions separately. Tasks for which the variable could be defined on an execution in between
+     * the task and its process instance fall back to the regular variable lookup.
+     */
+    private Map<String, Object> getContextVariables(List<CamundaTask> tasks) {
+        var processInstanceIds = tasks.stream()
+            .map(CamundaTask::getProcessInstance)
+            .filter(Objects::nonNull)
+            .map(CamundaExecution::getId)
+            .collect(toSet());
+        var variables = processInstanceIds.isEmpty() ? List.<Tuple>of() : findContextVariables(processInstanceIds);
+
+        var contextByTaskId = new HashMap<String, Object>();
+        for (var task : tasks) {
+            var processInstanceId = task.getProcessInstance() == null ? null : task.getProcessInstance().getId();
+            var executionId = task.getExecution() == null ? null : task.getExecution().getId();
+            var taskVariables = variables.stream()
+                .filter(variable -> processInstanceId != null
+                    && processInstanceId.equals(variable.get(3, String.class))
+                    && (variable.get(1, String.class) == null || task.getId().equals(variable.get(1, String.class))))
+                .toList();
+            var variable = taskVariables.stream()
+                .filter(it -> task.getId().equals(it.get(1, String.class)))
+                .findFirst()
+                .or(() -> taskVariables.stream()
+                    .filter(it -> it.get(1, String.class) == null && Objects.equals(executionId, it.get(2, String.class)))
+                    .findFirst());
+            var definedOnIntermediateExecution = taskVariables.stream()
+                .anyMatch(it -> it.get(1, String.class) == null
+                    && !Objects.equals(executionId, it.get(2, String.class))
+                    && !Objects.equals(processInstanceId, it.get(2, String.class)));
+            if (variable.isEmpty() && !definedOnIntermediateExecution) {
+                variable = taskVariables.stream()
+                    .filter(it -> it.get(1, String.class) == null && Objects.equals(processInstanceId, it.get(2, String.class)))
+                    .findFirst();
+            }
+            if (variable.isPresent()) {
+                contextByTaskId.put(task.getId(), variable.get().get(0, CamundaVariableInstance.class).getValue());
+            } else {
+                contextByTaskId.put(task.getId(), task.getVariable(CONTEXT));
+            }
+        }
+        return contextByTaskId;
+    }
+
+    private List<Tuple> findContextVariables(Collection<String> processInstanceIds) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var variableRoot = query.from(CamundaVariableInstance.class);
+        var taskJoin = variableRoot.join(CamundaVariableInstanceSpecificationHelper.TASK, JoinType.LEFT);
+        var executionJoin = variableRoot.join(CamundaVariableInstanceSpecificationHelper.EXECUTION, JoinType.LEFT);
+        var processInstancePath = variableRoot
+            .get(CamundaVariableInstanceSpecificationHelper.PROCESS_INSTANCE)
+            .get(CamundaVariableInstanceSpecificationHelper.ID);
+
+        query.multiselect(
+            variableRoot,
+            taskJoin.get(CamundaVariableInstanceSpecificationHelper.ID),
+            executionJoin.get(CamundaVariableInstanceSpecificationHelper.ID),
+            processInstancePath
+        );
+        query.where(
+            cb.equal(variableRoot.get(CamundaVariableInstanceSpecificationHelper.NAME), CONTEXT),
+            processInstancePath.in(processInstanceIds)
+        );
+        return entityManager.createQuery(query).getResultList();
+    }
+
     @Transactional(readOnly = true)
     public List<TaskInstanceWithIdentityLink> getProcessInstanceTasks(String processInstanceId, String businessKey) {
         return findTasks(byProcessInstanceId(processInstanceId), Sort.by(DESC, CREATE_TIME))
@@ -545,16 +628,6 @@ public class CamundaTaskService {
         return filterSpec;
     }
 
-    private ValtimoUser getValtimoUser(String assigneeId) {
-        return Optional.ofNullable(userManagementService.findByUserIdentifier(assigneeId)).map(user ->
-                new ValtimoUserBuilder()
-                    .id(user.getUserIdentifier())
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .build())
-            .orElse(null);
-    }
-
     private List<Order> getOrderBy(CriteriaBuilder cb, Root<CamundaTask> root, Sort sort) {
         return sort.stream()
             .map(order -> {
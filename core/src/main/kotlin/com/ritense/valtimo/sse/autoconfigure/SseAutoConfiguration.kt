@@ -16,12 +16,20 @@
 
 package com.ritense.valtimo.sse.autoconfigure
 
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.outbox.postgres.PostgresNotificationListener
+import com.ritense.valtimo.sse.broadcast.PostgresSseEventBroadcaster
+import com.ritense.valtimo.sse.broadcast.PostgresSseEventListener
 import com.ritense.valtimo.sse.domain.listener.ProcessEndListener
 import com.ritense.valtimo.sse.domain.listener.TaskUpdateListener
 import com.ritense.valtimo.web.sse.service.SseSubscriptionService
 import org.springframework.boot.autoconfigure.AutoConfiguration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties
 import org.springframework.context.annotation.Bean
+import javax.sql.DataSource
 
 @AutoConfiguration
 class SseAutoConfiguration {
@@ -38,4 +46,27 @@ class SseAutoConfiguration {
         sseSubscriptionService: SseSubscriptionService
     ) = ProcessEndListener(sseSubscriptionService)
 
-}
\ No newline at end of file
+    @Bean
+    @ConditionalOnMissingBean(PostgresSseEventBroadcaster::class)
+    @ConditionalOnProperty(prefix = "valtimo.sse", name = ["broadcast"], havingValue = "postgres")
+    fun postgresSseEventBroadcaster(
+        dataSource: DataSource,
+        objectMapper: ObjectMapper
+    ) = PostgresSseEventBroadcaster(dataSource, objectMapper)
+
+    @Bean
+    @ConditionalOnMissingBean(PostgresSseEventListener::class)
+    @ConditionalOnBean(PostgresSseEventBroadcaster::class)
+    fun postgresSseEventListener(
+        dataSourceProperties: DataSourceProperties,
+        postgresSseEventBroadcaster: PostgresSseEventBroadcaster,
+        sseSubscriptionService: SseSubscriptionService,
+        objectMapper: ObjectMapper
+    ) = PostgresSseEventListener(
+        PostgresNotificationListener.dedicatedDataSource(dataSourceProperties),
+        postgresSseEventBroadcaster,
+        sseSubscriptionService,
+        objectMapper
+    )
+
+}
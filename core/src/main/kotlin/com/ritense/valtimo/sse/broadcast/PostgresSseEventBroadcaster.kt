@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ *  Licensed under EUPL, Version 1.2 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" basis,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.ritense.valtimo.sse.broadcast
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.valtimo.web.sse.event.BaseSseEvent
+import com.ritense.valtimo.web.sse.service.SseEventBroadcaster
+import mu.KotlinLogging
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.PreparedStatementCallback
+import java.util.UUID
+import javax.sql.DataSource
+
+/**
+ * Broadcasts SSE events to the other nodes using a Postgres NOTIFY on [CHANNEL]. The notification is sent on the
+ * connection of the current transaction, if any, so it is only delivered once that transaction commits.
+ */
+open class PostgresSseEventBroadcaster(
+    dataSource: DataSource,
+    private val objectMapper: ObjectMapper,
+    val nodeId: String = UUID.randomUUID().toString()
+) : SseEventBroadcaster {
+
+    private val jdbcTemplate = JdbcTemplate(dataSource)
+
+    override fun broadcast(event: BaseSseEvent) {
+        val message = SseBroadcastMessage(nodeId, event.javaClass.name, objectMapper.valueToTree(event))
+        val payload = objectMapper.writeValueAsString(message)
+        if (payload.toByteArray().size >= MAX_PAYLOAD_BYTES) {
+            logger.warn { "Not broadcasting ${event.eventType} event: payload exceeds $MAX_PAYLOAD_BYTES bytes" }
+            return
+        }
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", PreparedStatementCallback { statement ->
+            statement.setString(1, CHANNEL)
+            statement.setString(2, payload)
+            statement.execute()
+        })
+    }
+
+    companion object {
+        const val CHANNEL = "valtimo_sse_event"
+        // Postgres rejects notification payloads of 8000 bytes or more
+        private const val MAX_PAYLOAD_BYTES = 8000
+        private val logger = KotlinLogging.logger {}
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ *  Licensed under EUPL, Version 1.2 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" basis,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.ritense.valtimo.sse.broadcast
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.outbox.postgres.PostgresNotificationListener
+import com.ritense.valtimo.web.sse.event.BaseSseEvent
+import com.ritense.valtimo.web.sse.service.SseSubscriptionService
+import mu.KotlinLogging
+import org.springframework.context.SmartLifecycle
+import org.springframework.util.ClassUtils
+import java.time.Duration
+import javax.sql.DataSource
+
+/**
+ * Listens for the SSE events sent by [PostgresSseEventBroadcaster] on other nodes and delivers them to the local
+ * subscribers. The listener keeps one connection of the given data source open for as long as the application runs,
+ * so that data source should not be the application's connection pool.
+ */
+open class PostgresSseEventListener(
+    dataSource: DataSource,
+    private val broadcaster: PostgresSseEventBroadcaster,
+    private val sseSubscriptionService: SseSubscriptionService,
+    private val objectMapper: ObjectMapper,
+    reconnectDelay: Duration = Duration.ofSeconds(5),
+) : SmartLifecycle {
+
+    private val listener = PostgresNotificationListener(
+        dataSource,
+        PostgresSseEventBroadcaster.CHANNEL,
+        "sse-event-listener",
+        reconnectDelay
+    ) { notifications -> notifications.forEach { handle(it.parameter) } }
+
+    override fun start() = listener.start()
+
+    override fun stop() = listener.stop()
+
+    override fun isRunning() = listener.isRunning()
+
+    internal fun handle(payload: String) {
+        try {
+            val message = objectMapper.readValue(payload, SseBroadcastMessage::class.java)
+            if (message.nodeId == broadcaster.nodeId) {
+                return
+            }
+            val eventClass = ClassUtils.forName(message.eventClass, javaClass.classLoader)
+            require(BaseSseEvent::class.java.isAssignableFrom(eventClass)) {
+                "${message.eventClass} is not an SSE event"
+            }
+            val event = objectMapper.readerFor(eventClass)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue<BaseSseEvent>(message.event)
+            sseSubscriptionService.notifyLocalSubscribers(event)
+        } catch (e: Exception) {
+            logger.warn(e) { "Failed to handle SSE event from another node" }
+        }
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+    }
+}
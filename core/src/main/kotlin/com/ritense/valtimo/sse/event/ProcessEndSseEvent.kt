@@ -20,4 +20,7 @@ import com.ritense.valtimo.web.sse.event.BaseSseEvent
 
 class ProcessEndSseEvent(
     val processInstanceId: String
-) : BaseSseEvent("PROCESS_END")
\ No newline at end of file
+) : BaseSseEvent("PROCESS_END") {
+    override val coalesceKey: String
+        get() = processInstanceId
+}
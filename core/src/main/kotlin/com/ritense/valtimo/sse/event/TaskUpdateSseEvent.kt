@@ -20,4 +20,7 @@ import com.ritense.valtimo.web.sse.event.BaseSseEvent
 
 class TaskUpdateSseEvent(
     val processInstanceId: String
-) : BaseSseEvent("TASK_UPDATE")
\ No newline at end of file
+) : BaseSseEvent("TASK_UPDATE") {
+    override val coalesceKey: String
+        get() = processInstanceId
+}
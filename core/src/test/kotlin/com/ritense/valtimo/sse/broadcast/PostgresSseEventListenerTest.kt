@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ *  Licensed under EUPL, Version 1.2 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" basis,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.ritense.valtimo.sse.broadcast
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.valtimo.sse.event.TaskUpdateSseEvent
+import com.ritense.valtimo.web.sse.event.BaseSseEvent
+import com.ritense.valtimo.web.sse.service.SseSubscriptionService
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import javax.sql.DataSource
+
+class PostgresSseEventListenerTest {
+
+    private val objectMapper = ObjectMapper().findAndRegisterModules()
+    private val sseSubscriptionService = mock<SseSubscriptionService>()
+    private val broadcaster = PostgresSseEventBroadcaster(mock<DataSource>(), objectMapper, "this-node")
+    private val listener = PostgresSseEventListener(mock(), broadcaster, sseSubscriptionService, objectMapper)
+
+    @Test
+    fun `should deliver events from other nodes to local subscribers`() {
+        listener.handle(payload("other-node", TaskUpdateSseEvent("process-instance-id")))
+
+        val captor = argumentCaptor<BaseSseEvent>()
+        verify(sseSubscriptionService).notifyLocalSubscribers(captor.capture())
+        assertThat(captor.firstValue).isInstanceOf(TaskUpdateSseEvent::class.java)
+        assertThat((captor.firstValue as TaskUpdateSseEvent).processInstanceId).isEqualTo("process-instance-id")
+    }
+
+    @Test
+    fun `should ignore events sent by this node`() {
+        listener.handle(payload("this-node", TaskUpdateSseEvent("process-instance-id")))
+
+        verify(sseSubscriptionService, never()).notifyLocalSubscribers(any())
+    }
+
+    @Test
+    fun `should ignore messages for classes that are not SSE events`() {
+        val message = SseBroadcastMessage("other-node", String::class.java.name, objectMapper.valueToTree("text"))
+
+        listener.handle(objectMapper.writeValueAsString(message))
+
+        verify(sseSubscriptionService, never()).notifyLocalSubscribers(any())
+    }
+
+    private fun payload(nodeId: String, event: BaseSseEvent) = objectMapper.writeValueAsString(
+        SseBroadcastMessage(nodeId, event.javaClass.name, objectMapper.valueToTree(event))
+    )
+}
@@ -43,6 +43,7 @@ import org.springframework.context.annotation.Bean
 import org.springframework.core.Ordered.HIGHEST_PRECEDENCE
 import org.springframework.core.annotation.Order
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories
+import java.time.Duration
 import javax.sql.DataSource
 
 @AutoConfiguration
@@ -97,7 +98,10 @@ class DashboardAutoConfiguration {
         objectMapper: ObjectMapper,
         dashboardService: DashboardService,
         authorizationService: AuthorizationService,
-        @Value("\${valtimo.authorization.dashboard.enabled:false}") authorizationEnabled: Boolean
+        @Value("\${valtimo.authorization.dashboard.enabled:false}") authorizationEnabled: Boolean,
+        @Value("\${valtimo.dashboard.widget-data.threads:4}") threads: Int,
+        @Value("\${valtimo.dashboard.widget-data.queue-capacity:100}") queueCapacity: Int,
+        @Value("\${valtimo.dashboard.widget-data.cache-time-to-live:PT0S}") cacheTimeToLive: Duration
     ): DashboardDataService {
         return DashboardDataService(
             applicationContext,
@@ -106,7 +110,10 @@ class DashboardAutoConfiguration {
             objectMapper,
             dashboardService,
             authorizationService,
-            authorizationEnabled
+            authorizationEnabled,
+            threads,
+            queueCapacity,
+            cacheTimeToLive
         )
     }
 
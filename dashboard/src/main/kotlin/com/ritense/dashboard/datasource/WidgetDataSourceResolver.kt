@@ -31,6 +31,9 @@ class WidgetDataSourceResolver(
     val dataSourceMethodMap: Map<WidgetDataSource, Method> = findMethodsWithAnnotation<WidgetDataSource>()
         .associateBy { it.getAnnotation(WidgetDataSource::class.java) }
 
+    val dataSourceMethodsByKey: Map<String, Method> = dataSourceMethodMap.entries
+        .associate { (dataSource, method) -> dataSource.key to method }
+
     val dataFeatureClassMap: Map<Class<*>, List<WidgetDataFeature>> = findClassesWithAnnotation<WidgetDataFeature>()
         .keys
         .associateWith { it.getAnnotationsByType(WidgetDataFeature::class.java).toList() }
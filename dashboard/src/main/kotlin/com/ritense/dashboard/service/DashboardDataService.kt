@@ -17,6 +17,8 @@
 package com.ritense.dashboard.service
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.ritense.authorization.AuthorizationContext
 import com.ritense.authorization.AuthorizationService
 import com.ritense.authorization.request.EntityAuthorizationRequest
 import com.ritense.dashboard.datasource.WidgetDataSourceResolver
@@ -25,10 +27,21 @@ import com.ritense.dashboard.domain.WidgetConfiguration
 import com.ritense.dashboard.repository.WidgetConfigurationRepository
 import com.ritense.dashboard.web.rest.dto.DashboardWidgetDataResultDto
 import com.ritense.valtimo.contract.annotation.SkipComponentScan
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.cache.annotation.Cacheable
 import org.springframework.context.ApplicationContext
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
+import java.lang.reflect.Method
+import java.time.Duration
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @Transactional(readOnly = true)
 @Service
@@ -40,21 +53,68 @@ class DashboardDataService(
     private val objectMapper: ObjectMapper,
     private val dashboardService: DashboardService,
     private val authorizationService: AuthorizationService,
-    private val authorizationEnabled: Boolean
-) {
+    private val authorizationEnabled: Boolean,
+    private val threads: Int = 1,
+    private val queueCapacity: Int = 100,
+    private val cacheTimeToLive: Duration = Duration.ZERO
+) : DisposableBean {
+
+    private val dataSources = ConcurrentHashMap<String, DataSourceInvoker>()
+
+    private val widgetDataCache = ConcurrentHashMap<WidgetDataCacheKey, CachedWidgetData>()
+
+    private val executor: ThreadPoolExecutor? = if (threads > 1) {
+        val threadNumber = AtomicInteger()
+        ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            ArrayBlockingQueue(queueCapacity),
+            { runnable ->
+                Thread(runnable, "dashboard-widget-data-${threadNumber.incrementAndGet()}").apply { isDaemon = true }
+            },
+            ThreadPoolExecutor.CallerRunsPolicy()
+        ).apply { allowCoreThreadTimeOut(true) }
+    } else {
+        null
+    }
 
     /**
-     * This will get all widget data for the given dashboard key
+     * This will get all widget data for the given dashboard key. Widgets are evaluated concurrently when more than one
+     * thread is configured.
+     *
+     * @param refresh when true, cached widget data is ignored and replaced
      */
-    fun getWidgetDataForDashboard(dashboardKey: String): List<DashboardWidgetDataResultDto> {
+    fun getWidgetDataForDashboard(dashboardKey: String, refresh: Boolean = false): List<DashboardWidgetDataResultDto> {
         val dashboard = dashboardService.getDashboard(dashboardKey)
         checkAuthorization(dashboard)
 
-        return widgetConfigurationRepository.findAllByDashboardKey(dashboardKey)
+        val configs = widgetConfigurationRepository.findAllByDashboardKey(dashboardKey)
             .sortedBy { it.order }
-            .map { config ->
-                self().getWidgetDataByConfig(config)
+
+        if (executor == null || configs.size < 2) {
+            return configs.map { config -> self().getWidgetDataByConfig(config, refresh) }
+        }
+
+        val ignoreAuthorization = AuthorizationContext.ignoreAuthorization
+        val securityContextExecutor = DelegatingSecurityContextExecutor(executor)
+        val futures = configs.map { config ->
+            CompletableFuture.supplyAsync({
+                if (ignoreAuthorization) {
+                    AuthorizationContext.runWithoutAuthorization { self().getWidgetDataByConfig(config, refresh) }
+                } else {
+                    self().getWidgetDataByConfig(config, refresh)
+                }
+            }, securityContextExecutor)
+        }
+        return futures.map { future ->
+            try {
+                future.join()
+            } catch (e: CompletionException) {
+                throw e.cause ?: e
             }
+        }
     }
 
     /**
@@ -70,26 +130,57 @@ class DashboardDataService(
     }
 
     /**
-     * This can be used to get a single result by widget configuration instance
+     * This can be used to get a single result by widget configuration instance. Results are cached per widget
+     * configuration for the configured time to live.
+     *
+     * @param refresh when true, cached widget data is ignored and replaced
      */
-//    @Cacheable(value = [CACHE_NAME], key = "#config.key")
     fun getWidgetDataByConfig(
-        config: WidgetConfiguration
+        config: WidgetConfiguration,
+        refresh: Boolean = false
     ): DashboardWidgetDataResultDto {
-        val method = widgetDataSourceResolver.dataSourceMethodMap.toList()
-            .single { (ds, _) -> ds.key == config.dataSourceKey }.second
+        if (cacheTimeToLive.isZero) {
+            return evaluate(config)
+        }
+
+        val cacheKey = WidgetDataCacheKey(config.key, config.dataSourceKey, config.dataSourceProperties)
+        val now = System.nanoTime()
+        if (!refresh) {
+            val cached = widgetDataCache[cacheKey]
+            if (cached != null && now - cached.expiresAt < 0) {
+                return cached.result
+            }
+        }
+
+        val result = evaluate(config)
+        if (widgetDataCache.size >= MAXIMUM_CACHE_SIZE) {
+            widgetDataCache.values.removeIf { now - it.expiresAt >= 0 }
+        }
+        widgetDataCache[cacheKey] = CachedWidgetData(result, now + cacheTimeToLive.toNanos())
+        return result
+    }
+
+    override fun destroy() {
+        executor?.shutdownNow()
+    }
 
-        val arguments = when (method.parameterCount) {
+    private fun evaluate(config: WidgetConfiguration): DashboardWidgetDataResultDto {
+        val dataSource = dataSources.computeIfAbsent(config.dataSourceKey) { dataSourceKey ->
+            val method = widgetDataSourceResolver.dataSourceMethodsByKey[dataSourceKey]
+                ?: throw NoSuchElementException("No widget data source found with key '$dataSourceKey'")
+            DataSourceInvoker(applicationContext.getBean(method.declaringClass), method)
+        }
+
+        val arguments = when (dataSource.method.parameterCount) {
             0 -> {
                 emptyArray<Any>()
             }
 
             else -> {
-                arrayOf(objectMapper.treeToValue(config.dataSourceProperties, method.parameterTypes.single()))
+                arrayOf(objectMapper.treeToValue(config.dataSourceProperties, dataSource.method.parameterTypes.single()))
             }
         }
-        val datasourceBean = applicationContext.getBean(method.declaringClass)
-        val dataResult = method.invoke(datasourceBean, *arguments)
+        val dataResult = dataSource.invoke(arguments)
 
         return DashboardWidgetDataResultDto(config.key, dataResult)
     }
@@ -112,7 +203,26 @@ class DashboardDataService(
         }
     }
 
+    private class DataSourceInvoker(
+        val bean: Any,
+        val method: Method
+    ) {
+        fun invoke(arguments: Array<Any>): Any? = method.invoke(bean, *arguments)
+    }
+
+    private data class WidgetDataCacheKey(
+        val configKey: String,
+        val dataSourceKey: String,
+        val dataSourceProperties: ObjectNode
+    )
+
+    private class CachedWidgetData(
+        val result: DashboardWidgetDataResultDto,
+        val expiresAt: Long
+    )
+
     companion object {
         private const val CACHE_NAME = "dashboard.widgetData"
+        private const val MAXIMUM_CACHE_SIZE = 1000
     }
-}
\ No newline at end of file
+}
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Controller
 import org.springframework.web.bind.annotation.GetMapping
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RequestParam
 
 @Controller
 @SkipComponentScan
@@ -44,8 +45,11 @@ class DashboardResource(
     }
 
     @GetMapping("/v1/dashboard/{dashboardKey}/data")
-    fun getDashboardData(@PathVariable dashboardKey: String): ResponseEntity<List<DashboardWidgetDataResultDto>> {
-        val data = dashboardDataService.getWidgetDataForDashboard(dashboardKey)
+    fun getDashboardData(
+        @PathVariable dashboardKey: String,
+        @RequestParam(required = false, defaultValue = "false") refresh: Boolean
+    ): ResponseEntity<List<DashboardWidgetDataResultDto>> {
+        val data = dashboardDataService.getWidgetDataForDashboard(dashboardKey, refresh)
         return ResponseEntity.ok(data)
     }
 }
@@ -3,6 +3,7 @@ package com.ritense.dashboard.service
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.ritense.authorization.AuthorizationContext
 import com.ritense.authorization.AuthorizationContext.Companion.runWithoutAuthorization
+import com.ritense.authorization.AuthorizationService
 import com.ritense.dashboard.BaseIntegrationTest
 import com.ritense.dashboard.TestDataSource
 import com.ritense.dashboard.TestDataSource.Companion.NUMBERS_DATA_KEY
@@ -10,6 +11,7 @@ import com.ritense.dashboard.TestDataSource.Companion.NUMBER_DATA_KEY
 import com.ritense.dashboard.TestDataSourceProperties
 import com.ritense.dashboard.TestWidgetNumberResult
 import com.ritense.dashboard.TestWidgetNumbersResult
+import com.ritense.dashboard.datasource.WidgetDataSourceResolver
 import com.ritense.dashboard.domain.Dashboard
 import com.ritense.dashboard.domain.WidgetConfiguration
 import com.ritense.dashboard.repository.WidgetConfigurationRepository
@@ -27,6 +29,8 @@ import org.mockito.kotlin.whenever
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.test.mock.mockito.SpyBean
 import org.springframework.cache.CacheManager
+import org.springframework.context.ApplicationContext
+import java.time.Duration
 
 class DashboardDataServiceIntTest @Autowired constructor(
     private val dashboardDataService: DashboardDataService,
@@ -34,7 +38,10 @@ class DashboardDataServiceIntTest @Autowired constructor(
     @SpyBean private val widgetConfigurationRepository: WidgetConfigurationRepository,
     @SpyBean private val testDataSource: TestDataSource,
     @SpyBean private val dashboardService: DashboardService,
-    val cacheManager: CacheManager
+    val cacheManager: CacheManager,
+    private val applicationContext: ApplicationContext,
+    private val widgetDataSourceResolver: WidgetDataSourceResolver,
+    private val authorizationService: AuthorizationService
 ): BaseIntegrationTest() {
 
     lateinit var numberConfiguration: WidgetConfiguration
@@ -94,6 +101,29 @@ class DashboardDataServiceIntTest @Autowired constructor(
         verify(testDataSource, times(1)).numbersData()
     }
 
+    @Test
+    fun `should cache widget data per widget configuration until refreshed`() {
+        val cachingDashboardDataService = DashboardDataService(
+            applicationContext,
+            widgetDataSourceResolver,
+            widgetConfigurationRepository,
+            objectMapper,
+            dashboardService,
+            authorizationService,
+            false,
+            cacheTimeToLive = Duration.ofMinutes(1)
+        )
+
+        val widgetData = cachingDashboardDataService.getWidgetDataByConfig(numberConfiguration)
+        val cachedWidgetData = cachingDashboardDataService.getWidgetDataByConfig(numberConfiguration)
+        assertThat(cachedWidgetData).isSameAs(widgetData)
+        verify(testDataSource, times(1)).numberData(any())
+
+        val refreshedWidgetData = cachingDashboardDataService.getWidgetDataByConfig(numberConfiguration, refresh = true)
+        assertThat(refreshedWidgetData).isNotSameAs(widgetData)
+        verify(testDataSource, times(2)).numberData(any())
+    }
+
     @Test
     @Disabled
     fun `should cache widget data by dashboard key`() {
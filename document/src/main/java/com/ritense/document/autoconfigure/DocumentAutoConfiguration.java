@@ -35,6 +35,7 @@ import com.ritense.document.service.DocumentSequenceGeneratorService;
 import com.ritense.document.service.DocumentService;
 import com.ritense.document.service.DocumentStatisticService;
 import com.ritense.document.service.InternalCaseStatusService;
+import com.ritense.document.service.SearchFieldIndexService;
 import com.ritense.document.service.SearchFieldService;
 import com.ritense.document.service.UndeployDocumentDefinitionService;
 import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionSequenceGeneratorService;
@@ -57,6 +58,7 @@ import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -168,7 +170,9 @@ public class DocumentAutoConfiguration {
         final UserManagementService userManagementService,
         final AuthorizationService authorizationService,
         final OutboxService outboxService,
-        final ObjectMapper objectMapper
+        final ObjectMapper objectMapper,
+        @Value("${valtimo.document.search.total-count-cap:10000}") final int totalCountCap,
+        final SearchFieldIndexService searchFieldIndexService
     ) {
         return new JsonSchemaDocumentSearchService(
             entityManager,
@@ -177,7 +181,9 @@ public class DocumentAutoConfiguration {
             userManagementService,
             authorizationService,
             outboxService,
-            objectMapper
+            objectMapper,
+            totalCountCap,
+            searchFieldIndexService
         );
     }
 
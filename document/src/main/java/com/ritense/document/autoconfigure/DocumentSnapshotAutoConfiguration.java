@@ -23,6 +23,7 @@ import com.ritense.document.domain.impl.listener.DocumentSnapshotCapturedEventPu
 import com.ritense.document.domain.impl.listener.UndeployDocumentDefinitionEventListener;
 import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshot;
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
+import com.ritense.document.domain.snapshot.DocumentSnapshotStorageMode;
 import com.ritense.document.repository.DocumentSnapshotRepository;
 import com.ritense.document.repository.impl.MysqlJsonSchemaDocumentSnapshotRepository;
 import com.ritense.document.repository.impl.PostgresJsonSchemaDocumentSnapshotRepository;
@@ -34,6 +35,7 @@ import com.ritense.document.service.impl.JsonSchemaDocumentSnapshotService;
 import com.ritense.document.web.rest.DocumentSnapshotResource;
 import com.ritense.document.web.rest.impl.JsonSchemaDocumentSnapshotResource;
 import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -53,13 +55,17 @@ public class DocumentSnapshotAutoConfiguration {
         final DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository,
         final JsonSchemaDocumentService documentService,
         final JsonSchemaDocumentDefinitionService documentDefinitionService,
-        final AuthorizationService authorizationService
+        final AuthorizationService authorizationService,
+        @Value("${valtimo.versioning.snapshot-storage-mode:FULL}") final DocumentSnapshotStorageMode storageMode,
+        @Value("${valtimo.versioning.checkpoint-interval:20}") final int checkpointInterval
     ) {
         return new JsonSchemaDocumentSnapshotService(
             documentSnapshotRepository,
             documentService,
             documentDefinitionService,
-            authorizationService
+            authorizationService,
+            storageMode,
+            checkpointInterval
         );
     }
 
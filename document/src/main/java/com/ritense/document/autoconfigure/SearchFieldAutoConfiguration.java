@@ -25,12 +25,17 @@ import com.ritense.document.repository.SearchFieldRepository;
 import com.ritense.document.service.DocumentDefinitionService;
 import com.ritense.document.service.DocumentStatisticService;
 import com.ritense.document.service.SearchConfigurationDeploymentService;
+import com.ritense.document.service.SearchFieldIndexService;
 import com.ritense.document.service.SearchFieldService;
 import com.ritense.document.web.rest.impl.SearchFieldResource;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @AutoConfiguration
 public class SearchFieldAutoConfiguration {
@@ -65,9 +70,33 @@ public class SearchFieldAutoConfiguration {
     public SearchFieldService searchFieldService(
         SearchFieldRepository searchFieldRepository,
         DocumentDefinitionService documentDefinitionService,
-        AuthorizationService authorizationService
+        AuthorizationService authorizationService,
+        SearchFieldIndexService searchFieldIndexService
+    ) {
+        return new SearchFieldService(
+            searchFieldRepository,
+            documentDefinitionService,
+            authorizationService,
+            searchFieldIndexService
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SearchFieldIndexService.class)
+    public SearchFieldIndexService searchFieldIndexService(
+        EntityManager entityManager,
+        QueryDialectHelper queryDialectHelper,
+        SearchFieldRepository searchFieldRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${valtimo.document.search.index-search-fields:false}") boolean enabled
     ) {
-        return new SearchFieldService(searchFieldRepository, documentDefinitionService, authorizationService);
+        return new SearchFieldIndexService(
+            entityManager,
+            queryDialectHelper,
+            searchFieldRepository,
+            transactionManager,
+            enabled
+        );
     }
 
     @Bean
@@ -59,6 +59,8 @@ public final class JsonSchema {
     @Column(name = "json_schema", columnDefinition = "json")
     private String schema;
 
+    private transient volatile Schema compiledSchema;
+
     JsonSchema() {
     }
 
@@ -87,11 +89,15 @@ public final class JsonSchema {
         this.schema = new JSONObject(jsonSchema).toString();
     }
 
-    JsonDocumentContent validateDocument(DocumentContent content) {
+    JsonDocumentContent validateDocument(JsonSchemaDocumentDefinitionId id, DocumentContent content) {
+        return validateDocument(JsonSchemaCache.get(id, this), content);
+    }
+
+    private JsonDocumentContent validateDocument(Schema loadedSchema, DocumentContent content) {
         final var jsonObject = new JSONObject(content.asJson().toString()); // Wrapped is needed for lib
         // If there are some properties missing from input which have "default" values in the schema,
         // then they will be set by the validator during validation.
-        VALIDATOR.performValidation(getSchema(), jsonObject);
+        JsonSchemaCache.recordValidate(() -> VALIDATOR.performValidation(loadedSchema, jsonObject));
         return new JsonDocumentContent(jsonObject.toString());
     }
 
@@ -105,6 +111,19 @@ public final class JsonSchema {
 
     @JsonIgnore
     public Schema getSchema() {
+        var result = compiledSchema;
+        if (result == null) {
+            result = JsonSchemaCache.recordCompile(this::compile);
+            compiledSchema = result;
+        }
+        return result;
+    }
+
+    String getRawSchema() {
+        return schema;
+    }
+
+    private Schema compile() {
         final SchemaLoader schemaLoader = getSchemaLoaderBuilder()
             .schemaJson(new JSONObject(new JSONTokener(schema)))
             .build();
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.everit.json.schema.Schema;
+
+/**
+ * Shared cache of compiled everit schemas, keyed by document definition id.
+ *
+ * <p>A document definition version is immutable once deployed, so the compiled schema can be reused by every
+ * document that is created or modified against it. Entries also hold the raw schema they were compiled from: when an
+ * undeployed definition is redeployed under the same id (possibly on another node) the entry is recompiled instead
+ * of served stale.
+ */
+public final class JsonSchemaCache {
+
+    private static final long MAXIMUM_SIZE = 1000;
+
+    private static final Cache<JsonSchemaDocumentDefinitionId, CompiledSchema> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .build();
+
+    private static final Timer COMPILE_TIMER = Timer.builder("valtimo.document.schema.compile")
+        .description("Time spent compiling document definition JSON schemas")
+        .register(Metrics.globalRegistry);
+
+    private static final Timer VALIDATE_TIMER = Timer.builder("valtimo.document.schema.validate")
+        .description("Time spent validating document content against a compiled JSON schema")
+        .register(Metrics.globalRegistry);
+
+    private JsonSchemaCache() {
+    }
+
+    static Schema get(JsonSchemaDocumentDefinitionId id, JsonSchema jsonSchema) {
+        assertArgumentNotNull(id, "id is required");
+        assertArgumentNotNull(jsonSchema, "jsonSchema is required");
+        var compiledSchema = CACHE.getIfPresent(id);
+        if (compiledSchema == null || !compiledSchema.source().equals(jsonSchema.getRawSchema())) {
+            compiledSchema = new CompiledSchema(jsonSchema.getRawSchema(), jsonSchema.getSchema());
+            CACHE.put(id, compiledSchema);
+        }
+        return compiledSchema.schema();
+    }
+
+    public static void invalidate(JsonSchemaDocumentDefinitionId id) {
+        CACHE.invalidate(id);
+    }
+
+    public static void invalidateAll(String documentDefinitionName) {
+        CACHE.asMap().keySet().removeIf(id -> id.name().equals(documentDefinitionName));
+    }
+
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    static long size() {
+        return CACHE.size();
+    }
+
+    static Schema recordCompile(Supplier<Schema> compiler) {
+        return COMPILE_TIMER.record(compiler);
+    }
+
+    static void recordValidate(Runnable validation) {
+        VALIDATE_TIMER.record(validation);
+    }
+
+    private record CompiledSchema(String source, Schema schema) {
+    }
+
+}
@@ -119,7 +119,7 @@ public class JsonSchemaDocumentDefinition extends AbstractAggregateRoot<JsonSche
 
         List<DocumentContentValidationError> errors = new ArrayList<>();
         try {
-            content = schema.validateDocument(content);
+            content = schema.validateDocument(id, content);
         } catch (ValidationException e) {
             errors = e.getAllMessages()
                 .stream()
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl.searchfield;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The value of an indexed search field path in a document. Searches on that path can use the indexes on this table
+ * instead of extracting the value from the JSON content of every document.
+ *
+ * <p>Rows are only written by the {@link com.ritense.document.service.SearchFieldIndexService}.
+ */
+@Entity
+@Immutable
+@Table(name = "json_schema_document_search_value")
+public class SearchFieldValue {
+
+    public static final int MAX_VALUE_LENGTH = 512;
+
+    @EmbeddedId
+    private SearchFieldValueId id;
+
+    @Column(name = "string_value", length = MAX_VALUE_LENGTH, nullable = false, updatable = false)
+    private String value;
+
+    @Column(name = "string_value_lower", length = MAX_VALUE_LENGTH, nullable = false, updatable = false)
+    private String valueLower;
+
+    protected SearchFieldValue() {
+    }
+
+    public SearchFieldValueId getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getValueLower() {
+        return valueLower;
+    }
+}
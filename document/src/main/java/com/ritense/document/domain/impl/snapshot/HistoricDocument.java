@@ -27,6 +27,7 @@ import com.ritense.document.domain.impl.JsonSchemaDocumentDefinitionId;
 import com.ritense.document.domain.impl.JsonSchemaDocumentId;
 import com.ritense.document.domain.relation.DocumentRelation;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.Embedded;
@@ -45,6 +46,10 @@ public class HistoricDocument implements Document {
     private JsonSchemaDocumentId id;
 
     @Embedded
+    @AttributeOverride(
+        name = "content",
+        column = @Column(name = "json_document_content", columnDefinition = "json", updatable = false)
+    )
     private JsonDocumentContent content;
 
     @Embedded
@@ -108,6 +113,14 @@ public class HistoricDocument implements Document {
     public HistoricDocument() {
     }
 
+    void clearContent() {
+        this.content = null;
+    }
+
+    void restoreContent(JsonDocumentContent content) {
+        this.content = content;
+    }
+
     @Override
     public JsonSchemaDocumentId id() {
         return id;
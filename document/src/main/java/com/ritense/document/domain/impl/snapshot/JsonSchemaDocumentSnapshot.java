@@ -16,9 +16,19 @@
 
 package com.ritense.document.domain.impl.snapshot;
 
+import static com.ritense.document.domain.patch.JsonPatchFilterFlag.allowRemovalOperations;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertStateTrue;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ritense.document.domain.impl.JsonDocumentContent;
 import com.ritense.document.domain.impl.JsonSchemaDocument;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.domain.patch.JsonPatchService;
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
+import com.ritense.valtimo.contract.json.MapperSingleton;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.EmbeddedId;
@@ -26,7 +36,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import org.hibernate.annotations.Type;
 import org.springframework.data.domain.Persistable;
 
 @Entity
@@ -45,6 +59,16 @@ public class JsonSchemaDocumentSnapshot implements DocumentSnapshot, Persistable
     @Embedded
     private HistoricDocument document;
 
+    @Column(name = "snapshot_number", columnDefinition = "BIGINT", updatable = false)
+    private Long snapshotNumber;
+
+    @Column(name = "checkpoint_snapshot_id", updatable = false)
+    private UUID checkpointId;
+
+    @Type(value = JsonType.class)
+    @Column(name = "json_document_patch", columnDefinition = "json", updatable = false)
+    private String patch;
+
     @Transient
     private transient boolean isNew = false;
 
@@ -64,6 +88,96 @@ public class JsonSchemaDocumentSnapshot implements DocumentSnapshot, Persistable
     private JsonSchemaDocumentSnapshot() {
     }
 
+    /**
+     * Creates a snapshot that holds the complete document content.
+     */
+    public static JsonSchemaDocumentSnapshot checkpoint(
+        JsonSchemaDocument document,
+        LocalDateTime createdOn,
+        String createdBy,
+        JsonSchemaDocumentDefinition documentDefinition,
+        long snapshotNumber
+    ) {
+        var snapshot = new JsonSchemaDocumentSnapshot(document, createdOn, createdBy, documentDefinition);
+        snapshot.snapshotNumber = snapshotNumber;
+        return snapshot;
+    }
+
+    /**
+     * Creates a snapshot that only holds the JSON patch from the content of the previous snapshot of the document to
+     * the current content. The content is restored by replaying the patches from the checkpoint onwards.
+     */
+    public static JsonSchemaDocumentSnapshot delta(
+        JsonSchemaDocument document,
+        LocalDateTime createdOn,
+        String createdBy,
+        JsonSchemaDocumentDefinition documentDefinition,
+        JsonSchemaDocumentSnapshot previous,
+        JsonNode patch
+    ) {
+        assertArgumentNotNull(previous, "previous is required");
+        assertArgumentNotNull(previous.snapshotNumber, "previous.snapshotNumber is required");
+        assertArgumentNotNull(patch, "patch is required");
+        var snapshot = new JsonSchemaDocumentSnapshot(document, createdOn, createdBy, documentDefinition);
+        snapshot.snapshotNumber = previous.snapshotNumber + 1;
+        snapshot.checkpointId = previous.isDelta() ? previous.checkpointId : previous.id.getId();
+        snapshot.patch = patch.toString();
+        snapshot.document.clearContent();
+        return snapshot;
+    }
+
+    /**
+     * Replays the patches of the given deltas on top of the content of the checkpoint.
+     *
+     * @param checkpoint the checkpoint the deltas belong to
+     * @param deltas     the deltas of the checkpoint, ordered by snapshot number without gaps
+     * @return the restored content of every delta
+     */
+    public static Map<JsonSchemaDocumentSnapshotId, JsonDocumentContent> replay(
+        JsonSchemaDocumentSnapshot checkpoint,
+        List<JsonSchemaDocumentSnapshot> deltas
+    ) {
+        assertStateTrue(!checkpoint.isDelta(), "checkpoint must hold the complete document content");
+        final var content = checkpoint.document.content().asJson();
+        final var restored = new HashMap<JsonSchemaDocumentSnapshotId, JsonDocumentContent>();
+        long expectedNumber = checkpoint.snapshotNumber;
+        for (var delta : deltas) {
+            assertStateTrue(
+                checkpoint.id.getId().equals(delta.checkpointId) && delta.snapshotNumber == ++expectedNumber,
+                "Delta snapshot " + delta.id + " does not follow up on checkpoint " + checkpoint.id
+            );
+            JsonPatchService.apply(delta.patchAsJson(), content, allowRemovalOperations());
+            restored.put(delta.id, JsonDocumentContent.build(content));
+        }
+        return restored;
+    }
+
+    public void restoreContent(JsonDocumentContent content) {
+        assertStateTrue(isDelta(), "Only the content of a delta snapshot can be restored");
+        document.restoreContent(content);
+    }
+
+    @JsonIgnore
+    public boolean isDelta() {
+        return checkpointId != null;
+    }
+
+    public Long snapshotNumber() {
+        return snapshotNumber;
+    }
+
+    public UUID checkpointId() {
+        return checkpointId;
+    }
+
+    private JsonNode patchAsJson() {
+        try {
+            return MapperSingleton.INSTANCE.get().readTree(patch);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String id() {
         return id.toString();
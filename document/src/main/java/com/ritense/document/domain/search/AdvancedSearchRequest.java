@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class AdvancedSearchRequest {
@@ -28,6 +29,8 @@ public class AdvancedSearchRequest {
     private List<OtherFilter> otherFilters = List.of();
 
     private Set<String> statusFilter = new HashSet<>();
+    private TotalCountMode totalCount = TotalCountMode.EXACT;
+    private UUID searchAfter;
 
     public AdvancedSearchRequest() {
         // Jackson needs the empty constructor
@@ -86,6 +89,36 @@ public class AdvancedSearchRequest {
         return this;
     }
 
+    public TotalCountMode getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(TotalCountMode totalCount) {
+        this.totalCount = totalCount != null ? totalCount : TotalCountMode.EXACT;
+    }
+
+    public AdvancedSearchRequest totalCount(TotalCountMode totalCount) {
+        setTotalCount(totalCount);
+        return this;
+    }
+
+    /**
+     * @return the id of the last document of the previous page. When set, the search continues after that document
+     * instead of skipping the documents of the previous pages.
+     */
+    public UUID getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter(UUID searchAfter) {
+        this.searchAfter = searchAfter;
+    }
+
+    public AdvancedSearchRequest searchAfter(UUID searchAfter) {
+        setSearchAfter(searchAfter);
+        return this;
+    }
+
     public static class OtherFilter {
 
         private String path;
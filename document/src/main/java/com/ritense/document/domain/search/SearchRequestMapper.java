@@ -72,6 +72,8 @@ public class SearchRequestMapper {
         advancedSearchRequest.setAssigneeFilter(searchRequest.getAssigneeFilter());
         advancedSearchRequest.setOtherFilters(otherFilters);
         advancedSearchRequest.setStatusFilter(searchRequest.getStatusFilter());
+        advancedSearchRequest.setTotalCount(searchRequest.getTotalCount());
+        advancedSearchRequest.setSearchAfter(searchRequest.getSearchAfter());
         return advancedSearchRequest;
     }
 
@@ -21,6 +21,7 @@ import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgument
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class SearchWithConfigRequest {
@@ -28,6 +29,8 @@ public class SearchWithConfigRequest {
     private AssigneeFilter assigneeFilter = AssigneeFilter.ALL;
     private List<SearchWithConfigFilter> otherFilters = List.of();
     private Set<String> statusFilter = Set.of();
+    private TotalCountMode totalCount = TotalCountMode.EXACT;
+    private UUID searchAfter;
 
     public SearchWithConfigRequest() {
     }
@@ -74,6 +77,22 @@ public class SearchWithConfigRequest {
         this.statusFilter = statusFilter;
     }
 
+    public TotalCountMode getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(TotalCountMode totalCount) {
+        this.totalCount = totalCount != null ? totalCount : TotalCountMode.EXACT;
+    }
+
+    public UUID getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter(UUID searchAfter) {
+        this.searchAfter = searchAfter;
+    }
+
     public static class SearchWithConfigFilter {
 
         private String key;
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.search;
+
+/**
+ * Determines how the total number of results of a search is calculated.
+ */
+public enum TotalCountMode {
+    /**
+     * Counts all matching documents.
+     */
+    EXACT,
+    /**
+     * Counts matching documents up to the configured cap. When there are more, the total is one more than the cap.
+     */
+    CAPPED,
+    /**
+     * Doesn't count. The total only includes the documents up to and including the next page, if there is one.
+     */
+    NONE
+}
@@ -17,6 +17,9 @@
 package com.ritense.document.repository;
 
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -27,4 +30,8 @@ public interface DocumentSnapshotRepository<T extends DocumentSnapshot> extends
     JpaSpecificationExecutor<T> {
 
     void deleteAllByDefinitionName(String definitionName);
+
+    List<T> findNumberedSnapshotsNewestFirst(UUID documentId, Pageable pageable);
+
+    List<T> findDeltas(UUID checkpointId, long upToSnapshotNumber);
 }
\ No newline at end of file
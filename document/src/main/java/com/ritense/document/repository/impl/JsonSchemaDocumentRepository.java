@@ -18,6 +18,8 @@ package com.ritense.document.repository.impl;
 
 import com.ritense.document.domain.impl.JsonSchemaDocument;
 import com.ritense.document.repository.DocumentRepository;
+import java.util.List;
+import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -44,4 +46,21 @@ public interface JsonSchemaDocumentRepository extends DocumentRepository<JsonSch
         @Param("createdBy") String createdBy,
         Pageable pageable
     );
+
+    /**
+     * Keyset pagination over the ids of the documents of a document definition. Start with the nil UUID
+     * (00000000-0000-0000-0000-000000000000), then continue after the last id of the previous page.
+     */
+    @Query(" SELECT  doc.id.id " +
+        "    FROM    JsonSchemaDocument doc " +
+        "    WHERE   doc.documentDefinitionId.name = :definitionName " +
+        "    AND     doc.documentDefinitionId.version = :definitionVersion " +
+        "    AND     doc.id.id > :afterId " +
+        "    ORDER BY doc.id.id")
+    List<UUID> findIdsByDocumentDefinitionIdAfter(
+        @Param("definitionName") String definitionName,
+        @Param("definitionVersion") long definitionVersion,
+        @Param("afterId") UUID afterId,
+        Pageable pageable
+    );
 }
@@ -18,6 +18,9 @@ package com.ritense.document.repository.impl;
 
 import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshot;
 import com.ritense.document.repository.DocumentSnapshotRepository;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -33,4 +36,26 @@ public interface PostgresJsonSchemaDocumentSnapshotRepository extends DocumentSn
         "   WHERE   ds.document.documentDefinitionId.name = :definitionName")
     void deleteAllByDefinitionName(@Param("definitionName") String definitionName);
 
+    @Query("" +
+        "   SELECT  ds " +
+        "   FROM    JsonSchemaDocumentSnapshot ds " +
+        "   WHERE   ds.document.id.id = :documentId " +
+        "   AND     ds.snapshotNumber IS NOT NULL " +
+        "   ORDER BY ds.snapshotNumber DESC")
+    List<JsonSchemaDocumentSnapshot> findNumberedSnapshotsNewestFirst(
+        @Param("documentId") UUID documentId,
+        Pageable pageable
+    );
+
+    @Query("" +
+        "   SELECT  ds " +
+        "   FROM    JsonSchemaDocumentSnapshot ds " +
+        "   WHERE   ds.checkpointId = :checkpointId " +
+        "   AND     ds.snapshotNumber <= :upToSnapshotNumber " +
+        "   ORDER BY ds.snapshotNumber")
+    List<JsonSchemaDocumentSnapshot> findDeltas(
+        @Param("checkpointId") UUID checkpointId,
+        @Param("upToSnapshotNumber") long upToSnapshotNumber
+    );
+
 }
\ No newline at end of file
@@ -41,6 +41,13 @@ public interface DocumentService {
 
     Optional<? extends Document> findBy(Document.Id documentId);
 
+    default List<? extends Document> findAllBy(List<Document.Id> documentIds) {
+        return documentIds.stream()
+            .map(this::findBy)
+            .<Document>flatMap(Optional::stream)
+            .toList();
+    }
+
     Document get(String documentId);
 
     CreateDocumentResult createDocument(NewDocumentRequest newDocumentRequest);
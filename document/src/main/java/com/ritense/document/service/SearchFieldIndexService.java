@@ -0,0 +1,254 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service;
+
+import static com.ritense.document.domain.impl.searchfield.SearchFieldValue.MAX_VALUE_LENGTH;
+
+import com.ritense.document.domain.impl.JsonSchemaDocumentId;
+import com.ritense.document.domain.impl.event.JsonSchemaDocumentCreatedEvent;
+import com.ritense.document.domain.impl.event.JsonSchemaDocumentModifiedEvent;
+import com.ritense.document.domain.impl.searchfield.SearchField;
+import com.ritense.document.domain.impl.searchfield.SearchFieldDataType;
+import com.ritense.document.repository.SearchFieldRepository;
+import com.ritense.valtimo.contract.database.PostgresQueryDialectHelper;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the json_schema_document_search_value table: the values of the TEXT search fields with a 'doc:' path,
+ * extracted from the content of every document. Exact and IN searches on those fields can then use an index instead
+ * of extracting the value from the JSON content of every document.
+ *
+ * <p>The search_field_index table holds the paths that are fully indexed per document definition. The search only
+ * uses the index for those paths. When indexing is disabled, both tables are cleared on startup, so an index that
+ * wasn't maintained in the meantime is never used after enabling it again.
+ */
+@Transactional
+public class SearchFieldIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchFieldIndexService.class);
+    private static final String DOC_PREFIX = "doc:";
+
+    private static final String POSTGRES_VALUE_EXPRESSION =
+        "trim(both '\"' from cast(jsonb_path_query_first(d.json_document_content, cast(i.path as jsonpath)) as text))";
+    private static final String MYSQL_VALUE_EXPRESSION =
+        "JSON_UNQUOTE(JSON_EXTRACT(d.json_document_content, i.path))";
+
+    private final EntityManager entityManager;
+    private final QueryDialectHelper queryDialectHelper;
+    private final SearchFieldRepository searchFieldRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final boolean enabled;
+
+    public SearchFieldIndexService(
+        EntityManager entityManager,
+        QueryDialectHelper queryDialectHelper,
+        SearchFieldRepository searchFieldRepository,
+        PlatformTransactionManager transactionManager,
+        boolean enabled
+    ) {
+        this.entityManager = entityManager;
+        this.queryDialectHelper = queryDialectHelper;
+        this.searchFieldRepository = searchFieldRepository;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the JSON paths (like '$.firstName') of the document definition that can be searched through the index
+     */
+    @Transactional(readOnly = true)
+    public Set<String> getIndexedPaths(String documentDefinitionName) {
+        if (!enabled) {
+            return Set.of();
+        }
+        return Set.copyOf(findIndexedPaths(documentDefinitionName));
+    }
+
+    /**
+     * Indexes the search fields of the document definition that aren't indexed yet, and removes the index of paths that
+     * are no longer a search field.
+     */
+    public void synchronize(String documentDefinitionName) {
+        if (!enabled) {
+            return;
+        }
+        // The documents have to be flushed before they can be indexed
+        entityManager.flush();
+        var wantedPaths = searchFieldRepository.findAllByIdDocumentDefinitionNameOrderByOrder(documentDefinitionName)
+            .stream()
+            .filter(SearchFieldIndexService::isIndexable)
+            .map(searchField -> "$." + searchField.getPath().substring(DOC_PREFIX.length()))
+            .collect(Collectors.toSet());
+        var indexedPaths = findIndexedPaths(documentDefinitionName);
+
+        indexedPaths.stream()
+            .filter(path -> !wantedPaths.contains(path))
+            .forEach(path -> removeIndex(documentDefinitionName, path));
+        wantedPaths.stream()
+            .filter(path -> !indexedPaths.contains(path))
+            .forEach(path -> createIndex(documentDefinitionName, path));
+    }
+
+    /**
+     * Synchronizes the index of every document definition, each in its own transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @EventListener(ApplicationReadyEvent.class)
+    public void synchronizeAll() {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        if (!enabled) {
+            transactionTemplate.executeWithoutResult(status -> removeAllIndexes());
+            return;
+        }
+        var documentDefinitionNames = new TreeSet<String>();
+        searchFieldRepository.findAll().forEach(searchField ->
+            documentDefinitionNames.add(searchField.getId().getDocumentDefinitionName())
+        );
+        documentDefinitionNames.addAll(findIndexedDocumentDefinitionNames());
+
+        for (var documentDefinitionName : documentDefinitionNames) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> synchronize(documentDefinitionName));
+            } catch (RuntimeException e) {
+                // Another node might be indexing the same document definition at the same time
+                logger.warn("Failed to synchronize the search field index of document definition '{}'", documentDefinitionName, e);
+            }
+        }
+    }
+
+    @EventListener(JsonSchemaDocumentCreatedEvent.class)
+    public void handle(JsonSchemaDocumentCreatedEvent event) {
+        reindexDocument(event.documentId());
+    }
+
+    @EventListener(JsonSchemaDocumentModifiedEvent.class)
+    public void handle(JsonSchemaDocumentModifiedEvent event) {
+        reindexDocument(event.documentId());
+    }
+
+    private void reindexDocument(JsonSchemaDocumentId documentId) {
+        if (!enabled) {
+            return;
+        }
+        // The document is saved, but not necessarily flushed, when its event is published
+        entityManager.flush();
+        entityManager.createNativeQuery("DELETE FROM json_schema_document_search_value WHERE json_schema_document_id = :documentId")
+            .setParameter("documentId", documentId.getId())
+            .executeUpdate();
+        entityManager.createNativeQuery(insertValuesQuery("d.json_schema_document_id = :documentId"))
+            .setParameter("documentId", documentId.getId())
+            .executeUpdate();
+    }
+
+    private void createIndex(String documentDefinitionName, String path) {
+        entityManager.createNativeQuery("INSERT INTO search_field_index (document_definition_name, path) VALUES (:name, :path)")
+            .setParameter("name", documentDefinitionName)
+            .setParameter("path", path)
+            .executeUpdate();
+        var indexed = entityManager.createNativeQuery(insertValuesQuery("d.document_definition_name = :name AND i.path = :path"))
+            .setParameter("name", documentDefinitionName)
+            .setParameter("path", path)
+            .executeUpdate();
+        logger.info("Indexed search field '{}' of {} documents of document definition '{}'", path, indexed, documentDefinitionName);
+    }
+
+    private void removeIndex(String documentDefinitionName, String path) {
+        entityManager.createNativeQuery("DELETE FROM search_field_index WHERE document_definition_name = :name AND path = :path")
+            .setParameter("name", documentDefinitionName)
+            .setParameter("path", path)
+            .executeUpdate();
+        entityManager.createNativeQuery("" +
+                "DELETE FROM json_schema_document_search_value " +
+                "WHERE path = :path " +
+                "AND json_schema_document_id IN (" +
+                "    SELECT d.json_schema_document_id " +
+                "    FROM json_schema_document d " +
+                "    WHERE d.document_definition_name = :name" +
+                ")")
+            .setParameter("name", documentDefinitionName)
+            .setParameter("path", path)
+            .executeUpdate();
+        logger.info("Removed the index of search field '{}' of document definition '{}'", path, documentDefinitionName);
+    }
+
+    private void removeAllIndexes() {
+        var removed = entityManager.createNativeQuery("DELETE FROM search_field_index").executeUpdate();
+        if (removed > 0) {
+            entityManager.createNativeQuery("DELETE FROM json_schema_document_search_value").executeUpdate();
+            logger.info("Removed the search field index, because indexing search fields is disabled");
+        }
+    }
+
+    /**
+     * Extracts the values the same way the search does, see {@link QueryDialectHelper#getJsonValueExpression}.
+     * Values that are too long to be indexed are left out, so searches for them never match.
+     */
+    private String insertValuesQuery(String condition) {
+        var valueExpression = queryDialectHelper instanceof PostgresQueryDialectHelper
+            ? POSTGRES_VALUE_EXPRESSION
+            : MYSQL_VALUE_EXPRESSION;
+        return "" +
+            "INSERT INTO json_schema_document_search_value (json_schema_document_id, path, string_value, string_value_lower) " +
+            "SELECT v.document_id, v.path, v.string_value, lower(v.string_value) " +
+            "FROM (" +
+            "    SELECT d.json_schema_document_id AS document_id, i.path AS path, " + valueExpression + " AS string_value " +
+            "    FROM json_schema_document d " +
+            "    INNER JOIN search_field_index i ON i.document_definition_name = d.document_definition_name " +
+            "    WHERE " + condition +
+            ") v " +
+            "WHERE v.string_value IS NOT NULL " +
+            "AND char_length(v.string_value) <= " + MAX_VALUE_LENGTH;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> findIndexedPaths(String documentDefinitionName) {
+        List<Object> paths = entityManager
+            .createNativeQuery("SELECT path FROM search_field_index WHERE document_definition_name = :name")
+            .setParameter("name", documentDefinitionName)
+            .getResultList();
+        return paths.stream().map(Objects::toString).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> findIndexedDocumentDefinitionNames() {
+        List<Object> names = entityManager
+            .createNativeQuery("SELECT DISTINCT document_definition_name FROM search_field_index")
+            .getResultList();
+        return names.stream().map(Objects::toString).toList();
+    }
+
+    private static boolean isIndexable(SearchField searchField) {
+        return searchField.getDataType() == SearchFieldDataType.TEXT
+            && searchField.getPath() != null
+            && searchField.getPath().startsWith(DOC_PREFIX);
+    }
+}
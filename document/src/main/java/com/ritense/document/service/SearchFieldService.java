@@ -46,15 +46,26 @@ public class SearchFieldService {
     private final SearchFieldRepository searchFieldRepository;
     private final DocumentDefinitionService documentDefinitionService;
     private final AuthorizationService authorizationService;
+    private final SearchFieldIndexService searchFieldIndexService;
 
     public SearchFieldService(
         final SearchFieldRepository searchFieldRepository,
         final DocumentDefinitionService documentDefinitionService,
         final AuthorizationService authorizationService
+    ) {
+        this(searchFieldRepository, documentDefinitionService, authorizationService, null);
+    }
+
+    public SearchFieldService(
+        final SearchFieldRepository searchFieldRepository,
+        final DocumentDefinitionService documentDefinitionService,
+        final AuthorizationService authorizationService,
+        final SearchFieldIndexService searchFieldIndexService
     ) {
         this.searchFieldRepository = searchFieldRepository;
         this.documentDefinitionService = documentDefinitionService;
         this.authorizationService = authorizationService;
+        this.searchFieldIndexService = searchFieldIndexService;
     }
 
     public void addSearchField(
@@ -75,6 +86,7 @@ public class SearchFieldService {
         searchField.setId(searchFieldId);
         documentDefinitionService.validateJsonPath(documentDefinitionName, searchField.getPath());
         searchFieldRepository.save(searchField);
+        synchronizeIndex(documentDefinitionName);
     }
 
     public List<SearchField> getSearchFields(
@@ -98,6 +110,7 @@ public class SearchFieldService {
         @LoggableResource("documentDefinitionName") String documentDefinitionName
     ) {
         searchFieldRepository.deleteAllByIdDocumentDefinitionName(documentDefinitionName);
+        synchronizeIndex(documentDefinitionName);
     }
 
     public void updateSearchFields(
@@ -114,6 +127,7 @@ public class SearchFieldService {
             .mapToObj(index -> toOrderedSearchField(documentDefinitionName, searchFieldDtos.get(index), index))
             .toList();
         searchFieldRepository.saveAll(searchFields);
+        synchronizeIndex(documentDefinitionName);
     }
 
     public void createSearchConfiguration(List<SearchField> searchFields) {
@@ -131,6 +145,10 @@ public class SearchFieldService {
                 ) > 1))
             .distinct().findAny().isEmpty()) {
             searchFieldRepository.saveAll(searchFields);
+            searchFields.stream()
+                .map(searchField -> searchField.getId().getDocumentDefinitionName())
+                .distinct()
+                .forEach(this::synchronizeIndex);
         }
     }
 
@@ -139,6 +157,7 @@ public class SearchFieldService {
 
         searchFieldRepository.findByIdDocumentDefinitionNameAndKey(documentDefinitionName, key).ifPresent(
             searchFieldRepository::delete);
+        synchronizeIndex(documentDefinitionName);
     }
 
     private SearchField toOrderedSearchField(String documentDefinitionName, SearchFieldDto searchFieldDto, int order) {
@@ -189,6 +208,12 @@ public class SearchFieldService {
         }
     }
 
+    private void synchronizeIndex(String documentDefinitionName) {
+        if (searchFieldIndexService != null) {
+            searchFieldIndexService.synchronize(documentDefinitionName);
+        }
+    }
+
     private void denyAuthorization() {
         authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
@@ -42,6 +42,7 @@ import com.ritense.authorization.request.EntityAuthorizationRequest;
 import com.ritense.document.domain.DocumentDefinition;
 import com.ritense.document.domain.EveritSchemaAllowsPropertyKt;
 import com.ritense.document.domain.impl.JsonSchema;
+import com.ritense.document.domain.impl.JsonSchemaCache;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinitionId;
 import com.ritense.document.exception.DocumentDefinitionDeploymentException;
@@ -368,6 +369,7 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
                 );
 
                 documentDefinitionRepository.saveAndFlush(documentDefinition);
+                JsonSchemaCache.invalidate(documentDefinition.id());
             }
         });
     }
@@ -385,6 +387,7 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
         ));
 
         documentDefinitionRepository.deleteByIdName(documentDefinitionName);
+        JsonSchemaCache.invalidateAll(documentDefinitionName);
     }
 
     @Override
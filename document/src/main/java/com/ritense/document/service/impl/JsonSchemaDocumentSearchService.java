@@ -26,14 +26,19 @@ import com.ritense.authorization.AuthorizationService;
 import com.ritense.authorization.request.EntityAuthorizationRequest;
 import com.ritense.document.domain.impl.JsonSchemaDocument;
 import com.ritense.document.domain.impl.searchfield.SearchField;
+import com.ritense.document.domain.impl.searchfield.SearchFieldValue;
 import com.ritense.document.domain.search.AdvancedSearchRequest;
 import com.ritense.document.domain.search.AssigneeFilter;
+import com.ritense.document.domain.search.DatabaseSearchType;
 import com.ritense.document.domain.search.SearchOperator;
+import com.ritense.document.domain.search.SearchAfterPage;
 import com.ritense.document.domain.search.SearchRequestMapper;
 import com.ritense.document.domain.search.SearchRequestValidator;
 import com.ritense.document.domain.search.SearchWithConfigRequest;
+import com.ritense.document.domain.search.TotalCountMode;
 import com.ritense.document.event.DocumentsListed;
 import com.ritense.document.service.DocumentSearchService;
+import com.ritense.document.service.SearchFieldIndexService;
 import com.ritense.document.service.SearchFieldService;
 import com.ritense.logging.LoggableResource;
 import com.ritense.outbox.OutboxService;
@@ -51,6 +56,7 @@ import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -64,12 +70,17 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
@@ -87,6 +98,13 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     private static final String INTERNAL_STATUS_ORDER = "internalStatus.order";
     private static final String DOC_PREFIX = "doc:";
     private static final String CASE_PREFIX = "case:";
+    private static final String ID = "id";
+    private static final String CREATED_ON = "createdOn";
+    private static final int DEFAULT_TOTAL_COUNT_CAP = 10000;
+    private static final String DOCUMENT_ID = "documentId";
+    private static final String PATH = "path";
+    private static final String VALUE = "value";
+    private static final String VALUE_LOWER = "valueLower";
 
     private static final Map<String, String> DOCUMENT_FIELD_MAP = Map.of(
         "definitionId.name", "documentDefinitionId.name",
@@ -103,6 +121,8 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     private final OutboxService outboxService;
 
     private final ObjectMapper objectMapper;
+    private final int totalCountCap;
+    private final SearchFieldIndexService searchFieldIndexService;
 
     public JsonSchemaDocumentSearchService(
         EntityManager entityManager,
@@ -111,6 +131,56 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         UserManagementService userManagementService,
         AuthorizationService authorizationService, OutboxService outboxService,
         ObjectMapper objectMapper
+    ) {
+        this(
+            entityManager,
+            queryDialectHelper,
+            searchFieldService,
+            userManagementService,
+            authorizationService,
+            outboxService,
+            objectMapper,
+            DEFAULT_TOTAL_COUNT_CAP
+        );
+    }
+
+    public JsonSchemaDocumentSearchService(
+        EntityManager entityManager,
+        QueryDialectHelper queryDialectHelper,
+        SearchFieldService searchFieldService,
+        UserManagementService userManagementService,
+        AuthorizationService authorizationService,
+        OutboxService outboxService,
+        ObjectMapper objectMapper,
+        int totalCountCap
+    ) {
+        this(
+            entityManager,
+            queryDialectHelper,
+            searchFieldService,
+            userManagementService,
+            authorizationService,
+            outboxService,
+            objectMapper,
+            totalCountCap,
+            null
+        );
+    }
+
+    /**
+     * @param totalCountCap the maximum number of documents counted for searches with {@link TotalCountMode#CAPPED}
+     * @param searchFieldIndexService used to search indexed search fields through their index. Optional
+     */
+    public JsonSchemaDocumentSearchService(
+        EntityManager entityManager,
+        QueryDialectHelper queryDialectHelper,
+        SearchFieldService searchFieldService,
+        UserManagementService userManagementService,
+        AuthorizationService authorizationService,
+        OutboxService outboxService,
+        ObjectMapper objectMapper,
+        int totalCountCap,
+        SearchFieldIndexService searchFieldIndexService
     ) {
         this.entityManager = entityManager;
         this.queryDialectHelper = queryDialectHelper;
@@ -119,6 +189,8 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         this.authorizationService = authorizationService;
         this.outboxService = outboxService;
         this.objectMapper = objectMapper;
+        this.totalCountCap = totalCountCap;
+        this.searchFieldIndexService = searchFieldIndexService;
     }
 
     @Override
@@ -166,7 +238,9 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         SearchRequestValidator.validate(advancedSearchRequest);
         return search(
             (cb, query, documentRoot) -> buildQueryWhere(documentDefinitionName, advancedSearchRequest, cb, query, documentRoot),
-            pageable
+            pageable,
+            advancedSearchRequest.getTotalCount(),
+            advancedSearchRequest.getSearchAfter()
         );
     }
 
@@ -181,28 +255,59 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     }
 
     private Page<JsonSchemaDocument> search(QueryWhereBuilder queryWhereBuilder, Pageable pageable) {
+        return search(queryWhereBuilder, pageable, TotalCountMode.EXACT, null);
+    }
+
+    private Page<JsonSchemaDocument> search(
+        QueryWhereBuilder queryWhereBuilder,
+        Pageable pageable,
+        TotalCountMode totalCountMode,
+        UUID searchAfter
+    ) {
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         final CriteriaQuery<JsonSchemaDocument> query = cb.createQuery(JsonSchemaDocument.class);
         final Root<JsonSchemaDocument> selectRoot = query.from(JsonSchemaDocument.class);
 
         query.select(selectRoot);
         queryWhereBuilder.apply(cb, query, selectRoot);
-        query.orderBy(getOrderBy(query, cb, selectRoot, pageable.getSort()));
+        if (searchAfter != null) {
+            addSearchAfterPredicate(query, cb, selectRoot, pageable.getSort(), searchAfter, queryWhereBuilder);
+            query.orderBy(getKeysetOrderBy(query, cb, selectRoot, pageable.getSort()));
+        } else {
+            query.orderBy(getOrderBy(query, cb, selectRoot, pageable.getSort()));
+        }
         final TypedQuery<JsonSchemaDocument> typedQuery = entityManager.createQuery(query);
 
+        // Without a count, or after a search on a previous page, one extra document tells whether there is a next page
+        var extraResults = totalCountMode == TotalCountMode.NONE || searchAfter != null ? 1 : 0;
         if (pageable.isPaged()) {
             typedQuery
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize());
+                .setFirstResult(searchAfter == null ? (int) pageable.getOffset() : 0)
+                .setMaxResults(pageable.getPageSize() + extraResults);
         }
 
-        List<JsonSchemaDocument> documents = typedQuery.getResultList();
-        outboxService.send(() ->
-            new DocumentsListed(
-                objectMapper.valueToTree(documents)
-            )
+        var results = typedQuery.getResultList();
+        var hasNext = pageable.isPaged() && results.size() > pageable.getPageSize();
+        final List<JsonSchemaDocument> documents = hasNext ? results.subList(0, pageable.getPageSize()) : results;
+        outboxService.send(
+            DocumentsListed.TYPE,
+            () -> new DocumentsListed(objectMapper.valueToTree(documents)),
+            () -> DocumentsListed.idsOnly(documents, objectMapper)
         );
-        return new PageImpl<>(documents, pageable, count(queryWhereBuilder));
+
+        // After a search on a previous page, the page only holds the documents from that point on
+        var resultPageable = searchAfter != null && pageable.isPaged()
+            ? PageRequest.of(0, pageable.getPageSize(), pageable.getSort())
+            : pageable;
+        long total = switch (totalCountMode) {
+            case EXACT -> count(queryWhereBuilder);
+            case CAPPED -> countCapped(queryWhereBuilder);
+            case NONE -> (resultPageable.isPaged() ? resultPageable.getOffset() : 0) + documents.size() + (hasNext ? 1 : 0);
+        };
+        if (searchAfter != null) {
+            return new SearchAfterPage<>(documents, resultPageable, total, hasNext);
+        }
+        return new PageImpl<>(documents, resultPageable, total);
     }
 
     private Long count(QueryWhereBuilder queryWhereBuilder) {
@@ -216,6 +321,110 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         return entityManager.createQuery(countQuery).getSingleResult();
     }
 
+    private long countCapped(QueryWhereBuilder queryWhereBuilder) {
+        final HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        final JpaCriteriaQuery<UUID> idQuery = cb.createQuery(UUID.class);
+        final Root<JsonSchemaDocument> idRoot = idQuery.from(JsonSchemaDocument.class);
+        idQuery.select(idRoot.get(ID).get(ID)).distinct(true);
+        queryWhereBuilder.apply(cb, idQuery, idRoot);
+        idQuery.fetch(totalCountCap + 1);
+
+        // Counted as a derived table, so the database stops after cap + 1 documents and only returns the count
+        return entityManager.createQuery(idQuery.createCountQuery()).getSingleResult();
+    }
+
+    /**
+     * Continues a search after the given document by seeking on (createdOn, id), so the database doesn't have to skip
+     * all documents of the previous pages. Only possible when the search is sorted on createdOn, or not sorted at all.
+     */
+    private void addSearchAfterPredicate(
+        CriteriaQuery<JsonSchemaDocument> query,
+        CriteriaBuilder cb,
+        Root<JsonSchemaDocument> root,
+        Sort sort,
+        UUID searchAfter,
+        QueryWhereBuilder queryWhereBuilder
+    ) {
+        if (!isKeysetSort(sort)) {
+            throw new ValidationException(
+                "Searching after a document is only supported when sorting on '" + CREATED_ON + "'"
+            );
+        }
+        var after = findSearchAfterDocument(searchAfter, queryWhereBuilder);
+
+        final Path<UUID> idPath = root.get(ID).get(ID);
+        final Path<LocalDateTime> createdOnPath = root.get(CREATED_ON);
+        Predicate seekPredicate;
+        if (sort.isUnsorted()) {
+            seekPredicate = cb.greaterThan(idPath, searchAfter);
+        } else if (sort.iterator().next().isAscending()) {
+            seekPredicate = cb.or(
+                cb.greaterThan(createdOnPath, after.createdOn()),
+                cb.and(cb.equal(createdOnPath, after.createdOn()), cb.greaterThan(idPath, searchAfter))
+            );
+        } else {
+            seekPredicate = cb.or(
+                cb.lessThan(createdOnPath, after.createdOn()),
+                cb.and(cb.equal(createdOnPath, after.createdOn()), cb.lessThan(idPath, searchAfter))
+            );
+        }
+        query.where(query.getRestriction() == null ? seekPredicate : cb.and(query.getRestriction(), seekPredicate));
+    }
+
+    /**
+     * Finds the document to search after with the same conditions, including authorization, as the search itself. A
+     * document that doesn't exist and one that isn't part of the search give the same error.
+     */
+    private JsonSchemaDocument findSearchAfterDocument(UUID searchAfter, QueryWhereBuilder queryWhereBuilder) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<JsonSchemaDocument> query = cb.createQuery(JsonSchemaDocument.class);
+        final Root<JsonSchemaDocument> root = query.from(JsonSchemaDocument.class);
+        query.select(root);
+        queryWhereBuilder.apply(cb, query, root);
+        final Predicate idPredicate = cb.equal(root.get(ID).get(ID), searchAfter);
+        query.where(query.getRestriction() == null ? idPredicate : cb.and(query.getRestriction(), idPredicate));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst()
+            .orElseThrow(() -> new ValidationException("Failed to find document with id '" + searchAfter + "' to search after"));
+    }
+
+    /**
+     * @return the order on (createdOn, id), or only id when unsorted, to continue the search after a document. This
+     * keeps documents created at the same time in the same order on every page.
+     */
+    private List<Order> getKeysetOrderBy(
+        CriteriaQuery<JsonSchemaDocument> query,
+        CriteriaBuilder cb,
+        Root<JsonSchemaDocument> root,
+        Sort sort
+    ) {
+        final Path<UUID> idPath = root.get(ID).get(ID);
+        final Path<LocalDateTime> createdOnPath = root.get(CREATED_ON);
+        List<Path<?>> paths = sort.isUnsorted() ? List.of(idPath) : List.of(createdOnPath, idPath);
+        if (!query.getGroupList().isEmpty()) {
+            ArrayList<Expression<?>> grouping = new ArrayList<>(query.getGroupList());
+            paths.stream().filter(path -> !grouping.contains(path)).forEach(grouping::add);
+            query.groupBy(grouping);
+        }
+        var ascending = sort.isUnsorted() || sort.iterator().next().isAscending();
+        return paths.stream()
+            .map(path -> ascending ? cb.asc(path) : cb.desc(path))
+            .toList();
+    }
+
+    private boolean isKeysetSort(Sort sort) {
+        var orders = sort.toList();
+        if (orders.isEmpty()) {
+            return true;
+        }
+        var property = orders.get(0).getProperty();
+        return orders.size() == 1
+            && (property.equals(CREATED_ON) || property.equals(CASE_PREFIX + CREATED_ON));
+    }
+
     private void buildQueryWhere(SearchRequest searchRequest, CriteriaBuilder cb, CriteriaQuery<?> query, Root<JsonSchemaDocument> documentRoot) {
         final List<Predicate> predicates = new ArrayList<>();
 
@@ -263,7 +472,7 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         }
 
         if (searchRequest.getOtherFilters() != null && !searchRequest.getOtherFilters().isEmpty()) {
-            predicates.add(getOtherFilersPredicate(cb, documentRoot, searchRequest));
+            predicates.add(getOtherFilersPredicate(cb, query, documentRoot, searchRequest, getIndexedPaths(documentDefinitionName)));
         }
 
         if (searchRequest.getStatusFilter() != null && !searchRequest.getStatusFilter().isEmpty()) {
@@ -349,13 +558,22 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         };
     }
 
+    private Set<String> getIndexedPaths(String documentDefinitionName) {
+        if (searchFieldIndexService == null || StringUtils.isEmpty(documentDefinitionName)) {
+            return Set.of();
+        }
+        return searchFieldIndexService.getIndexedPaths(documentDefinitionName);
+    }
+
     private Predicate getOtherFilersPredicate(
         CriteriaBuilder cb,
+        CriteriaQuery<?> query,
         Root<JsonSchemaDocument> root,
-        AdvancedSearchRequest searchRequest
+        AdvancedSearchRequest searchRequest,
+        Set<String> indexedPaths
     ) {
         var jsonPredicates = searchRequest.getOtherFilters().stream()
-            .map(currentCriteria -> buildQueryForSearchCriteria(cb, root, currentCriteria))
+            .map(currentCriteria -> buildQueryForSearchCriteria(cb, query, root, currentCriteria, indexedPaths))
             .toList()
             .toArray(Predicate[]::new);
 
@@ -390,9 +608,15 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
 
     private <T extends Comparable<? super T>> Predicate buildQueryForSearchCriteria(
         CriteriaBuilder cb,
+        CriteriaQuery<?> query,
         Root<JsonSchemaDocument> root,
-        AdvancedSearchRequest.OtherFilter searchCriteria
+        AdvancedSearchRequest.OtherFilter searchCriteria,
+        Set<String> indexedPaths
     ) {
+        if (isIndexedSearch(searchCriteria, indexedPaths)) {
+            return searchIndexedValue(cb, query, root, searchCriteria);
+        }
+
         Expression<T> value;
         if (searchCriteria.getPath().startsWith(DOC_PREFIX)) {
             value = getValueExpressionForDocPrefix(cb, root, searchCriteria);
@@ -416,12 +640,55 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         };
     }
 
+    private boolean isIndexedSearch(AdvancedSearchRequest.OtherFilter searchCriteria, Set<String> indexedPaths) {
+        var searchType = searchCriteria.getSearchType();
+        List<Object> values = searchCriteria.getValues();
+        return (searchType == DatabaseSearchType.EQUAL || searchType == DatabaseSearchType.IN)
+            && searchCriteria.getPath().startsWith(DOC_PREFIX)
+            && indexedPaths.contains(toJsonPath(searchCriteria))
+            && !values.isEmpty()
+            && values.stream().allMatch(value -> value instanceof String stringValue
+                && stringValue.length() <= SearchFieldValue.MAX_VALUE_LENGTH);
+    }
+
+    /**
+     * Same result as the EQUAL or IN search on the JSON content, but looks the value up in the search field index.
+     */
+    private Predicate searchIndexedValue(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot,
+        AdvancedSearchRequest.OtherFilter searchCriteria
+    ) {
+        List<String> values = searchCriteria.getValues();
+        var subquery = query.subquery(Integer.class);
+        var valueRoot = subquery.from(SearchFieldValue.class);
+        Predicate valuePredicate;
+        if (searchCriteria.getSearchType() == DatabaseSearchType.EQUAL) {
+            valuePredicate = valueRoot.get(VALUE_LOWER).in(
+                values.stream().map(value -> value.trim().toLowerCase()).toList()
+            );
+        } else {
+            valuePredicate = valueRoot.get(VALUE).in(values);
+        }
+        subquery.select(cb.literal(1)).where(
+            cb.equal(valueRoot.get(ID).get(DOCUMENT_ID), documentRoot.get(ID).get(ID)),
+            cb.equal(valueRoot.get(ID).get(PATH), toJsonPath(searchCriteria)),
+            valuePredicate
+        );
+        return cb.exists(subquery);
+    }
+
+    private String toJsonPath(AdvancedSearchRequest.OtherFilter searchCriteria) {
+        return "$." + searchCriteria.getPath().substring(DOC_PREFIX.length());
+    }
+
     private <T extends Comparable<? super T>> Expression<T> getValueExpressionForDocPrefix(
         CriteriaBuilder cb,
         Root<JsonSchemaDocument> documentRoot,
         AdvancedSearchRequest.OtherFilter searchCriteria
     ) {
-        var jsonPath = "$." + searchCriteria.getPath().substring(DOC_PREFIX.length());
+        var jsonPath = toJsonPath(searchCriteria);
         return queryDialectHelper.getJsonValueExpression(
             cb,
             documentRoot.get(CONTENT).get(CONTENT),
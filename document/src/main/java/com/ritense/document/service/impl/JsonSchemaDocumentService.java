@@ -153,7 +153,7 @@ public class JsonSchemaDocumentService implements DocumentService {
                 )
             );
 
-            outboxService.send(() ->
+            outboxService.send(DocumentViewed.TYPE, () ->
                 new DocumentViewed(
                     document.id().toString(),
                     objectMapper.valueToTree(document)
@@ -163,6 +163,31 @@ public class JsonSchemaDocumentService implements DocumentService {
         return optionalDocument;
     }
 
+    @Override
+    public List<JsonSchemaDocument> findAllBy(List<Document.Id> documentIds) {
+        List<JsonSchemaDocument> documents = documentRepository.findAllById(documentIds);
+
+        if (!documents.isEmpty()) {
+            authorizationService.requirePermission(
+                new EntityAuthorizationRequest<>(
+                    JsonSchemaDocument.class,
+                    VIEW,
+                    documents
+                )
+            );
+
+            documents.forEach(document ->
+                outboxService.send(DocumentViewed.TYPE, () ->
+                    new DocumentViewed(
+                        document.id().toString(),
+                        objectMapper.valueToTree(document)
+                    )
+                )
+            );
+        }
+        return documents;
+    }
+
     @Override
     public JsonSchemaDocument get(
         @LoggableResource(resourceType = JsonSchemaDocument.class) String documentId
@@ -202,10 +227,10 @@ public class JsonSchemaDocumentService implements DocumentService {
         Page<JsonSchemaDocument> documentPage = documentRepository.findAll(
             spec.and(byDocumentDefinitionIdName(definitionName)), pageable);
 
-        outboxService.send(() ->
-            new DocumentsListed(
-                objectMapper.valueToTree(documentPage.getContent())
-            )
+        outboxService.send(
+            DocumentsListed.TYPE,
+            () -> new DocumentsListed(objectMapper.valueToTree(documentPage.getContent())),
+            () -> DocumentsListed.idsOnly(documentPage.getContent(), objectMapper)
         );
 
         return documentPage;
@@ -229,10 +254,10 @@ public class JsonSchemaDocumentService implements DocumentService {
         ));
         Page<JsonSchemaDocument> documentPage = documentRepository.findAll(spec, pageable);
 
-        outboxService.send(() ->
-            new DocumentsListed(
-                objectMapper.valueToTree(documentPage.getContent())
-            )
+        outboxService.send(
+            DocumentsListed.TYPE,
+            () -> new DocumentsListed(objectMapper.valueToTree(documentPage.getContent())),
+            () -> DocumentsListed.idsOnly(documentPage.getContent(), objectMapper)
         );
 
         return documentPage;
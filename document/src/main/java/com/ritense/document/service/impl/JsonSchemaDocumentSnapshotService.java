@@ -16,35 +16,54 @@
 
 package com.ritense.document.service.impl;
 
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_COPY_OPERATION;
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_MOVE_OPERATION;
 import static com.ritense.document.repository.impl.specification.JsonSchemaDocumentSnapshotSpecificationHelper.bySearch;
 import static com.ritense.document.service.JsonSchemaDocumentSnapshotActionProvider.VIEW;
 import static com.ritense.document.service.JsonSchemaDocumentSnapshotActionProvider.VIEW_LIST;
+import static java.util.stream.Collectors.groupingBy;
 
+import com.flipkart.zjsonpatch.DiffFlags;
 import com.ritense.authorization.Action;
 import com.ritense.authorization.AuthorizationService;
 import com.ritense.authorization.request.EntityAuthorizationRequest;
 import com.ritense.document.domain.Document;
+import com.ritense.document.domain.diff.JsonDifferenceService;
 import com.ritense.document.domain.impl.JsonSchemaDocument;
 import com.ritense.document.domain.impl.JsonSchemaDocumentId;
+import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
 import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshot;
+import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshotId;
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
+import com.ritense.document.domain.snapshot.DocumentSnapshotStorageMode;
 import com.ritense.document.exception.DocumentNotFoundException;
 import com.ritense.document.repository.DocumentSnapshotRepository;
 import com.ritense.document.service.DocumentSnapshotService;
 import com.ritense.logging.LoggableResource;
 import jakarta.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotService {
 
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 20;
+    private static final EnumSet<DiffFlags> DELTA_DIFF_FLAGS = EnumSet.of(OMIT_MOVE_OPERATION, OMIT_COPY_OPERATION);
+
     private final DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository;
     private final JsonSchemaDocumentService documentService;
     private final JsonSchemaDocumentDefinitionService documentDefinitionService;
     private final AuthorizationService authorizationService;
+    private final DocumentSnapshotStorageMode storageMode;
+    private final int checkpointInterval;
 
     public JsonSchemaDocumentSnapshotService(
         DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository,
@@ -52,16 +71,40 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
         JsonSchemaDocumentDefinitionService documentDefinitionService,
         AuthorizationService authorizationService
     ) {
+        this(
+            documentSnapshotRepository,
+            documentService,
+            documentDefinitionService,
+            authorizationService,
+            DocumentSnapshotStorageMode.FULL,
+            DEFAULT_CHECKPOINT_INTERVAL
+        );
+    }
+
+    public JsonSchemaDocumentSnapshotService(
+        DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository,
+        JsonSchemaDocumentService documentService,
+        JsonSchemaDocumentDefinitionService documentDefinitionService,
+        AuthorizationService authorizationService,
+        DocumentSnapshotStorageMode storageMode,
+        int checkpointInterval
+    ) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("checkpointInterval must be at least 1");
+        }
         this.documentSnapshotRepository = documentSnapshotRepository;
         this.documentService = documentService;
         this.documentDefinitionService = documentDefinitionService;
         this.authorizationService = authorizationService;
+        this.storageMode = storageMode;
+        this.checkpointInterval = checkpointInterval;
     }
 
     @Override
     public Optional<JsonSchemaDocumentSnapshot> findById(DocumentSnapshot.Id id) {
         final var snapshot = documentSnapshotRepository.findById(id).orElse(null);
         if (snapshot != null) {
+            restoreContent(List.of(snapshot));
             authorizationService.requirePermission(
                 new EntityAuthorizationRequest<>(
                     JsonSchemaDocumentSnapshot.class,
@@ -96,10 +139,12 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
             )
         );
 
-        return documentSnapshotRepository.findAll(
+        final var page = documentSnapshotRepository.findAll(
             spec,
             pageable
         );
+        restoreContent(page.getContent());
+        return page;
     }
 
     @Transactional
@@ -113,12 +158,7 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
         var documentDefinition = documentDefinitionService.findBy(document.definitionId())
             .orElseThrow();
 
-        documentSnapshotRepository.saveAndFlush(new JsonSchemaDocumentSnapshot(
-            document,
-            createdOn,
-            createdBy,
-            documentDefinition
-        ));
+        documentSnapshotRepository.saveAndFlush(nextSnapshot(document, createdOn, createdBy, documentDefinition));
     }
 
     @Transactional
@@ -129,6 +169,87 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
         documentSnapshotRepository.deleteAllByDefinitionName(documentDefinitionName);
     }
 
+    private JsonSchemaDocumentSnapshot nextSnapshot(
+        JsonSchemaDocument document,
+        LocalDateTime createdOn,
+        String createdBy,
+        JsonSchemaDocumentDefinition documentDefinition
+    ) {
+        if (storageMode != DocumentSnapshotStorageMode.DELTA) {
+            return new JsonSchemaDocumentSnapshot(document, createdOn, createdBy, documentDefinition);
+        }
+        final var previous = documentSnapshotRepository.findNumberedSnapshotsNewestFirst(
+            document.id().getId(),
+            PageRequest.of(0, 1)
+        ).stream().findFirst().orElse(null);
+        if (previous == null) {
+            return JsonSchemaDocumentSnapshot.checkpoint(document, createdOn, createdBy, documentDefinition, 0);
+        }
+        final var chain = findChain(previous);
+        if (!chain.isEmpty() && chain.size() < checkpointInterval) {
+            final var previousContent = previous.isDelta()
+                ? JsonSchemaDocumentSnapshot.replay(chain.get(0), chain.subList(1, chain.size())).get(previous.getId())
+                : previous.document().content();
+            return JsonSchemaDocumentSnapshot.delta(
+                document,
+                createdOn,
+                createdBy,
+                documentDefinition,
+                previous,
+                JsonDifferenceService.diff(previousContent.asJson(), document.content().asJson(), DELTA_DIFF_FLAGS)
+            );
+        }
+        return JsonSchemaDocumentSnapshot.checkpoint(
+            document,
+            createdOn,
+            createdBy,
+            documentDefinition,
+            previous.snapshotNumber() + 1
+        );
+    }
+
+    /**
+     * Restores the content of the delta snapshots by replaying them from their checkpoint. Deltas that share a
+     * checkpoint are restored with a single replay.
+     */
+    private void restoreContent(Collection<JsonSchemaDocumentSnapshot> snapshots) {
+        snapshots.stream()
+            .filter(JsonSchemaDocumentSnapshot::isDelta)
+            .collect(groupingBy(JsonSchemaDocumentSnapshot::checkpointId))
+            .values()
+            .forEach(deltas -> {
+                final var newest = deltas.stream()
+                    .max(Comparator.comparing(JsonSchemaDocumentSnapshot::snapshotNumber))
+                    .orElseThrow();
+                final var chain = findChain(newest);
+                if (chain.isEmpty()) {
+                    throw new IllegalStateException("Checkpoint of delta snapshot " + newest.getId() + " no longer exists");
+                }
+                final var restored = JsonSchemaDocumentSnapshot.replay(chain.get(0), chain.subList(1, chain.size()));
+                deltas.forEach(delta -> delta.restoreContent(restored.get(delta.getId())));
+            });
+    }
+
+    /**
+     * Finds the checkpoint of the given snapshot followed by its deltas up to and including the snapshot itself.
+     * Returns an empty list when the checkpoint has been removed.
+     */
+    private List<JsonSchemaDocumentSnapshot> findChain(JsonSchemaDocumentSnapshot snapshot) {
+        if (!snapshot.isDelta()) {
+            return List.of(snapshot);
+        }
+        final var checkpoint = documentSnapshotRepository.findById(
+            JsonSchemaDocumentSnapshotId.existingId(snapshot.checkpointId())
+        );
+        if (checkpoint.isEmpty()) {
+            return List.of();
+        }
+        final var chain = new ArrayList<JsonSchemaDocumentSnapshot>();
+        chain.add(checkpoint.get());
+        chain.addAll(documentSnapshotRepository.findDeltas(snapshot.checkpointId(), snapshot.snapshotNumber()));
+        return chain;
+    }
+
     private void denyAuthorization() {
         authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
@@ -17,16 +17,20 @@
 package com.ritense.document.autoconfiguration
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.document.repository.DocumentMigrationJobRepository
 import com.ritense.document.repository.impl.JsonSchemaDocumentRepository
 import com.ritense.document.security.DocumentMigrationHttpSecurityConfigurer
+import com.ritense.document.service.DocumentMigrationJobService
 import com.ritense.document.service.DocumentMigrationService
 import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionService
 import com.ritense.document.web.rest.DocumentMigrationManagementResource
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.AutoConfiguration
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.annotation.Bean
 import org.springframework.core.annotation.Order
+import org.springframework.transaction.PlatformTransactionManager
 
 @AutoConfiguration
 class DocumentMigrationAutoConfiguration {
@@ -41,8 +45,9 @@ class DocumentMigrationAutoConfiguration {
     @ConditionalOnMissingBean(DocumentMigrationManagementResource::class)
     fun documentMigrationManagementResource(
         internalCaseService: DocumentMigrationService,
+        documentMigrationJobService: DocumentMigrationJobService,
     ): DocumentMigrationManagementResource {
-        return DocumentMigrationManagementResource(internalCaseService)
+        return DocumentMigrationManagementResource(internalCaseService, documentMigrationJobService)
     }
 
     @Bean
@@ -52,12 +57,32 @@ class DocumentMigrationAutoConfiguration {
         documentRepository: JsonSchemaDocumentRepository,
         applicationContext: ApplicationContext,
         objectMapper: ObjectMapper,
+        @Value("\${valtimo.document.migration.chunk-size:500}") chunkSize: Int,
+        @Value("\${valtimo.document.migration.preview-sample-size:100}") previewSampleSize: Int,
     ): DocumentMigrationService {
         return DocumentMigrationService(
             documentDefinitionService,
             documentRepository,
             applicationContext,
-            objectMapper
+            objectMapper,
+            chunkSize,
+            previewSampleSize,
+        )
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DocumentMigrationJobService::class)
+    fun documentMigrationJobService(
+        documentMigrationService: DocumentMigrationService,
+        documentMigrationJobRepository: DocumentMigrationJobRepository,
+        transactionManager: PlatformTransactionManager,
+        objectMapper: ObjectMapper,
+    ): DocumentMigrationJobService {
+        return DocumentMigrationJobService(
+            documentMigrationService,
+            documentMigrationJobRepository,
+            transactionManager,
+            objectMapper,
         )
     }
 
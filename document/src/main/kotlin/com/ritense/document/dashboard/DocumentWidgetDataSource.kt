@@ -19,7 +19,6 @@ package com.ritense.document.dashboard
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.ritense.document.domain.impl.JsonSchemaDocument
 import com.ritense.document.repository.impl.JsonSchemaDocumentRepository
-import com.ritense.document.repository.impl.specification.JsonSchemaDocumentSpecificationHelper.Companion.byDocumentDefinitionIdName
 import com.ritense.valtimo.contract.dashboard.WidgetDataSource
 import com.ritense.valtimo.contract.database.QueryDialectHelper
 import com.ritense.valtimo.contract.repository.ExpressionOperator
@@ -43,35 +42,38 @@ class DocumentWidgetDataSource(
 
     @WidgetDataSource("case-count", "Case count")
     fun getCaseCount(caseCountDataSourceProperties: DocumentCountDataSourceProperties): DocumentCountDataResult {
-        val byCaseSpec = byDocumentDefinitionIdName(caseCountDataSourceProperties.documentDefinition)
-        val spec = byCaseSpec.and { root, _, criteriaBuilder ->
-            criteriaBuilder.and(
-                *caseCountDataSourceProperties.queryConditions?.map {
-                    createConditionPredicate(root, it, criteriaBuilder)
-                }?.toTypedArray() ?: arrayOf()
+        val (count, total) = countInSinglePass(
+            caseCountDataSourceProperties.documentDefinition,
+            listOf(
+                { root: Root<JsonSchemaDocument>, criteriaBuilder: CriteriaBuilder ->
+                    criteriaBuilder.and(
+                        *caseCountDataSourceProperties.queryConditions?.map {
+                            createConditionPredicate(root, it, criteriaBuilder)
+                        }?.toTypedArray() ?: arrayOf()
+                    )
+                },
+                { _: Root<JsonSchemaDocument>, criteriaBuilder: CriteriaBuilder -> criteriaBuilder.conjunction() }
             )
-        }
-
-        val count = documentRepository.count(spec)
-        val total = documentRepository.count(byCaseSpec)
+        )
         return DocumentCountDataResult(count, total)
     }
 
     @WidgetDataSource("case-counts", "Case counts")
     fun getCaseCounts(caseCountsDataSourceProperties: DocumentCountsDataSourceProperties): DocumentCountsDataResult {
-        val items: List<DocumentCountsItem> = caseCountsDataSourceProperties.queryItems.map { queryItem ->
-            val spec = byDocumentDefinitionIdName(caseCountsDataSourceProperties.documentDefinition)
-                .and { root, _, criteriaBuilder ->
+        val counts = countInSinglePass(
+            caseCountsDataSourceProperties.documentDefinition,
+            caseCountsDataSourceProperties.queryItems.map { queryItem ->
+                { root: Root<JsonSchemaDocument>, criteriaBuilder: CriteriaBuilder ->
                     criteriaBuilder.and(
                         *queryItem.queryConditions.map {
                             createConditionPredicate(root, it, criteriaBuilder)
                         }.toTypedArray()
                     )
                 }
+            }
+        )
 
-            val count = documentRepository.count(spec)
-
-
+        val items: List<DocumentCountsItem> = caseCountsDataSourceProperties.queryItems.zip(counts) { queryItem, count ->
             DocumentCountsItem(queryItem.label, count)
         }
 
@@ -121,6 +123,36 @@ class DocumentWidgetDataSource(
         return DocumentGroupByDataResult(values = result)
     }
 
+    /**
+     * Counts the documents of a definition that match each of the given conditions. All counts are computed with
+     * conditional aggregation (SUM(CASE WHEN ...)), so the documents of the definition are scanned only once.
+     */
+    private fun countInSinglePass(
+        documentDefinition: String,
+        conditions: List<(Root<JsonSchemaDocument>, CriteriaBuilder) -> Predicate>
+    ): List<Long> {
+        if (conditions.isEmpty()) {
+            return emptyList()
+        }
+        val criteriaBuilder: CriteriaBuilder = entityManager.criteriaBuilder
+        val query = criteriaBuilder.createTupleQuery()
+        val root: Root<JsonSchemaDocument> = query.from(JsonSchemaDocument::class.java)
+        val counts = conditions.map { condition ->
+            criteriaBuilder.sum(
+                criteriaBuilder.selectCase<Long>()
+                    .`when`(condition(root, criteriaBuilder), 1L)
+                    .otherwise(0L)
+            )
+        }
+
+        query
+            .multiselect(counts)
+            .where(criteriaBuilder.equal(root.get<Any>("documentDefinitionId").get<String>("name"), documentDefinition))
+
+        val result = entityManager.createQuery(query).singleResult
+        return counts.indices.map { (result.get(it) as Number?)?.toLong() ?: 0L }
+    }
+
     private fun <T> getPathExpression(valueClass: Class<T>, path: String, root: Root<JsonSchemaDocument>, criteriaBuilder: CriteriaBuilder): Expression<T> {
         // Prefix defaults to doc: when no prefix is given
         val pathPrefix = "${path.substringBefore(":", "doc")}:"
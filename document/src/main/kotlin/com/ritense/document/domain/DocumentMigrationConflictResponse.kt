@@ -23,14 +23,16 @@ data class DocumentMigrationConflictResponse(
     val documentDefinitionVersionTarget: Long,
     val conflicts: List<DocumentMigrationConflict> = emptyList(),
     val errors: List<String> = emptyList(),
-    val documentCount: Int? = null
+    val documentCount: Int? = null,
+    val sampleSize: Int? = null,
 ) {
     companion object {
         fun of(
             migrationRequest: DocumentMigrationRequest,
             conflicts: List<DocumentMigrationConflict> = emptyList(),
             errors: List<String> = emptyList(),
-            documentCount: Int? = null
+            documentCount: Int? = null,
+            sampleSize: Int? = null,
         ): DocumentMigrationConflictResponse {
 
             val combinedConflicts = migrationRequest.getConflicts().toMutableList()
@@ -45,6 +47,7 @@ data class DocumentMigrationConflictResponse(
                 conflicts = combinedConflicts,
                 errors = errors,
                 documentCount = documentCount,
+                sampleSize = sampleSize,
             )
         }
     }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain
+
+import io.hypersistence.utils.hibernate.type.json.JsonType
+import jakarta.persistence.Column
+import jakarta.persistence.Entity
+import jakarta.persistence.EnumType
+import jakarta.persistence.Enumerated
+import jakarta.persistence.Id
+import jakarta.persistence.Table
+import jakarta.persistence.Version
+import org.hibernate.annotations.Type
+import java.time.LocalDateTime
+import java.util.UUID
+
+/**
+ * Progress of a document migration that runs in the background. Every chunk of migrated documents is committed
+ * together with the id of the last document in it, so the migration can continue from there after a restart.
+ */
+@Entity
+@Table(name = "document_migration_job")
+class DocumentMigrationJob(
+    @Id
+    @Column(name = "id")
+    val id: UUID = UUID.randomUUID(),
+
+    @Type(value = JsonType::class)
+    @Column(name = "migration_request", columnDefinition = "json", nullable = false, updatable = false)
+    val migrationRequest: String,
+
+    @Column(name = "document_count", nullable = false, updatable = false)
+    val documentCount: Long,
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    var status: DocumentMigrationJobStatus = DocumentMigrationJobStatus.RUNNING,
+
+    @Column(name = "migrated_count", nullable = false)
+    var migratedCount: Long = 0,
+
+    @Column(name = "last_document_id")
+    var lastDocumentId: UUID? = null,
+
+    @Column(name = "error")
+    var error: String? = null,
+
+    @Column(name = "created_on", nullable = false, updatable = false)
+    val createdOn: LocalDateTime = LocalDateTime.now(),
+
+    @Column(name = "modified_on", nullable = false)
+    var modifiedOn: LocalDateTime = LocalDateTime.now(),
+
+    @Version
+    @Column(name = "version", nullable = false)
+    var version: Long = 0,
+) {
+    fun chunkMigrated(lastDocumentId: UUID?, documentCount: Int, last: Boolean) {
+        this.lastDocumentId = lastDocumentId
+        this.migratedCount += documentCount
+        if (last) {
+            this.status = DocumentMigrationJobStatus.COMPLETED
+        }
+        this.modifiedOn = LocalDateTime.now()
+    }
+
+    fun failed(error: String?) {
+        this.status = DocumentMigrationJobStatus.FAILED
+        this.error = error?.take(MAX_ERROR_LENGTH)
+        this.modifiedOn = LocalDateTime.now()
+    }
+
+    companion object {
+        private const val MAX_ERROR_LENGTH = 4000
+    }
+}
@@ -20,8 +20,12 @@ import com.fasterxml.jackson.databind.node.ObjectNode
 import com.ritense.outbox.domain.BaseEvent
 
 class DocumentViewed(documentId: String, documentContent: ObjectNode) : BaseEvent(
-    type = "com.ritense.valtimo.document.viewed",
+    type = TYPE,
     resultType = "com.ritense.document.domain.impl.JsonSchemaDocument",
     resultId = documentId,
     result = documentContent
-)
\ No newline at end of file
+) {
+    companion object {
+        const val TYPE = "com.ritense.valtimo.document.viewed"
+    }
+}
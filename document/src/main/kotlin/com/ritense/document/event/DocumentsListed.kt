@@ -16,12 +16,31 @@
 
 package com.ritense.document.event
 
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.node.ArrayNode
+import com.ritense.document.domain.Document
 import com.ritense.outbox.domain.BaseEvent
 
 class DocumentsListed(documents: ArrayNode) : BaseEvent(
-    type = "com.ritense.valtimo.document.listed",
+    type = TYPE,
     resultType = "List<com.ritense.document.domain.impl.JsonSchemaDocument>",
     resultId = null,
     result = documents
-)
+) {
+    companion object {
+        const val TYPE = "com.ritense.valtimo.document.listed"
+
+        /**
+         * Creates the event with only the id of each document, without serializing the documents themselves.
+         */
+        @JvmStatic
+        fun idsOnly(documents: Collection<Document>, objectMapper: ObjectMapper): DocumentsListed {
+            val ids = objectMapper.createArrayNode()
+            documents.forEach { document ->
+                ids.addObject().set<JsonNode>("id", objectMapper.valueToTree(document.id()))
+            }
+            return DocumentsListed(ids)
+        }
+    }
+}
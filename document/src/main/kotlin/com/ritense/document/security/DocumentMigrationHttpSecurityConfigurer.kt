@@ -18,6 +18,7 @@ package com.ritense.document.security
 
 import com.ritense.valtimo.contract.authentication.AuthoritiesConstants.ADMIN
 import com.ritense.valtimo.contract.security.config.AuthorizeRequestsHttpSecurityConfigurer
+import org.springframework.http.HttpMethod.GET
 import org.springframework.http.HttpMethod.POST
 import org.springframework.security.config.annotation.web.builders.HttpSecurity
 import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer
@@ -28,5 +29,7 @@ class DocumentMigrationHttpSecurityConfigurer : AuthorizeRequestsHttpSecurityCon
         requests
             .antMatcher(POST, "/api/management/v1/document-definition/migration/conflicts").hasAuthority(ADMIN)
             .antMatcher(POST, "/api/management/v1/document-definition/migrate").hasAuthority(ADMIN)
+            .antMatcher(POST, "/api/management/v1/document-definition/migration/job").hasAuthority(ADMIN)
+            .antMatcher(GET, "/api/management/v1/document-definition/migration/job/{jobId}").hasAuthority(ADMIN)
     }
 }
\ No newline at end of file
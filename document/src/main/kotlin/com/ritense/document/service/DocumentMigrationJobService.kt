@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.module.kotlin.readValue
+import com.ritense.authorization.AuthorizationContext.Companion.runWithoutAuthorization
+import com.ritense.document.domain.DocumentMigrationJob
+import com.ritense.document.domain.DocumentMigrationJobStatus
+import com.ritense.document.domain.DocumentMigrationRequest
+import com.ritense.document.repository.DocumentMigrationJobRepository
+import mu.KotlinLogging
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.dao.OptimisticLockingFailureException
+import org.springframework.data.repository.findByIdOrNull
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.util.UUID
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Runs document migrations as jobs. A job migrates the documents chunk by chunk and commits every chunk together with
+ * its progress. Jobs that were still running when the application stopped are continued when it starts again.
+ */
+class DocumentMigrationJobService(
+    private val documentMigrationService: DocumentMigrationService,
+    private val documentMigrationJobRepository: DocumentMigrationJobRepository,
+    private val transactionManager: PlatformTransactionManager,
+    private val objectMapper: ObjectMapper,
+) : DisposableBean {
+
+    private val executor: ExecutorService = Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "document-migration-job").apply { isDaemon = true }
+    }
+
+    /**
+     * Starts migrating the documents in the background.
+     */
+    fun startMigration(migrationRequest: DocumentMigrationRequest): DocumentMigrationJob {
+        val job = createJob(migrationRequest)
+        executor.execute { runJob(job.id) }
+        return job
+    }
+
+    /**
+     * Migrates the documents on the current thread and returns when the job is finished.
+     */
+    fun migrate(migrationRequest: DocumentMigrationRequest): DocumentMigrationJob {
+        val job = createJob(migrationRequest)
+        runJob(job.id)
+        return getJob(job.id)!!
+    }
+
+    fun getJob(jobId: UUID): DocumentMigrationJob? {
+        return documentMigrationJobRepository.findByIdOrNull(jobId)
+    }
+
+    @EventListener(ApplicationReadyEvent::class)
+    fun resumeRunningJobs() {
+        documentMigrationJobRepository.findAllByStatus(DocumentMigrationJobStatus.RUNNING).forEach { job ->
+            logger.info { "Resuming document migration job '${job.id}' after ${job.migratedCount} of ${job.documentCount} documents" }
+            executor.execute { runJob(job.id) }
+        }
+    }
+
+    override fun destroy() {
+        executor.shutdownNow()
+    }
+
+    private fun createJob(migrationRequest: DocumentMigrationRequest): DocumentMigrationJob {
+        return TransactionTemplate(transactionManager).execute {
+            documentMigrationJobRepository.save(
+                DocumentMigrationJob(
+                    migrationRequest = objectMapper.writeValueAsString(migrationRequest),
+                    documentCount = documentMigrationService.countSourceDocuments(migrationRequest),
+                )
+            )
+        }!!
+    }
+
+    internal fun runJob(jobId: UUID) {
+        val transactionTemplate = TransactionTemplate(transactionManager)
+        try {
+            runWithoutAuthorization {
+                var finished = false
+                while (!finished && !Thread.currentThread().isInterrupted) {
+                    finished = transactionTemplate.execute { migrateNextChunk(jobId) }!!
+                }
+            }
+        } catch (e: OptimisticLockingFailureException) {
+            // Another node resumed the same job at the same time
+            logger.info { "Document migration job '$jobId' is continued by another instance" }
+        } catch (e: Exception) {
+            logger.error(e) { "Document migration job '$jobId' failed" }
+            transactionTemplate.executeWithoutResult {
+                documentMigrationJobRepository.findByIdOrNull(jobId)?.let { job ->
+                    job.failed(e.message)
+                    documentMigrationJobRepository.save(job)
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true when the job doesn't have to continue
+     */
+    private fun migrateNextChunk(jobId: UUID): Boolean {
+        val job = documentMigrationJobRepository.findByIdOrNull(jobId) ?: return true
+        if (job.status != DocumentMigrationJobStatus.RUNNING) {
+            return true
+        }
+        val migrationRequest = objectMapper.readValue<DocumentMigrationRequest>(job.migrationRequest)
+        val chunk = documentMigrationService.migrateChunk(migrationRequest, job.lastDocumentId)
+        job.chunkMigrated(chunk.lastDocumentId, chunk.documentCount, chunk.last)
+        documentMigrationJobRepository.saveAndFlush(job)
+        logger.debug { "Document migration job '$jobId' migrated ${job.migratedCount} of ${job.documentCount} documents" }
+        return chunk.last
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+    }
+}
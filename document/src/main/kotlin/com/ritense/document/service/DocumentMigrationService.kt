@@ -20,6 +20,8 @@ import com.fasterxml.jackson.core.JsonPointer
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.node.MissingNode
+import com.ritense.authorization.AuthorizationContext
+import com.ritense.authorization.AuthorizationContext.Companion.runWithoutAuthorization
 import com.ritense.document.domain.DocumentMigrationConflict
 import com.ritense.document.domain.DocumentMigrationConflictResponse
 import com.ritense.document.domain.DocumentMigrationPatch
@@ -30,6 +32,7 @@ import com.ritense.document.domain.getTypeReference
 import com.ritense.document.domain.impl.JsonDocumentContent
 import com.ritense.document.domain.impl.JsonSchemaDocument
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition
+import com.ritense.document.domain.impl.JsonSchemaDocumentId
 import com.ritense.document.domain.patch.JsonPatchFilterFlag
 import com.ritense.document.domain.patch.JsonPatchService
 import com.ritense.document.exception.DocumentMigrationPatchException
@@ -41,15 +44,28 @@ import com.ritense.valtimo.contract.annotation.PublicBean
 import com.ritense.valtimo.contract.annotation.SkipComponentScan
 import com.ritense.valtimo.contract.json.patch.JsonPatchBuilder
 import org.everit.json.schema.Schema
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.expression.MapAccessor
+import org.springframework.data.domain.PageRequest
 import org.springframework.expression.common.TemplateParserContext
 import org.springframework.expression.spel.standard.SpelExpressionParser
 import org.springframework.expression.spel.support.StandardEvaluationContext
 import org.springframework.integration.json.JsonPropertyAccessor
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
+import java.util.UUID
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 
+/**
+ * Migrates documents from one document definition to another. Documents are processed in chunks, ordered by id, so
+ * only one chunk is held in memory at a time. The patches of a chunk are applied in parallel. Use the
+ * [DocumentMigrationJobService] to migrate large document definitions: it commits every chunk and can resume.
+ */
 @Transactional
 @Service
 @SkipComponentScan
@@ -58,7 +74,24 @@ class DocumentMigrationService(
     private val documentRepository: JsonSchemaDocumentRepository,
     private val applicationContext: ApplicationContext,
     private val objectMapper: ObjectMapper,
-) {
+    private val chunkSize: Int = DEFAULT_CHUNK_SIZE,
+    private val previewSampleSize: Int = DEFAULT_PREVIEW_SAMPLE_SIZE,
+    parallelism: Int = Runtime.getRuntime().availableProcessors(),
+) : DisposableBean {
+
+    private val publicBeans: Map<String, Any> by lazy {
+        applicationContext.getBeansWithAnnotation(PublicBean::class.java)
+    }
+
+    private val patchExecutor: ExecutorService = AtomicInteger().let { threadNumber ->
+        Executors.newFixedThreadPool(parallelism) { runnable ->
+            Thread(runnable, "document-migration-${threadNumber.incrementAndGet()}").apply { isDaemon = true }
+        }
+    }
+
+    /**
+     * Previews the migration on a sample of the documents of the source definition, instead of on all of them.
+     */
     fun getConflicts(migrationRequest: DocumentMigrationRequest): DocumentMigrationConflictResponse {
         val sourceId = migrationRequest.getDocumentDefinitionIdSource()
         return withLoggingContext(JsonSchemaDocumentDefinition::class.java, sourceId.toString()) {
@@ -68,7 +101,8 @@ class DocumentMigrationService(
             val targetSchema = targetDefinition.schema.schema
 
             val modifiedContent = try {
-                getModifiedContent(migrationRequest).map { (_, modifiedContent) -> modifiedContent }
+                val sampleDocuments = findSourceDocuments(migrationRequest, null, previewSampleSize)
+                patchContent(migrationRequest, targetSchema, sampleDocuments.map { it.content() })
             } catch (e: DocumentMigrationPatchException) {
                 return@withLoggingContext DocumentMigrationConflictResponse.of(
                     migrationRequest = migrationRequest,
@@ -99,44 +133,105 @@ class DocumentMigrationService(
                 }
             }
 
-            val errors = modifiedContent.flatMap { content ->
+            val errors = mapInParallel(modifiedContent) { content ->
                 targetDefinition.validate(content).validationErrors().map { error -> error.toString() }
-            }.distinct()
+            }.flatten().distinct()
 
             return@withLoggingContext DocumentMigrationConflictResponse.of(
                 migrationRequest = migrationRequest,
                 conflicts = conflicts,
                 errors = errors,
-                documentCount = modifiedContent.size,
+                documentCount = countSourceDocuments(migrationRequest).toInt(),
+                sampleSize = modifiedContent.size,
             )
         }
     }
 
+    /**
+     * Migrates all documents in the current transaction. Changes are only committed when all documents are migrated.
+     */
     fun migrateDocuments(migrationRequest: DocumentMigrationRequest) {
+        var afterDocumentId: UUID? = null
+        do {
+            val chunk = migrateChunk(migrationRequest, afterDocumentId)
+            afterDocumentId = chunk.lastDocumentId
+        } while (!chunk.last)
+    }
+
+    /**
+     * Migrates the next chunk of documents of the source definition, the ones with an id after [afterDocumentId].
+     */
+    fun migrateChunk(migrationRequest: DocumentMigrationRequest, afterDocumentId: UUID?): DocumentMigrationChunk {
         return withLoggingContext(JsonSchemaDocumentDefinition::class.java, migrationRequest.getDocumentDefinitionIdSource().toString()) {
             val targetId = migrationRequest.getDocumentDefinitionIdTarget()
             val targetDefinition = documentDefinitionService.findBy(targetId).orElseThrow()
 
-            getModifiedContent(migrationRequest).forEach { (sourceDocument, modifiedContent) ->
+            val sourceDocuments = findSourceDocuments(migrationRequest, afterDocumentId, chunkSize)
+            val modifiedContent = patchContent(
+                migrationRequest,
+                targetDefinition.schema.schema,
+                sourceDocuments.map { it.content() }
+            )
+            sourceDocuments.zip(modifiedContent).forEach { (sourceDocument, modifiedContent) ->
                 val result = sourceDocument.applyModifiedContent(modifiedContent, targetDefinition)
                 check(result.errors().isEmpty()) { result.errors().joinToString { it.toString() } }
                 val targetDocument = result.resultingDocument().orElseThrow()
                 targetDocument.setDefinitionId(targetId)
                 documentRepository.save(targetDocument)
             }
+            DocumentMigrationChunk(
+                lastDocumentId = sourceDocuments.lastOrNull()?.id()?.id ?: afterDocumentId,
+                documentCount = sourceDocuments.size,
+                last = sourceDocuments.size < chunkSize,
+            )
         }
     }
 
+    fun countSourceDocuments(migrationRequest: DocumentMigrationRequest): Long {
+        return documentRepository.count(byDocumentDefinitionId(migrationRequest.getDocumentDefinitionIdSource()))
+    }
+
+    @Deprecated("Loads all documents of the source definition at once. Use migrateChunk instead")
     fun getModifiedContent(migrationRequest: DocumentMigrationRequest): List<Pair<JsonSchemaDocument, JsonDocumentContent>> {
         val sourceId = migrationRequest.getDocumentDefinitionIdSource()
         val targetId = migrationRequest.getDocumentDefinitionIdTarget()
-        val targetDefinition = documentDefinitionService.findBy(targetId).orElseThrow()
-        val targetSchema = targetDefinition.schema.schema
+        val targetSchema = documentDefinitionService.findBy(targetId).orElseThrow().schema.schema
         val sourceDocuments = documentRepository.findAll(byDocumentDefinitionId(sourceId))
+        return sourceDocuments.zip(patchContent(migrationRequest, targetSchema, sourceDocuments.map { it.content() }))
+    }
 
-        return sourceDocuments.map { sourceDocument ->
+    override fun destroy() {
+        patchExecutor.shutdownNow()
+    }
+
+    private fun findSourceDocuments(
+        migrationRequest: DocumentMigrationRequest,
+        afterDocumentId: UUID?,
+        limit: Int
+    ): List<JsonSchemaDocument> {
+        val sourceId = migrationRequest.getDocumentDefinitionIdSource()
+        val ids = documentRepository.findIdsByDocumentDefinitionIdAfter(
+            sourceId.name(),
+            sourceId.version(),
+            afterDocumentId ?: FIRST_DOCUMENT_ID,
+            PageRequest.ofSize(limit)
+        )
+        if (ids.isEmpty()) {
+            return emptyList()
+        }
+        val documentsById = documentRepository.findAllById(ids.map { JsonSchemaDocumentId.existingId(it) })
+            .associateBy { it.id().id }
+        return ids.mapNotNull { documentsById[it] }
+    }
+
+    private fun patchContent(
+        migrationRequest: DocumentMigrationRequest,
+        targetSchema: Schema,
+        sourceContent: List<JsonDocumentContent>
+    ): List<JsonDocumentContent> {
+        return mapInParallel(sourceContent) { content ->
             val targetJsonBuilder = JsonPatchBuilder()
-            val targetJson = sourceDocument.content().asJson()
+            val targetJson = content.asJson()
             migrationRequest.patches.forEach { patch ->
                 JsonPatchService.apply(
                     targetJsonBuilder.build(),
@@ -144,16 +239,33 @@ class DocumentMigrationService(
                     JsonPatchFilterFlag.allowRemovalOperations()
                 )
                 applyPatch(
-                    sourceJson = sourceDocument.content().asJson(),
+                    sourceJson = content.asJson(),
                     targetJson = targetJson,
                     targetJsonBuilder = targetJsonBuilder,
                     targetSchema = targetSchema,
                     patch = patch,
                 )
             }
+            JsonDocumentContent.build(targetJson, targetJson, targetJsonBuilder.build())
+        }
+    }
 
-            val modifiedContent = JsonDocumentContent.build(targetJson, targetJson, targetJsonBuilder.build())
-            Pair(sourceDocument, modifiedContent)
+    private fun <T, R> mapInParallel(items: List<T>, transform: (T) -> R): List<R> {
+        if (items.size <= 1) {
+            return items.map(transform)
+        }
+        val ignoreAuthorization = AuthorizationContext.ignoreAuthorization
+        val futures = items.map { item ->
+            patchExecutor.submit(Callable {
+                if (ignoreAuthorization) runWithoutAuthorization { transform(item) } else transform(item)
+            })
+        }
+        return futures.map { future ->
+            try {
+                future.get()
+            } catch (e: ExecutionException) {
+                throw e.cause ?: e
+            }
         }
     }
 
@@ -213,7 +325,7 @@ class DocumentMigrationService(
         patch: DocumentMigrationPatch,
         sourceValue: SourceValue? = null
     ): MutableMap<String, Any?> {
-        val contextMap: MutableMap<String, Any?> = applicationContext.getBeansWithAnnotation(PublicBean::class.java)
+        val contextMap: MutableMap<String, Any?> = HashMap<String, Any?>(publicBeans)
         contextMap["source"] = source
         contextMap["target"] = target
         contextMap["builder"] = builder
@@ -248,6 +360,12 @@ class DocumentMigrationService(
         }
     }
 
+    data class DocumentMigrationChunk(
+        val lastDocumentId: UUID?,
+        val documentCount: Int,
+        val last: Boolean,
+    )
+
     data class SourceValue(
         val value: Any? = null,
         val specialTypeConversion: Boolean = false // when true, will convert String '[5]' to an array. Not a String.
@@ -267,4 +385,10 @@ class DocumentMigrationService(
             }
         }
     }
+
+    companion object {
+        const val DEFAULT_CHUNK_SIZE = 500
+        const val DEFAULT_PREVIEW_SAMPLE_SIZE = 100
+        private val FIRST_DOCUMENT_ID = UUID(0, 0)
+    }
 }
@@ -18,21 +18,27 @@ package com.ritense.document.web.rest
 
 import com.ritense.authorization.annotation.RunWithoutAuthorization
 import com.ritense.document.domain.DocumentMigrationConflictResponse
+import com.ritense.document.domain.DocumentMigrationJobResponse
 import com.ritense.document.domain.DocumentMigrationRequest
+import com.ritense.document.service.DocumentMigrationJobService
 import com.ritense.document.service.DocumentMigrationService
 import com.ritense.valtimo.contract.annotation.SkipComponentScan
 import com.ritense.valtimo.contract.domain.ValtimoMediaType
 import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.GetMapping
+import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.PostMapping
 import org.springframework.web.bind.annotation.RequestBody
 import org.springframework.web.bind.annotation.RequestMapping
 import org.springframework.web.bind.annotation.RestController
+import java.util.UUID
 
 @RestController
 @SkipComponentScan
 @RequestMapping("/api/management", produces = [ValtimoMediaType.APPLICATION_JSON_UTF8_VALUE])
 class DocumentMigrationManagementResource(
     private val documentMigrationService: DocumentMigrationService,
+    private val documentMigrationJobService: DocumentMigrationJobService,
 ) {
 
     @RunWithoutAuthorization
@@ -53,4 +59,22 @@ class DocumentMigrationManagementResource(
         return ResponseEntity.ok().build()
     }
 
+    @RunWithoutAuthorization
+    @PostMapping("/v1/document-definition/migration/job")
+    fun startMigrationJob(
+        @RequestBody documentMigrationRequest: DocumentMigrationRequest,
+    ): ResponseEntity<DocumentMigrationJobResponse> {
+        val job = documentMigrationJobService.startMigration(documentMigrationRequest)
+        return ResponseEntity.ok(DocumentMigrationJobResponse.of(job))
+    }
+
+    @RunWithoutAuthorization
+    @GetMapping("/v1/document-definition/migration/job/{jobId}")
+    fun getMigrationJob(
+        @PathVariable jobId: UUID,
+    ): ResponseEntity<DocumentMigrationJobResponse> {
+        val job = documentMigrationJobService.getJob(jobId) ?: return ResponseEntity.notFound().build()
+        return ResponseEntity.ok(DocumentMigrationJobResponse.of(job))
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.document.TestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JsonSchemaCacheTest extends TestHelper {
+
+    @BeforeEach
+    void setUp() {
+        JsonSchemaCache.invalidateAll();
+    }
+
+    @Test
+    void shouldReuseCompiledSchemaForSameDefinitionId() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("person", 1);
+        final var first = JsonSchema.fromResourceUri(path(id.name()));
+        final var second = JsonSchema.fromResourceUri(path(id.name()));
+
+        final var compiledFirst = JsonSchemaCache.get(id, first);
+        final var compiledSecond = JsonSchemaCache.get(id, second);
+
+        assertThat(compiledSecond).isSameAs(compiledFirst);
+        assertThat(JsonSchemaCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecompileWhenSchemaForDefinitionIdChanged() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("person", 1);
+        final var person = JsonSchema.fromResourceUri(path("person"));
+        final var house = JsonSchema.fromResourceUri(path("house"));
+
+        final var compiledPerson = JsonSchemaCache.get(id, person);
+        final var compiledHouse = JsonSchemaCache.get(id, house);
+
+        assertThat(compiledHouse).isNotSameAs(compiledPerson);
+        assertThat(compiledHouse.getId()).isEqualTo("house.schema");
+    }
+
+    @Test
+    void shouldInvalidateAllVersionsOfDefinition() {
+        final var schema = JsonSchema.fromResourceUri(path("person"));
+        JsonSchemaCache.get(JsonSchemaDocumentDefinitionId.existingId("person", 1), schema);
+        JsonSchemaCache.get(JsonSchemaDocumentDefinitionId.existingId("person", 2), schema);
+        JsonSchemaCache.get(JsonSchemaDocumentDefinitionId.existingId("house", 1), JsonSchema.fromResourceUri(path("house")));
+
+        JsonSchemaCache.invalidateAll("person");
+
+        assertThat(JsonSchemaCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldValidateDocumentWithCachedSchema() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("person", 1);
+        final var definition = new JsonSchemaDocumentDefinition(id, JsonSchema.fromResourceUri(path(id.name())));
+
+        final var result = definition.validate(new JsonDocumentContent("{\"firstName\": \"Jan\"}"));
+
+        assertThat(result.passedValidation()).isTrue();
+        assertThat(JsonSchemaCache.size()).isEqualTo(1);
+    }
+
+}
@@ -35,6 +35,7 @@ import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritense.authorization.AuthorizationService;
 import com.ritense.document.BaseIntegrationTest;
 import com.ritense.document.domain.Document;
 import com.ritense.document.domain.impl.JsonDocumentContent;
@@ -45,11 +46,14 @@ import com.ritense.document.domain.search.AdvancedSearchRequest;
 import com.ritense.document.domain.search.AssigneeFilter;
 import com.ritense.document.domain.search.SearchOperator;
 import com.ritense.document.domain.search.SearchWithConfigRequest;
+import com.ritense.document.domain.search.TotalCountMode;
 import com.ritense.document.event.DocumentsListed;
 import com.ritense.document.service.result.CreateDocumentResult;
 import com.ritense.outbox.domain.BaseEvent;
 import com.ritense.valtimo.contract.authentication.model.ValtimoUserBuilder;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
 import com.ritense.valtimo.contract.utils.RequestHelper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ValidationException;
 import java.time.LocalDate;
@@ -57,6 +61,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -85,6 +90,15 @@ class JsonSchemaDocumentSearchServiceIntTest extends BaseIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryDialectHelper queryDialectHelper;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
     private JsonSchemaDocumentDefinition definition;
     private CreateDocumentResult originalDocument;
 
@@ -882,6 +896,189 @@ class JsonSchemaDocumentSearchServiceIntTest extends BaseIntegrationTest {
         assertEquals(document1.sequence(), content.get(2).sequence());
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldSearchAfterDocumentWhenSortingOnCreatedOn() {
+        documentRepository.deleteAllInBatch();
+
+        var document1 = createDocument("{}").resultingDocument().orElseThrow();
+        var document2 = createDocument("{}").resultingDocument().orElseThrow();
+        var document3 = createDocument("{}").resultingDocument().orElseThrow();
+        var pageable = PageRequest.of(0, 2, Sort.by(Direction.ASC, "createdOn"));
+
+        var firstPage = documentSearchService.search(definition.id().name(), new AdvancedSearchRequest(), pageable);
+        var secondPage = documentSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().searchAfter(firstPage.getContent().get(1).id().getId()),
+            pageable
+        );
+
+        var documentIds = Stream.concat(firstPage.getContent().stream(), secondPage.getContent().stream())
+            .map(Document::id)
+            .toList();
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(documentIds).containsExactlyInAnyOrder(document1.id(), document2.id(), document3.id());
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldFailToSearchAfterDocumentWhenSortingOnContent() {
+        var document = createDocument("{}").resultingDocument().orElseThrow();
+        var searchRequest = new AdvancedSearchRequest().searchAfter(document.id().getId());
+        var pageable = PageRequest.of(0, 2, Sort.by(Direction.ASC, "doc:street"));
+
+        assertThrows(ValidationException.class, () ->
+            documentSearchService.search(definition.id().name(), searchRequest, pageable)
+        );
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldReportLastPageWhenSearchingAfterDocument() {
+        documentRepository.deleteAllInBatch();
+
+        createDocument("{}");
+        createDocument("{}");
+        createDocument("{}");
+        var pageable = PageRequest.of(0, 2, Sort.by(Direction.ASC, "createdOn"));
+
+        var firstPage = documentSearchService.search(definition.id().name(), new AdvancedSearchRequest(), pageable);
+        var lastPage = documentSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().searchAfter(firstPage.getContent().get(1).id().getId()),
+            pageable
+        );
+
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(lastPage.getContent()).hasSize(1);
+        assertThat(lastPage.getTotalElements()).isEqualTo(3);
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.isLast()).isTrue();
+        assertThat(lastPage.map(Document::id).isLast()).isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldReportNextPageWhenSearchingAfterDocument() {
+        documentRepository.deleteAllInBatch();
+
+        var document = createDocument("{}").resultingDocument().orElseThrow();
+        createDocument("{}");
+        createDocument("{}");
+        createDocument("{}");
+        var pageable = PageRequest.of(0, 2, Sort.by(Direction.ASC, "createdOn"));
+
+        var page = documentSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().searchAfter(document.id().getId()),
+            pageable
+        );
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.isLast()).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldFailToSearchAfterDocumentThatIsNotPartOfTheSearch() {
+        var kalverstraat = createDocument("{\"street\": \"Kalverstraat\"}").resultingDocument().orElseThrow();
+        var searchRequest = new AdvancedSearchRequest()
+            .addOtherFilters(new AdvancedSearchRequest.OtherFilter()
+                .addValue("Funenpark")
+                .searchType(EQUAL)
+                .path("doc:street"));
+        var pageable = PageRequest.of(0, 2, Sort.by(Direction.ASC, "createdOn"));
+
+        var notPartOfSearch = assertThrows(ValidationException.class, () ->
+            documentSearchService.search(
+                definition.id().name(),
+                searchRequest.searchAfter(kalverstraat.id().getId()),
+                pageable
+            )
+        );
+        var missing = assertThrows(ValidationException.class, () ->
+            documentSearchService.search(
+                definition.id().name(),
+                new AdvancedSearchRequest().searchAfter(UUID.randomUUID()),
+                pageable
+            )
+        );
+
+        assertThat(notPartOfSearch.getMessage()).startsWith("Failed to find document with id");
+        assertThat(missing.getMessage()).startsWith("Failed to find document with id");
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldOnlyCountUpToNextPageWithoutTotalCount() {
+        documentRepository.deleteAllInBatch();
+
+        createDocument("{}");
+        createDocument("{}");
+        createDocument("{}");
+
+        var result = documentSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().totalCount(TotalCountMode.NONE),
+            PageRequest.of(0, 2, Sort.by(Direction.DESC, "createdOn"))
+        );
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldCountAllDocumentsBelowTotalCountCap() {
+        documentRepository.deleteAllInBatch();
+
+        createDocument("{}");
+        createDocument("{}");
+        createDocument("{}");
+
+        var result = documentSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().totalCount(TotalCountMode.CAPPED),
+            PageRequest.of(0, 1)
+        );
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldStopCountingAboveTotalCountCap() {
+        documentRepository.deleteAllInBatch();
+
+        createDocument("{}");
+        createDocument("{}");
+        createDocument("{}");
+        createDocument("{}");
+        var cappedSearchService = new JsonSchemaDocumentSearchService(
+            entityManager,
+            queryDialectHelper,
+            searchFieldService,
+            userManagementService,
+            authorizationService,
+            outboxService,
+            objectMapper,
+            2
+        );
+
+        var result = cappedSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().totalCount(TotalCountMode.CAPPED),
+            PageRequest.of(0, 1)
+        );
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
     @Test
     @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
     void shouldSearchForCreatedOnCasePropertyWithLocalDateClass() {
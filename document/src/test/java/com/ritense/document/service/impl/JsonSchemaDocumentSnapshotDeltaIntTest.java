@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.authorization.AuthorizationContext.runWithoutAuthorization;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.document.BaseIntegrationTest;
+import com.ritense.document.domain.impl.JsonDocumentContent;
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.domain.impl.request.ModifyDocumentRequest;
+import com.ritense.document.domain.impl.request.NewDocumentRequest;
+import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshot;
+import com.ritense.document.repository.DocumentSnapshotRepository;
+import com.ritense.document.service.DocumentDefinitionService;
+import com.ritense.document.service.DocumentSnapshotService;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
+
+@Tag("integration")
+@SpringBootTest(properties = {
+    "valtimo.versioning.enabled=true",
+    "valtimo.versioning.snapshot-storage-mode=DELTA",
+    "valtimo.versioning.checkpoint-interval=3"
+})
+public class JsonSchemaDocumentSnapshotDeltaIntTest extends BaseIntegrationTest {
+
+    private JsonSchemaDocumentDefinition definition;
+    @Inject
+    private DocumentDefinitionService documentDefinitionService;
+    @Inject
+    private DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository;
+    @Inject
+    private DocumentSnapshotService documentSnapshotService;
+
+    @BeforeEach
+    public void beforeEach() {
+        definition = definition();
+        documentDefinitionService.store(definition);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        documentSnapshotRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "john@ritense.com", authorities = FULL_ACCESS_ROLE)
+    public void shouldStoreCheckpointsAndDeltas() {
+        final var contents = createAndModifyDocument();
+
+        final var snapshots = documentSnapshotRepository.findAll().stream()
+            .sorted(Comparator.comparing(JsonSchemaDocumentSnapshot::snapshotNumber))
+            .toList();
+
+        assertThat(snapshots).hasSize(contents.size());
+        assertThat(snapshots).extracting(JsonSchemaDocumentSnapshot::isDelta)
+            .containsExactly(false, true, true, false, true);
+        assertThat(snapshots.get(1).checkpointId()).isEqualTo(snapshots.get(0).getId().getId());
+        assertThat(snapshots.get(4).checkpointId()).isEqualTo(snapshots.get(3).getId().getId());
+        assertThat(snapshots.get(1).document().content()).isNull();
+    }
+
+    @Test
+    @WithMockUser(username = "john@ritense.com", authorities = FULL_ACCESS_ROLE)
+    public void shouldRestoreContentOfDeltasWhenListingSnapshots() {
+        final var contents = createAndModifyDocument();
+
+        final var page = documentSnapshotService.getDocumentSnapshots(
+            definition.id().name(),
+            null,
+            null,
+            null,
+            Pageable.unpaged()
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(contents.size());
+        assertThat(page.getContent())
+            .extracting(snapshot -> snapshot.document().content().asJson().toString())
+            .containsExactlyInAnyOrderElementsOf(contents);
+    }
+
+    @Test
+    @WithMockUser(username = "john@ritense.com", authorities = FULL_ACCESS_ROLE)
+    public void shouldRestoreContentOfDeltaWhenFindingSnapshot() {
+        final var contents = createAndModifyDocument();
+        final var delta = documentSnapshotRepository.findAll().stream()
+            .filter(snapshot -> snapshot.snapshotNumber() == 2)
+            .findFirst()
+            .orElseThrow();
+
+        final var snapshot = documentSnapshotService.findById(delta.getId()).orElseThrow();
+
+        assertThat(snapshot.document().content().asJson().toString()).isEqualTo(contents.get(2));
+    }
+
+    private List<String> createAndModifyDocument() {
+        final var contents = new ArrayList<String>();
+        var document = (JsonSchemaDocument) runWithoutAuthorization(() -> documentService.createDocument(
+            new NewDocumentRequest(
+                definition.id().name(),
+                new JsonDocumentContent("{\"street\": \"Funenpark\"}").asJson()
+            )
+        )).resultingDocument().orElseThrow();
+        contents.add(document.content().asJson().toString());
+
+        for (var content : List.of(
+            "{\"street\": \"Kanaalkade\"}",
+            "{\"street\": \"Kanaalkade\", \"housenumber\": 3}",
+            "{\"housenumber\": 5}",
+            "{\"street\": \"Funenpark\", \"housenumber\": 5}"
+        )) {
+            final var request = new ModifyDocumentRequest(
+                document.id().toString(),
+                new JsonDocumentContent(content).asJson()
+            );
+            document = (JsonSchemaDocument) runWithoutAuthorization(() -> documentService.modifyDocument(request))
+                .resultingDocument().orElseThrow();
+            contents.add(document.content().asJson().toString());
+        }
+        return contents;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.authorization.AuthorizationContext.runWithoutAuthorization;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldDataType.TEXT;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.SINGLE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldMatchType.EXACT;
+import static com.ritense.document.domain.search.DatabaseSearchType.EQUAL;
+import static com.ritense.document.domain.search.DatabaseSearchType.IN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.document.BaseIntegrationTest;
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.domain.impl.event.JsonSchemaDocumentCreatedEvent;
+import com.ritense.document.domain.impl.searchfield.SearchField;
+import com.ritense.document.domain.search.AdvancedSearchRequest;
+import com.ritense.document.domain.search.DatabaseSearchType;
+import com.ritense.document.service.SearchFieldIndexService;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
+
+@Tag("integration")
+@Transactional
+@SpringBootTest(properties = {"valtimo.document.search.index-search-fields=true"})
+class SearchFieldIndexServiceIntTest extends BaseIntegrationTest {
+
+    private static final String USERNAME = "john@ritense.com";
+
+    @Autowired
+    private SearchFieldIndexService searchFieldIndexService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private JsonSchemaDocumentDefinition definition;
+
+    @BeforeEach
+    void beforeEach() {
+        definition = definition();
+        documentRepository.deleteAllInBatch();
+        createDocument(definition, "{\"street\": \"Funenpark\"}");
+        createDocument(definition, "{\"street\": \"Kalverstraat\"}");
+        createDocument(definition, "{\"housenumber\": 3}");
+    }
+
+    @Test
+    void shouldIndexExistingDocumentsWhenSearchFieldIsAdded() {
+        addStreetSearchField();
+
+        assertThat(searchFieldIndexService.getIndexedPaths(definition.id().name())).containsExactly("$.street");
+        assertThat(countSearchValues()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRemoveIndexWhenSearchFieldIsDeleted() {
+        addStreetSearchField();
+
+        runWithoutAuthorization(() -> {
+            searchFieldService.deleteSearchField(definition.id().name(), "street");
+            return null;
+        });
+
+        assertThat(searchFieldIndexService.getIndexedPaths(definition.id().name())).isEmpty();
+        assertThat(countSearchValues()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldIndexCreatedDocument() {
+        addStreetSearchField();
+        var document = (JsonSchemaDocument) createDocument(definition, "{\"street\": \"Damrak\"}");
+
+        searchFieldIndexService.handle(new JsonSchemaDocumentCreatedEvent(
+            UUID.randomUUID(),
+            "test",
+            LocalDateTime.now(),
+            USERNAME,
+            document.id(),
+            definition.id()
+        ));
+
+        assertThat(countSearchValues()).isEqualTo(3);
+        assertThat(search(EQUAL, "damrak")).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldSearchEqualCaseInsensitiveThroughIndex() {
+        addStreetSearchField();
+
+        assertThat(search(EQUAL, " funenPARK ")).isEqualTo(1);
+        assertThat(search(EQUAL, "Funen")).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldSearchInCaseSensitiveThroughIndex() {
+        addStreetSearchField();
+
+        assertThat(search(IN, "Funenpark", "Kalverstraat")).isEqualTo(2);
+        assertThat(search(IN, "funenpark")).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void shouldFindSameDocumentsWithoutIndex() {
+        assertThat(searchFieldIndexService.getIndexedPaths(definition.id().name())).isEmpty();
+
+        assertThat(search(EQUAL, " funenPARK ")).isEqualTo(1);
+        assertThat(search(IN, "Funenpark", "Kalverstraat")).isEqualTo(2);
+        assertThat(search(IN, "funenpark")).isZero();
+    }
+
+    private void addStreetSearchField() {
+        runWithoutAuthorization(() -> {
+            searchFieldService.addSearchField(
+                definition.id().name(),
+                new SearchField("street", "doc:street", TEXT, SINGLE, EXACT, null, 0, "Street")
+            );
+            return null;
+        });
+    }
+
+    private long search(DatabaseSearchType searchType, String... values) {
+        var filter = new AdvancedSearchRequest.OtherFilter()
+            .searchType(searchType)
+            .path("doc:street");
+        for (var value : values) {
+            filter.addValue(value);
+        }
+        return documentSearchService.search(
+            definition.id().name(),
+            new AdvancedSearchRequest().addOtherFilters(filter),
+            Pageable.unpaged()
+        ).getTotalElements();
+    }
+
+    private long countSearchValues() {
+        return entityManager.createQuery("SELECT count(v) FROM SearchFieldValue v", Long.class).getSingleResult();
+    }
+}
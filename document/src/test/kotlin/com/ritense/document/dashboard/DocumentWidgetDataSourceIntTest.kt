@@ -236,6 +236,18 @@ class DocumentWidgetDataSourceIntTest @Autowired constructor(
         assertThat(result.values[2].value).isEqualTo(5)
     }
 
+    @Test
+    fun `should return no case counts without query items`() {
+        val properties = DocumentCountsDataSourceProperties(
+            definition().id().name(),
+            queryItems = listOf()
+        )
+
+        val result = documentWidgetDataSource.getCaseCounts(properties)
+
+        assertThat(result.values).isEmpty()
+    }
+
     @Test
     fun `should support by local date time in criteria`() {
         documentRepository.deleteAll()
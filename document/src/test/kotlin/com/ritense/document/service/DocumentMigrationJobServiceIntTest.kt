@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service
+
+import com.ritense.authorization.AuthorizationContext.Companion.runWithoutAuthorization
+import com.ritense.document.BaseIntegrationTest
+import com.ritense.document.domain.DocumentMigrationJobStatus
+import com.ritense.document.domain.DocumentMigrationPatch
+import com.ritense.document.domain.DocumentMigrationRequest
+import com.ritense.document.repository.impl.specification.JsonSchemaDocumentSpecificationHelper.Companion.byDocumentDefinitionIdName
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.transaction.annotation.Transactional
+import kotlin.test.assertEquals
+
+@Transactional
+@SpringBootTest(
+    properties = [
+        "valtimo.document.migration.chunk-size=2",
+        "valtimo.document.migration.preview-sample-size=2",
+    ]
+)
+class DocumentMigrationJobServiceIntTest @Autowired constructor(
+    private val documentMigrationService: DocumentMigrationService,
+    private val documentMigrationJobService: DocumentMigrationJobService,
+) : BaseIntegrationTest() {
+
+    @BeforeEach
+    fun beforeEach() {
+        documentRepository.deleteAllInBatch()
+        listOf("Straat 1", "Straat 2", "Straat 3").forEach { streetName ->
+            createDocument(definitionOf("referenced"), """{"address": {"streetName": "$streetName"}}""")
+        }
+    }
+
+    @Test
+    fun `should migrate all documents in chunks`() {
+        val job = documentMigrationJobService.migrate(migrationRequest())
+
+        assertEquals(DocumentMigrationJobStatus.COMPLETED, job.status)
+        assertEquals(3, job.documentCount)
+        assertEquals(3, job.migratedCount)
+        val targetDocuments = documentRepository.findAll(byDocumentDefinitionIdName("allows-all"))
+        assertEquals(
+            setOf("""{"address":"Straat 1"}""", """{"address":"Straat 2"}""", """{"address":"Straat 3"}"""),
+            targetDocuments.map { it.content().asJson().toString() }.toSet()
+        )
+    }
+
+    @Test
+    fun `should preview migration on sample of documents`() {
+        val conflicts = runWithoutAuthorization {
+            documentMigrationService.getConflicts(migrationRequest())
+        }
+
+        assertEquals(3, conflicts.documentCount)
+        assertEquals(2, conflicts.sampleSize)
+        assertEquals(emptyList(), conflicts.errors)
+    }
+
+    private fun migrationRequest() = DocumentMigrationRequest(
+        documentDefinitionNameSource = "referenced",
+        documentDefinitionVersionSource = 1,
+        documentDefinitionNameTarget = "allows-all",
+        documentDefinitionVersionTarget = 1,
+        patches = listOf(
+            DocumentMigrationPatch(source = "/address/streetName", target = "/address"),
+        )
+    )
+}
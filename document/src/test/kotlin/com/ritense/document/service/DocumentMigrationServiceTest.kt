@@ -36,7 +36,6 @@ import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import org.springframework.context.ApplicationContext
-import org.springframework.data.jpa.domain.Specification
 import org.springframework.transaction.annotation.Transactional
 import java.net.URI
 import java.util.Optional
@@ -404,7 +403,9 @@ class DocumentMigrationServiceTest {
             sequenceGenerator,
             mock(),
         ).resultingDocument().get()
-        whenever(documentRepository.findAll(any<Specification<JsonSchemaDocument>>())).thenReturn(listOf(document))
+        whenever(documentRepository.findIdsByDocumentDefinitionIdAfter(any(), any(), any(), any()))
+            .thenReturn(listOf(document.id().id))
+        whenever(documentRepository.findAllById(any())).thenReturn(listOf(document))
     }
 
     private fun loadSchema(definitionName: String): JsonSchema {
@@ -28,35 +28,61 @@ import org.keycloak.admin.client.resource.UsersResource;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import org.springframework.beans.factory.DisposableBean;
 import static com.ritense.valtimo.contract.security.jwt.JwtConstants.EMAIL_KEY;
 import static com.ritense.valtimo.contract.security.jwt.JwtConstants.ROLES_SCOPE;
 import static com.valtimo.keycloak.security.jwt.authentication.KeycloakTokenAuthenticator.REALM_ACCESS;
 import static com.valtimo.keycloak.security.jwt.authentication.KeycloakTokenAuthenticator.RESOURCE_ACCESS;
 import com.valtimo.keycloak.security.config.ValtimoKeycloakPropertyResolver;
 
-public class KeycloakService {
+public class KeycloakService implements DisposableBean {
 
     public static final String KEYCLOAK_API_CLIENT_REGISTRATION = "keycloakapi";
     public static final String KEYCLOAK_JWT_CLIENT_REGISTRATION = "keycloakjwt";
+    private static final int SHARED_CONNECTION_POOL_SIZE = 20;
     private final KeycloakSpringBootProperties properties;
     private final String clientName;
+    private volatile Keycloak sharedKeycloak;
+    private volatile String clientId;
 
     public KeycloakService(KeycloakSpringBootProperties properties, String keycloakClientName) {
         this.properties = ValtimoKeycloakPropertyResolver.resolveProperties();
         this.clientName = keycloakClientName;
     }
 
+    /**
+     * Creates a new Keycloak client with its own connection pool. The caller is responsible for closing it.
+     *
+     * @deprecated Since 12.4.0. Use {@link #sharedKeycloak()}, which reuses connections and access tokens.
+     */
+    @Deprecated(since = "12.4.0")
     public Keycloak keycloak() {
-        return KeycloakBuilder.builder()
-            .serverUrl(properties.getAuthServerUrl())
-            .realm(properties.getRealm())
-            .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
-            .clientId(properties.getResource())
-            .clientSecret((String) properties.getCredentials().get("secret"))
-            .resteasyClient(
-                new ResteasyClientBuilderImpl()
-                    .connectionPoolSize(10).build())
-            .build();
+        return buildKeycloak(10);
+    }
+
+    /**
+     * Returns the Keycloak client that is shared by all callers. Its access token is reused and refreshed when it
+     * expires. The client is closed when the application shuts down and must not be closed by callers.
+     */
+    public Keycloak sharedKeycloak() {
+        var keycloak = sharedKeycloak;
+        if (keycloak == null) {
+            synchronized (this) {
+                keycloak = sharedKeycloak;
+                if (keycloak == null) {
+                    keycloak = buildKeycloak(SHARED_CONNECTION_POOL_SIZE);
+                    sharedKeycloak = keycloak;
+                }
+            }
+        }
+        return keycloak;
+    }
+
+    @Override
+    public void destroy() {
+        if (sharedKeycloak != null) {
+            sharedKeycloak.close();
+        }
     }
 
     public UsersResource usersResource(Keycloak keycloak) {
@@ -76,9 +102,13 @@ public class KeycloakService {
             throw new IllegalStateException(
                 "Error. Missing property: 'spring.security.oauth2.client.registration.keycloakjwt.client-id' or 'valtimo.keycloak.client'");
         }
+        if (clientId != null) {
+            return clientId;
+        }
         var clients = keycloak.realm(properties.getRealm()).clients().findByClientId(clientName);
         if (clients.size() == 1) {
-            return clients.get(0).getId();
+            clientId = clients.get(0).getId();
+            return clientId;
         } else {
             throw new IllegalStateException("Expected exactly 1 client with name " + clientName + " but found: " + clients.size());
         }
@@ -105,6 +135,19 @@ public class KeycloakService {
         return roles;
     }
 
+    private Keycloak buildKeycloak(int connectionPoolSize) {
+        return KeycloakBuilder.builder()
+            .serverUrl(properties.getAuthServerUrl())
+            .realm(properties.getRealm())
+            .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
+            .clientId(properties.getResource())
+            .clientSecret((String) properties.getCredentials().get("secret"))
+            .resteasyClient(
+                new ResteasyClientBuilderImpl()
+                    .connectionPoolSize(connectionPoolSize).build())
+            .build();
+    }
+
     private ClientResource clientResource(Keycloak keycloak) {
         return keycloak.realm(properties.getRealm()).clients().get(getClientId(keycloak));
     }
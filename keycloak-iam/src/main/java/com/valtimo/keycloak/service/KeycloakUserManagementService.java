@@ -31,16 +31,23 @@ import com.ritense.valtimo.contract.authentication.model.ValtimoUser;
 import com.ritense.valtimo.contract.authentication.model.ValtimoUserBuilder;
 import com.ritense.valtimo.contract.utils.SecurityUtils;
 import jakarta.ws.rs.NotFoundException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.NotImplementedException;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RoleResource;
+import org.keycloak.admin.client.resource.RolesResource;
 import org.keycloak.representations.idm.GroupRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
@@ -56,12 +63,33 @@ public class KeycloakUserManagementService implements UserManagementService {
     private static final String MAX_USERS_WARNING_MESSAGE = "Maximum number of users retrieved from keycloak: " + MAX_USERS + ".";
     private static final ValtimoUser SYSTEM_VALTIMO_USER = new ValtimoUserBuilder().id(SYSTEM_ACCOUNT).lastName(SYSTEM_ACCOUNT).build();
 
+    private static final Duration DEFAULT_CACHE_TIME_TO_LIVE = Duration.ofMinutes(1);
+    private static final int MAXIMUM_CACHE_SIZE = 10000;
+
     private final KeycloakService keycloakService;
     private final String clientName;
+    private final Duration cacheTimeToLive;
+    private final Map<String, CachedValue<List<UserRepresentation>>> roleMembersCache = new ConcurrentHashMap<>();
+    private final Map<String, CachedValue<List<String>>> userRolesCache = new ConcurrentHashMap<>();
+    private final Map<String, CachedValue<Optional<NamedUser>>> namedUserCache = new ConcurrentHashMap<>();
+    private volatile CachedValue<Map<String, List<String>>> rolesByUserIdCache;
 
     public KeycloakUserManagementService(KeycloakService keycloakService, String keycloakClientName) {
+        this(keycloakService, keycloakClientName, DEFAULT_CACHE_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param cacheTimeToLive how long role members and user roles retrieved from Keycloak are reused. A zero duration
+     *                        disables caching.
+     */
+    public KeycloakUserManagementService(
+        KeycloakService keycloakService,
+        String keycloakClientName,
+        Duration cacheTimeToLive
+    ) {
         this.keycloakService = keycloakService;
         this.clientName = keycloakClientName;
+        this.cacheTimeToLive = cacheTimeToLive;
     }
 
     @Override
@@ -95,20 +123,17 @@ public class KeycloakUserManagementService implements UserManagementService {
     }
 
     public Integer countUsers() {
-        try (Keycloak keycloak = keycloakService.keycloak()) {
-            return keycloakService.usersResource(keycloak).count();
-        }
+        return keycloakService.usersResource(keycloakService.sharedKeycloak()).count();
     }
 
     @Override
     public List<ManageableUser> getAllUsers() {
-        List<ManageableUser> users;
-        try (Keycloak keycloak = keycloakService.keycloak()) {
-            users = keycloakService.usersResource(keycloak).list(0, MAX_USERS).stream()
-                .filter(UserRepresentation::isEnabled)
-                .map(this::toManageableUserByRetrievingRoles)
-                .toList();
-        }
+        var rolesByUserId = getRolesByUserId();
+        List<ManageableUser> users = keycloakService.usersResource(keycloakService.sharedKeycloak())
+            .list(0, MAX_USERS).stream()
+            .filter(UserRepresentation::isEnabled)
+            .map(user -> toManageableUser(user, rolesByUserId.getOrDefault(user.getId(), List.of())))
+            .toList();
 
         if (users.size() >= MAX_USERS) {
             logger.warn(MAX_USERS_WARNING_MESSAGE);
@@ -139,40 +164,37 @@ public class KeycloakUserManagementService implements UserManagementService {
 
     @Override
     public ValtimoUser findByUserIdentifier(String userIdentifier) {
-        UserRepresentation user = null;
-        try (Keycloak keycloak = keycloakService.keycloak()) {
-            switch (OauthConfigHolder.getCurrentInstance().getIdentifierField()) {
-                case USERID ->
-                    user = keycloakService.usersResource(keycloak).get(userIdentifier).toRepresentation();
-                case USERNAME -> {
-                    var users = keycloakService.usersResource(keycloak).search(userIdentifier);
-                    if (!users.isEmpty()) {
-                        user = users.get(0);
-                    }
-                }
-            }
-        }
+        var user = findUserRepresentationByUserIdentifier(userIdentifier);
         Boolean isUserEnabled = user != null ? user.isEnabled() : null;
         return Boolean.TRUE.equals(isUserEnabled) ? toValtimoUserByRetrievingRoles(user) : null;
     }
 
+    @Override
+    public Map<String, NamedUser> findNamedUsersByUserIdentifiers(Collection<String> userIdentifiers) {
+        var namedUsers = new HashMap<String, NamedUser>();
+        for (var userIdentifier : new HashSet<>(userIdentifiers)) {
+            cached(namedUserCache, userIdentifier, () -> findNamedUserByUserIdentifier(userIdentifier))
+                .ifPresent(namedUser -> namedUsers.put(userIdentifier, namedUser));
+        }
+        return namedUsers;
+    }
+
     @Override
     public ValtimoUser findById(String userId) {
         UserRepresentation user;
         if (userId.equals(SYSTEM_ACCOUNT)) {
             return SYSTEM_VALTIMO_USER;
         } else {
-            try (Keycloak keycloak = keycloakService.keycloak()) {
-                user = keycloakService.usersResource(keycloak).get(userId).toRepresentation();
-            }
+            user = keycloakService.usersResource(keycloakService.sharedKeycloak()).get(userId).toRepresentation();
             return Boolean.TRUE.equals(user.isEnabled()) ? toValtimoUserByRetrievingRoles(user) : null;
         }
     }
 
     @Override
     public List<ManageableUser> findByRole(String authority) {
+        var rolesByUserId = getRolesByUserId();
         return findUserRepresentationByRole(authority).stream()
-            .map(this::toManageableUserByRetrievingRoles)
+            .map(user -> toManageableUser(user, rolesByUserId.getOrDefault(user.getId(), List.of())))
             .toList();
     }
 
@@ -181,17 +203,24 @@ public class KeycloakUserManagementService implements UserManagementService {
         Set<String> allUserGroups = new HashSet<>(groupsCriteria.getRequiredUserGroups());
         groupsCriteria.getOrUserGroups().forEach(allUserGroups::addAll);
 
-        List<ManageableUser> allUsers = allUserGroups.stream()
-            .map(this::findByRole)
-            .flatMap(Collection::stream)
-            .distinct()
-            .toList();
+        Map<String, Set<String>> userIdsByRole = new HashMap<>();
+        List<UserRepresentation> candidates = new ArrayList<>();
+        for (String role : allUserGroups) {
+            var members = findUserRepresentationByRole(role);
+            userIdsByRole.put(role, new HashSet<>(members.stream().map(UserRepresentation::getId).toList()));
+            candidates.addAll(members);
+        }
+        var rolesByUserId = getRolesByUserId();
 
-        return allUsers.stream()
-            .filter(user -> new HashSet<>(user.getRoles()).containsAll(groupsCriteria.getRequiredUserGroups()))
+        return candidates.stream()
+            .map(UserRepresentationWrapper::new)
+            .distinct()
+            .map(UserRepresentationWrapper::userRepresentation)
+            .map(user -> toManageableUser(user, rolesByUserId.getOrDefault(user.getId(), List.of())))
+            .filter(user -> groupsCriteria.getRequiredUserGroups().stream()
+                .allMatch(role -> hasRole(user, role, userIdsByRole)))
             .filter(user -> groupsCriteria.getOrUserGroups().stream()
-                .map(userGroups -> user.getRoles().stream().anyMatch(userGroups::contains))
-                .reduce(true, (orUserGroup1, orUserGroup2) -> orUserGroup1 && orUserGroup2))
+                .allMatch(userGroups -> userGroups.stream().anyMatch(role -> hasRole(user, role, userIdsByRole))))
             .sorted(comparing(ManageableUser::getFullName, nullsLast(naturalOrder())))
             .toList();
     }
@@ -235,12 +264,9 @@ public class KeycloakUserManagementService implements UserManagementService {
         if (email == null || !email.contains("@")) {
             return Optional.empty();
         }
-        List<UserRepresentation> userList;
-        try (Keycloak keycloak = keycloakService.keycloak()) {
-            userList = keycloakService
-                .usersResource(keycloak)
-                .search(null, null, null, email, 0, 1, true, true);
-        }
+        List<UserRepresentation> userList = keycloakService
+            .usersResource(keycloakService.sharedKeycloak())
+            .search(null, null, null, email, 0, 1, true, true);
         if (userList.isEmpty() || !Objects.equals(userList.get(0).getEmail(), email)) {
             return Optional.empty();
         } else {
@@ -249,43 +275,36 @@ public class KeycloakUserManagementService implements UserManagementService {
     }
 
     private List<UserRepresentation> findUserRepresentationByRole(String authority) {
+        return cached(roleMembersCache, authority, () -> loadUserRepresentationByRole(authority));
+    }
 
+    private List<UserRepresentation> loadUserRepresentationByRole(String authority) {
         List<List<UserRepresentation>> usersList = new ArrayList<>();
-        try (Keycloak keycloak = keycloakService.keycloak()) {
-            Set<GroupRepresentation> roleGroups = new HashSet<>();
-            try {
-                RoleResource roleResource = keycloakService.realmRolesResource(keycloak).get(authority);
-                usersList.add(roleResource.getUserMembers(0, MAX_USERS));
-                roleGroups.addAll(roleResource.getRoleGroupMembers());
-            } catch (NotFoundException e) {
-                logger.debug("Failed to find users by realm. Error: {}", e.getMessage());
-            }
-            if (!clientName.isBlank()) {
-                try {
-                    RoleResource roleResource = keycloakService.clientRolesResource(keycloak).get(authority);
-                    usersList.add(roleResource.getUserMembers(0, MAX_USERS));
-                    roleGroups.addAll(roleResource.getRoleGroupMembers());
-                } catch (NotFoundException e) {
-                    logger.debug("Failed to find users by client. Error: {}", e.getMessage());
-                }
-            }
+        Keycloak keycloak = keycloakService.sharedKeycloak();
+        Set<GroupRepresentation> roleGroups = new HashSet<>();
+        try {
+            RoleResource roleResource = keycloakService.realmRolesResource(keycloak).get(authority);
+            usersList.add(fetchAll(roleResource::getUserMembers));
+            roleGroups.addAll(fetchAll(roleResource::getRoleGroupMembers));
+        } catch (NotFoundException e) {
+            logger.debug("Failed to find users by realm. Error: {}", e.getMessage());
+        }
+        if (!clientName.isBlank()) {
             try {
-                for (GroupRepresentation group : roleGroups) {
-                    usersList.add(keycloakService.realmResource(keycloak)
-                        .groups()
-                        .group(group.getId())
-                        .members(0, MAX_USERS));
-                }
+                RoleResource roleResource = keycloakService.clientRolesResource(keycloak).get(authority);
+                usersList.add(fetchAll(roleResource::getUserMembers));
+                roleGroups.addAll(fetchAll(roleResource::getRoleGroupMembers));
             } catch (NotFoundException e) {
-                logger.debug("Failed to find users by group. Error: {}", e.getMessage());
+                logger.debug("Failed to find users by client. Error: {}", e.getMessage());
             }
         }
-
-        usersList.forEach(users -> {
-            if (users.size() >= MAX_USERS) {
-                logger.warn(MAX_USERS_WARNING_MESSAGE);
+        try {
+            for (GroupRepresentation group : roleGroups) {
+                usersList.add(getGroupMembers(keycloak, group));
             }
-        });
+        } catch (NotFoundException e) {
+            logger.debug("Failed to find users by group. Error: {}", e.getMessage());
+        }
 
         var users = usersList.stream()
             .flatMap(Collection::stream)
@@ -302,14 +321,126 @@ public class KeycloakUserManagementService implements UserManagementService {
         return users;
     }
 
+    /**
+     * Returns the effective role names of every user that has at least one role, keyed by user id. The index is built
+     * by querying the members of each realm and client role once, instead of querying the roles of each user.
+     */
+    private Map<String, List<String>> getRolesByUserId() {
+        var cachedRolesByUserId = rolesByUserIdCache;
+        var now = System.nanoTime();
+        if (cachedRolesByUserId != null && cachedRolesByUserId.isValid(now)) {
+            return cachedRolesByUserId.value();
+        }
+        var rolesByUserId = loadRolesByUserId();
+        if (!cacheTimeToLive.isZero()) {
+            rolesByUserIdCache = new CachedValue<>(rolesByUserId, now + cacheTimeToLive.toNanos());
+        }
+        return rolesByUserId;
+    }
+
+    private Map<String, List<String>> loadRolesByUserId() {
+        var keycloak = keycloakService.sharedKeycloak();
+        Map<String, Set<String>> compositesByRole = new HashMap<>();
+        Map<String, Set<String>> directRolesByUserId = new HashMap<>();
+        var clientId = clientName.isBlank() ? null : keycloakService.getClientId(keycloak);
+        addRoleMembers(keycloak, keycloakService.realmRolesResource(keycloak), clientId, compositesByRole, directRolesByUserId);
+        if (clientId != null) {
+            addRoleMembers(keycloak, keycloakService.clientRolesResource(keycloak), clientId, compositesByRole, directRolesByUserId);
+        }
+
+        Map<String, List<String>> rolesByUserId = new HashMap<>();
+        directRolesByUserId.forEach((userId, directRoles) -> {
+            Set<String> effectiveRoles = new HashSet<>();
+            directRoles.forEach(role -> addWithComposites(role, compositesByRole, effectiveRoles));
+            rolesByUserId.put(userId, effectiveRoles.stream().sorted().toList());
+        });
+        return rolesByUserId;
+    }
+
+    private void addRoleMembers(
+        Keycloak keycloak,
+        RolesResource rolesResource,
+        String clientId,
+        Map<String, Set<String>> compositesByRole,
+        Map<String, Set<String>> directRolesByUserId
+    ) {
+        for (RoleRepresentation role : rolesResource.list()) {
+            try {
+                RoleResource roleResource = rolesResource.get(role.getName());
+                if (Boolean.TRUE.equals(role.isComposite())) {
+                    Set<String> composites = compositesByRole.computeIfAbsent(role.getName(), name -> new HashSet<>());
+                    for (RoleRepresentation composite : roleResource.getRoleComposites()) {
+                        if (!Boolean.TRUE.equals(composite.getClientRole()) || composite.getContainerId().equals(clientId)) {
+                            composites.add(composite.getName());
+                        }
+                    }
+                }
+                List<UserRepresentation> members = new ArrayList<>(fetchAll(roleResource::getUserMembers));
+                for (GroupRepresentation group : fetchAll(roleResource::getRoleGroupMembers)) {
+                    members.addAll(getGroupMembers(keycloak, group));
+                }
+                for (UserRepresentation member : members) {
+                    directRolesByUserId.computeIfAbsent(member.getId(), id -> new HashSet<>()).add(role.getName());
+                }
+            } catch (NotFoundException e) {
+                logger.debug("Failed to find members of role {}. Error: {}", role.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void addWithComposites(String role, Map<String, Set<String>> compositesByRole, Set<String> roles) {
+        if (roles.add(role)) {
+            compositesByRole.getOrDefault(role, Set.of())
+                .forEach(composite -> addWithComposites(composite, compositesByRole, roles));
+        }
+    }
+
+    /**
+     * Returns the members of the group and of all its subgroups, as members of a subgroup inherit the roles of the
+     * group.
+     */
+    private List<UserRepresentation> getGroupMembers(Keycloak keycloak, GroupRepresentation group) {
+        var groupResource = keycloakService.realmResource(keycloak)
+            .groups()
+            .group(group.getId());
+        List<UserRepresentation> members = new ArrayList<>(fetchAll(groupResource::members));
+        for (GroupRepresentation subGroup : fetchAll((first, max) -> groupResource.getSubGroups(first, max, true))) {
+            members.addAll(getGroupMembers(keycloak, subGroup));
+        }
+        return members;
+    }
+
+    /**
+     * Keycloak limits the number of results of a single request, so this requests pages until a page is not full.
+     */
+    private static <T> List<T> fetchAll(BiFunction<Integer, Integer, ? extends Collection<T>> pageFetcher) {
+        List<T> results = new ArrayList<>();
+        for (int first = 0; ; first += MAX_USERS) {
+            var page = pageFetcher.apply(first, MAX_USERS);
+            results.addAll(page);
+            if (page.size() < MAX_USERS) {
+                return results;
+            }
+        }
+    }
+
+    private boolean hasRole(ManageableUser user, String role, Map<String, Set<String>> userIdsByRole) {
+        return user.getRoles().contains(role)
+            || userIdsByRole.getOrDefault(role, Set.of()).contains(user.getId());
+    }
+
     private ManageableUser toManageableUserByRetrievingRoles(UserRepresentation userRepresentation) {
+        return toManageableUser(userRepresentation, getRolesAsStringFromUser(userRepresentation));
+    }
+
+    private ManageableUser toManageableUser(UserRepresentation userRepresentation, List<String> roles) {
         return new ValtimoUserBuilder()
             .id(userRepresentation.getId())
             .username(userRepresentation.getUsername())
             .firstName(userRepresentation.getFirstName())
             .lastName(userRepresentation.getLastName())
             .email(userRepresentation.getEmail())
-            .roles(getRolesAsStringFromUser(userRepresentation)) // <- does an additional call to retrieve the roles
+            .roles(roles)
             .build();
     }
 
@@ -324,27 +455,47 @@ public class KeycloakUserManagementService implements UserManagementService {
     }
 
     private List<String> getRolesAsStringFromUser(UserRepresentation userRepresentation) {
-        return getRolesFromUser(userRepresentation)
+        return cached(userRolesCache, userRepresentation.getId(), () -> getRolesFromUser(userRepresentation)
             .stream()
             .map(RoleRepresentation::getName)
-            .toList();
+            .toList());
     }
 
     private List<RoleRepresentation> getRolesFromUser(UserRepresentation userRepresentation) {
-        try (Keycloak keycloak = keycloakService.keycloak()) {
-            var realmRoles = keycloakService
+        var keycloak = keycloakService.sharedKeycloak();
+        var realmRoles = keycloakService
+            .usersResource(keycloak)
+            .get(userRepresentation.getId())
+            .roles().realmLevel().listEffective(true);
+        var roles = new ArrayList<>(realmRoles);
+        if (!clientName.isBlank()) {
+            var clientRoles = keycloakService
                 .usersResource(keycloak)
                 .get(userRepresentation.getId())
-                .roles().realmLevel().listEffective(true);
-            var roles = new ArrayList<>(realmRoles);
-            if (!clientName.isBlank()) {
-                var clientRoles = keycloakService
-                    .usersResource(keycloak)
-                    .get(userRepresentation.getId())
-                    .roles().clientLevel(keycloakService.getClientId(keycloak)).listEffective(true);
-                roles.addAll(clientRoles);
+                .roles().clientLevel(keycloakService.getClientId(keycloak)).listEffective(true);
+            roles.addAll(clientRoles);
+        }
+        return roles;
+    }
+
+    private UserRepresentation findUserRepresentationByUserIdentifier(String userIdentifier) {
+        var usersResource = keycloakService.usersResource(keycloakService.sharedKeycloak());
+        return switch (OauthConfigHolder.getCurrentInstance().getIdentifierField()) {
+            case USERID -> usersResource.get(userIdentifier).toRepresentation();
+            case USERNAME -> {
+                var users = usersResource.search(userIdentifier);
+                yield users.isEmpty() ? null : users.get(0);
             }
-            return roles;
+        };
+    }
+
+    private Optional<NamedUser> findNamedUserByUserIdentifier(String userIdentifier) {
+        try {
+            return Optional.ofNullable(findUserRepresentationByUserIdentifier(userIdentifier))
+                .filter(user -> Boolean.TRUE.equals(user.isEnabled()))
+                .map(this::toNamedUser);
+        } catch (NotFoundException e) {
+            return Optional.empty();
         }
     }
 
@@ -352,6 +503,30 @@ public class KeycloakUserManagementService implements UserManagementService {
         return (ValtimoUser) toManageableUserByRetrievingRoles(userRepresentation);
     }
 
+    private <T> T cached(Map<String, CachedValue<T>> cache, String key, Supplier<T> loader) {
+        if (cacheTimeToLive.isZero()) {
+            return loader.get();
+        }
+        var now = System.nanoTime();
+        var cachedValue = cache.get(key);
+        if (cachedValue != null && cachedValue.isValid(now)) {
+            return cachedValue.value();
+        }
+        var value = loader.get();
+        if (cache.size() >= MAXIMUM_CACHE_SIZE) {
+            cache.values().removeIf(it -> !it.isValid(now));
+        }
+        cache.put(key, new CachedValue<>(value, now + cacheTimeToLive.toNanos()));
+        return value;
+    }
+
+    private record CachedValue<T>(T value, long expiresAt) {
+
+        boolean isValid(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+
     private record UserRepresentationWrapper(UserRepresentation userRepresentation) {
 
         String getId() {
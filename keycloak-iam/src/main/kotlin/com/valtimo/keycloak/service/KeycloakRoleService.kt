@@ -26,7 +26,7 @@ class KeycloakRoleService(
 ): ExternalRoleService {
 
     override fun findExternalRoles(externalRoleNamePrefix: String?): List<String> {
-        val keycloak = keycloakService.keycloak()
+        val keycloak = keycloakService.sharedKeycloak()
         val roleRepresentations = keycloakService.realmRolesResource(keycloak).list(true)
         return if (externalRoleNamePrefix != null) {
             roleRepresentations
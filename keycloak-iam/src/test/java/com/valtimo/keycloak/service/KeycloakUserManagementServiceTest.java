@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,10 +38,12 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.GroupRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 
@@ -49,6 +52,8 @@ import com.ritense.valtimo.contract.config.ValtimoProperties.Oauth;
 
 class KeycloakUserManagementServiceTest {
 
+    private static final String CLIENT_ID = "client-id";
+
     private KeycloakService keycloakService;
     private KeycloakUserManagementService userManagementService;
 
@@ -76,10 +81,11 @@ class KeycloakUserManagementServiceTest {
             .thenReturn(List.of(johnDoe, ashaMiller));
         when(keycloakService.clientRolesResource(any()).get(any()).getUserMembers(0, MAX_USERS))
             .thenReturn(List.of());
-        when(keycloakService.realmRolesResource(any()).get(any()).getRoleGroupMembers())
+        when(keycloakService.realmRolesResource(any()).get(any()).getRoleGroupMembers(0, MAX_USERS))
             .thenReturn(Set.of());
-        when(keycloakService.clientRolesResource(any()).get(any()).getRoleGroupMembers())
+        when(keycloakService.clientRolesResource(any()).get(any()).getRoleGroupMembers(0, MAX_USERS))
             .thenReturn(Set.of());
+        when(keycloakService.getClientId(any())).thenReturn(CLIENT_ID);
     }
 
     @AfterEach
@@ -221,6 +227,136 @@ class KeycloakUserManagementServiceTest {
         assertThat(user).isNull();
     }
 
+    @Test
+    void findNamedUsersByUserIdentifiersShouldSkipUnknownUsersAndReuseResults() {
+        OauthConfigHolder.getCurrentInstance().setIdentifierField(ValtimoProperties.IdentifierField.USERID);
+
+        when(keycloakService.usersResource(any()).get(eq(johnDoe.getId())).toRepresentation())
+            .thenReturn(johnDoe);
+        when(keycloakService.usersResource(any()).get(eq("unknown")).toRepresentation())
+            .thenThrow(new NotFoundException());
+
+        var users = userManagementService.findNamedUsersByUserIdentifiers(List.of(johnDoe.getId(), "unknown"));
+        userManagementService.findNamedUsersByUserIdentifiers(List.of(johnDoe.getId()));
+
+        assertThat(users).containsOnlyKeys(johnDoe.getId());
+        assertThat(users.get(johnDoe.getId()).getLabel()).isEqualTo("John Doe");
+        verify(keycloakService.usersResource(any()).get(eq(johnDoe.getId()))).toRepresentation();
+        verify(keycloakService.usersResource(any()).get(johnDoe.getId()).roles().realmLevel(), never())
+            .listEffective(true);
+    }
+
+    @Test
+    void getAllUsersShouldResolveRolesByRoleMembers() {
+        when(keycloakService.usersResource(any()).list(0, MAX_USERS))
+            .thenReturn(List.of(jamesVance, johnDoe, ashaMiller));
+        when(keycloakService.realmRolesResource(any()).list())
+            .thenReturn(List.of(
+                new RoleRepresentation(USER, USER + " description", false),
+                new RoleRepresentation(ADMIN, ADMIN + " description", false)
+            ));
+        when(keycloakService.clientRolesResource(any()).list())
+            .thenReturn(List.of());
+
+        var users = userManagementService.getAllUsers();
+
+        assertThat(users).extracting(ManageableUser::getId)
+            .containsExactly(jamesVance.getId(), johnDoe.getId(), ashaMiller.getId());
+        assertThat(users.get(0).getRoles()).containsExactly(USER);
+        assertThat(users.get(1).getRoles()).containsExactlyInAnyOrder(USER, ADMIN);
+        assertThat(users.get(2).getRoles()).containsExactly(ADMIN);
+        verify(keycloakService.usersResource(any()).get(johnDoe.getId()).roles().realmLevel(), never())
+            .listEffective(true);
+    }
+
+    @Test
+    void findByRoleShouldReuseRoleMembersWithinCacheTimeToLive() {
+        userManagementService.findByRole(USER);
+        userManagementService.findByRole(USER);
+
+        verify(keycloakService.realmRolesResource(any()).get(USER)).getUserMembers(0, MAX_USERS);
+    }
+
+    @Test
+    void getAllUsersShouldPageThroughRoleMembers() {
+        var firstPage = IntStream.range(0, MAX_USERS)
+            .mapToObj(i -> {
+                var user = new UserRepresentation();
+                user.setId("user-" + i);
+                return user;
+            })
+            .toList();
+        when(keycloakService.usersResource(any()).list(0, MAX_USERS))
+            .thenReturn(List.of(jamesVance));
+        when(keycloakService.realmRolesResource(any()).list())
+            .thenReturn(List.of(new RoleRepresentation(USER, USER + " description", false)));
+        when(keycloakService.realmRolesResource(any()).get(USER).getUserMembers(0, MAX_USERS))
+            .thenReturn(firstPage);
+        when(keycloakService.realmRolesResource(any()).get(USER).getUserMembers(MAX_USERS, MAX_USERS))
+            .thenReturn(List.of(jamesVance));
+        when(keycloakService.clientRolesResource(any()).list())
+            .thenReturn(List.of());
+
+        var users = userManagementService.getAllUsers();
+
+        assertThat(users.get(0).getRoles()).containsExactly(USER);
+    }
+
+    @Test
+    void getAllUsersShouldResolveRolesOfSubgroupMembers() {
+        var group = new GroupRepresentation();
+        group.setId("group-id");
+        var subGroup = new GroupRepresentation();
+        subGroup.setId("sub-group-id");
+        when(keycloakService.usersResource(any()).list(0, MAX_USERS))
+            .thenReturn(List.of(ashaMiller));
+        when(keycloakService.realmRolesResource(any()).list())
+            .thenReturn(List.of(new RoleRepresentation(DEVELOPER, DEVELOPER + " description", false)));
+        when(keycloakService.realmRolesResource(any()).get(DEVELOPER).getUserMembers(0, MAX_USERS))
+            .thenReturn(List.of());
+        when(keycloakService.realmRolesResource(any()).get(DEVELOPER).getRoleGroupMembers(0, MAX_USERS))
+            .thenReturn(Set.of(group));
+        when(keycloakService.realmResource(any()).groups().group("group-id").members(0, MAX_USERS))
+            .thenReturn(List.of());
+        when(keycloakService.realmResource(any()).groups().group("group-id").getSubGroups(0, MAX_USERS, true))
+            .thenReturn(List.of(subGroup));
+        when(keycloakService.realmResource(any()).groups().group("sub-group-id").members(0, MAX_USERS))
+            .thenReturn(List.of(ashaMiller));
+        when(keycloakService.realmResource(any()).groups().group("sub-group-id").getSubGroups(0, MAX_USERS, true))
+            .thenReturn(List.of());
+        when(keycloakService.clientRolesResource(any()).list())
+            .thenReturn(List.of());
+
+        var users = userManagementService.getAllUsers();
+
+        assertThat(users.get(0).getRoles()).containsExactly(DEVELOPER);
+    }
+
+    @Test
+    void getAllUsersShouldOnlyAddCompositesOfTheRealmAndTheConfiguredClient() {
+        var composite = new RoleRepresentation(ADMIN, ADMIN + " description", true);
+        var realmComposite = new RoleRepresentation(USER, USER + " description", false);
+        realmComposite.setClientRole(false);
+        var clientComposite = new RoleRepresentation(DEVELOPER, DEVELOPER + " description", false);
+        clientComposite.setClientRole(true);
+        clientComposite.setContainerId(CLIENT_ID);
+        var otherClientComposite = new RoleRepresentation("other-client-role", "description", false);
+        otherClientComposite.setClientRole(true);
+        otherClientComposite.setContainerId("other-client-id");
+        when(keycloakService.usersResource(any()).list(0, MAX_USERS))
+            .thenReturn(List.of(ashaMiller));
+        when(keycloakService.realmRolesResource(any()).list())
+            .thenReturn(List.of(composite));
+        when(keycloakService.realmRolesResource(any()).get(ADMIN).getRoleComposites())
+            .thenReturn(Set.of(realmComposite, clientComposite, otherClientComposite));
+        when(keycloakService.clientRolesResource(any()).list())
+            .thenReturn(List.of());
+
+        var users = userManagementService.getAllUsers();
+
+        assertThat(users.get(0).getRoles()).containsExactly(ADMIN, DEVELOPER, USER);
+    }
+
     private UserRepresentation newUser(String firstName, String lastName, List<String> roles) {
         var user = new UserRepresentation();
         user.setId(Integer.toString(Objects.hash(firstName, lastName, roles)));
@@ -67,7 +67,7 @@ internal class KeycloakExternalRoleServiceTest {
     }
 
     private fun defaultConditions() {
-        whenever(keycloakService.keycloak()).thenReturn(mock<Keycloak>())
+        whenever(keycloakService.sharedKeycloak()).thenReturn(mock<Keycloak>())
         whenever(keycloakService.realmRolesResource(any()).list(any())).thenReturn(roleRepresentationList())
     }
 
@@ -16,6 +16,7 @@
 
 package com.ritense.logging
 
+import com.ritense.logging.appender.ValtimoDatabaseAppenderInitializer
 import com.ritense.logging.domain.LoggingEvent
 import com.ritense.logging.domain.LoggingEventException
 import com.ritense.logging.domain.LoggingEventProperty
@@ -41,7 +42,9 @@ import org.springframework.core.Ordered.LOWEST_PRECEDENCE
 import org.springframework.core.annotation.Order
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler
+import org.springframework.transaction.PlatformTransactionManager
 import org.springframework.util.ErrorHandler
+import java.time.Duration
 import javax.sql.DataSource
 
 @AutoConfiguration
@@ -71,15 +74,23 @@ class LoggingAutoConfiguration {
     @ConditionalOnMissingBean(LoggingEventDeletionService::class)
     fun loggingEventDeletionService(
         @Value("\${valtimo.logging.retentionInMinutes:30240}") retentionInMinutes: Long,
+        @Value("\${valtimo.logging.deletionBatchSize:1000}") batchSize: Int,
+        @Value("\${valtimo.logging.deletionBatchPause:50ms}") batchPause: Duration,
+        @Value("\${valtimo.logging.deletionMaxDuration:50m}") maxDuration: Duration,
         loggingEventRepository: LoggingEventRepository,
         loggingEventPropertyRepository: LoggingEventPropertyRepository,
-        loggingEventExceptionRepository: LoggingEventExceptionRepository
+        loggingEventExceptionRepository: LoggingEventExceptionRepository,
+        platformTransactionManager: PlatformTransactionManager,
     ): LoggingEventDeletionService {
         return LoggingEventDeletionService(
             retentionInMinutes,
             loggingEventRepository,
             loggingEventPropertyRepository,
             loggingEventExceptionRepository,
+            platformTransactionManager,
+            batchSize,
+            batchPause,
+            maxDuration,
         )
     }
 
@@ -118,6 +129,15 @@ class LoggingAutoConfiguration {
         return LiquibaseMasterChangeLogLocation("config/liquibase/logging-master.xml")
     }
 
+    @Bean
+    @ConditionalOnClass(DataSource::class)
+    @ConditionalOnMissingBean(ValtimoDatabaseAppenderInitializer::class)
+    fun valtimoDatabaseAppenderInitializer(
+        dataSource: DataSource,
+    ): ValtimoDatabaseAppenderInitializer {
+        return ValtimoDatabaseAppenderInitializer(dataSource)
+    }
+
     @Order(LOWEST_PRECEDENCE - 100)
     @Bean
     fun loggingContextExceptionTranslator(
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.logging.appender
+
+import ch.qos.logback.classic.Level
+import ch.qos.logback.classic.db.DBHelper
+import ch.qos.logback.classic.spi.CallerData
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.classic.spi.IThrowableProxy
+import ch.qos.logback.classic.spi.ThrowableProxyUtil
+import ch.qos.logback.core.CoreConstants
+import ch.qos.logback.core.UnsynchronizedAppenderBase
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Metrics
+import io.micrometer.core.instrument.Timer
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.LockSupport
+import java.util.concurrent.locks.ReentrantLock
+import javax.sql.DataSource
+import kotlin.concurrent.withLock
+
+/**
+ * Writes logging events to the `logging_event`, `logging_event_property` and `logging_event_exception` tables using
+ * JDBC batch inserts.
+ *
+ * Events are buffered in a bounded queue and written by a background thread whenever [batchSize] events are waiting
+ * or [flushIntervalMillis] has passed. Logging threads never block: once fewer than [discardingThreshold] slots are
+ * left, events at or below [sheddingLevel] are dropped, and when the queue is full every event is dropped. Dropped
+ * events are counted in the `valtimo.logging.database.dropped` metric and flushes are timed in
+ * `valtimo.logging.database.flush`.
+ *
+ * Events are written through the application [DataSource] once the application is ready. Until then they are kept in
+ * the queue.
+ */
+class ValtimoDatabaseAppender : UnsynchronizedAppenderBase<ILoggingEvent>() {
+
+    var queueSize: Int = DEFAULT_QUEUE_SIZE
+    var batchSize: Int = DEFAULT_BATCH_SIZE
+    var flushIntervalMillis: Long = DEFAULT_FLUSH_INTERVAL_MILLIS
+    var maxFlushTimeMillis: Long = DEFAULT_MAX_FLUSH_TIME_MILLIS
+    var discardingThreshold: Int = UNDEFINED
+    var sheddingLevel: String = Level.INFO.levelStr
+    var includeCallerData: Boolean = true
+
+    private lateinit var queue: ArrayBlockingQueue<ILoggingEvent>
+    private lateinit var sheddingThreshold: Level
+    private lateinit var flushTimer: Timer
+    private val flushLock = ReentrantLock()
+    private val droppedCounters = ConcurrentHashMap<DroppedKey, Counter>()
+    private var worker: Thread? = null
+
+    override fun start() {
+        if (isStarted) {
+            return
+        }
+        if (queueSize < 1 || batchSize < 1 || flushIntervalMillis < 1) {
+            addError("queueSize, batchSize and flushIntervalMillis must be positive")
+            return
+        }
+        if (discardingThreshold == UNDEFINED) {
+            discardingThreshold = queueSize / 5
+        }
+        sheddingThreshold = Level.toLevel(sheddingLevel, Level.INFO)
+        queue = ArrayBlockingQueue(queueSize)
+        flushTimer = Timer.builder("valtimo.logging.database.flush")
+            .description("Time spent writing a batch of logging events to the database")
+            .register(Metrics.globalRegistry)
+        super.start()
+        worker = Thread({ processQueue() }, "valtimo-database-appender-$name").apply {
+            isDaemon = true
+            start()
+        }
+        instances.add(this)
+    }
+
+    override fun stop() {
+        if (!isStarted) {
+            return
+        }
+        super.stop()
+        instances.remove(this)
+        worker?.let {
+            LockSupport.unpark(it)
+            it.join(maxFlushTimeMillis)
+            if (it.isAlive) {
+                addWarn("Stopped waiting for ${queue.size} logging events to be written after $maxFlushTimeMillis ms")
+            }
+        }
+        worker = null
+    }
+
+    override fun append(event: ILoggingEvent) {
+        if (Thread.currentThread() === worker) {
+            // Events caused by writing to the database would feed themselves
+            return
+        }
+        if (queue.remainingCapacity() < discardingThreshold && event.level.toInt() <= sheddingThreshold.toInt()) {
+            dropped(event, REASON_SHED)
+            return
+        }
+        event.prepareForDeferredProcessing()
+        if (includeCallerData) {
+            event.callerData
+        }
+        if (!queue.offer(event)) {
+            dropped(event, REASON_QUEUE_FULL)
+        } else if (queue.size >= batchSize) {
+            worker?.let { LockSupport.unpark(it) }
+        }
+    }
+
+    /**
+     * Writes all events that are waiting in the queue on the calling thread.
+     */
+    fun flush() {
+        val dataSource = dataSource ?: return
+        flushLock.withLock {
+            var remaining = queue.size
+            while (remaining > 0) {
+                val batch = ArrayList<ILoggingEvent>(minOf(remaining, batchSize))
+                queue.drainTo(batch, minOf(remaining, batchSize))
+                if (batch.isEmpty()) {
+                    return
+                }
+                remaining -= batch.size
+                write(dataSource, batch)
+            }
+        }
+    }
+
+    private fun processQueue() {
+        while (isStarted) {
+            val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis)
+            var waiting = deadline - System.nanoTime()
+            // Without a DataSource a full queue can not be flushed, so always wait out the interval
+            while (isStarted && (queue.size < batchSize || dataSource == null) && waiting > 0) {
+                LockSupport.parkNanos(this, waiting)
+                waiting = deadline - System.nanoTime()
+            }
+            flush()
+        }
+        flush()
+    }
+
+    private fun write(dataSource: DataSource, events: List<ILoggingEvent>) {
+        val sample = Timer.start()
+        try {
+            dataSource.connection.use { connection ->
+                val autoCommit = connection.autoCommit
+                connection.autoCommit = false
+                try {
+                    val eventIds = insertEvents(connection, events)
+                    insertProperties(connection, events, eventIds)
+                    insertExceptions(connection, events, eventIds)
+                    connection.commit()
+                } catch (e: Exception) {
+                    connection.rollback()
+                    throw e
+                } finally {
+                    connection.autoCommit = autoCommit
+                }
+            }
+        } catch (e: Exception) {
+            addError("Failed to write ${events.size} logging events to the database", e)
+            events.forEach { dropped(it, REASON_WRITE_FAILED) }
+        } finally {
+            sample.stop(flushTimer)
+        }
+    }
+
+    private fun insertEvents(connection: Connection, events: List<ILoggingEvent>): List<Long> {
+        connection.prepareStatement(INSERT_EVENT_SQL, arrayOf(EVENT_ID_COLUMN)).use { statement ->
+            events.forEach { event ->
+                statement.setLong(1, event.timeStamp)
+                statement.setString(2, event.formattedMessage)
+                statement.setString(3, event.loggerName)
+                statement.setString(4, event.level.toString())
+                statement.setString(5, event.threadName)
+                statement.setShort(6, DBHelper.computeReferenceMask(event))
+                bindArguments(statement, event.argumentArray)
+                val caller = event.callerData?.firstOrNull() ?: CallerData.naInstance()
+                statement.setString(11, caller.fileName ?: CallerData.NA)
+                statement.setString(12, caller.className)
+                statement.setString(13, caller.methodName)
+                statement.setString(14, caller.lineNumber.toString())
+                statement.addBatch()
+            }
+            statement.executeBatch()
+            val eventIds = ArrayList<Long>(events.size)
+            statement.generatedKeys.use { keys ->
+                while (keys.next()) {
+                    eventIds.add(keys.getLong(1))
+                }
+            }
+            check(eventIds.size == events.size) {
+                "Expected ${events.size} generated event ids but got ${eventIds.size}"
+            }
+            return eventIds
+        }
+    }
+
+    private fun bindArguments(statement: PreparedStatement, arguments: Array<Any?>?) {
+        for (i in 0 until MAX_ARGUMENTS) {
+            statement.setString(7 + i, arguments?.getOrNull(i)?.toString()?.take(MAX_VARCHAR_LENGTH))
+        }
+    }
+
+    private fun insertProperties(connection: Connection, events: List<ILoggingEvent>, eventIds: List<Long>) {
+        connection.prepareStatement(INSERT_PROPERTY_SQL).use { statement ->
+            var count = 0
+            events.forEachIndexed { index, event ->
+                val properties = HashMap<String, String?>()
+                event.loggerContextVO?.propertyMap?.let { properties.putAll(it) }
+                event.mdcPropertyMap?.let { properties.putAll(it) }
+                properties.forEach { (key, value) ->
+                    statement.setLong(1, eventIds[index])
+                    statement.setString(2, key.take(MAX_VARCHAR_LENGTH))
+                    statement.setString(3, value?.take(MAX_PROPERTY_VALUE_LENGTH))
+                    statement.addBatch()
+                    count++
+                }
+            }
+            if (count > 0) {
+                statement.executeBatch()
+            }
+        }
+    }
+
+    private fun insertExceptions(connection: Connection, events: List<ILoggingEvent>, eventIds: List<Long>) {
+        connection.prepareStatement(INSERT_EXCEPTION_SQL).use { statement ->
+            var count = 0
+            events.forEachIndexed { index, event ->
+                var throwable: IThrowableProxy? = event.throwableProxy
+                var lineIndex: Short = 0
+                while (throwable != null) {
+                    traceLines(throwable).forEach { traceLine ->
+                        statement.setLong(1, eventIds[index])
+                        statement.setShort(2, lineIndex++)
+                        statement.setString(3, traceLine)
+                        statement.addBatch()
+                        count++
+                    }
+                    throwable = throwable.cause
+                }
+            }
+            if (count > 0) {
+                statement.executeBatch()
+            }
+        }
+    }
+
+    /**
+     * Renders a throwable the same way logback's `DBAppender` does, so existing stack trace views keep working.
+     */
+    private fun traceLines(throwable: IThrowableProxy): List<String> {
+        val lines = ArrayList<String>()
+        lines.add(StringBuilder().also { ThrowableProxyUtil.subjoinFirstLine(it, throwable) }.toString())
+        val commonFrames = throwable.commonFrames
+        val frames = throwable.stackTraceElementProxyArray
+        for (i in 0 until frames.size - commonFrames) {
+            val line = StringBuilder().append(CoreConstants.TAB)
+            ThrowableProxyUtil.subjoinSTEP(line, frames[i])
+            lines.add(line.toString())
+        }
+        if (commonFrames > 0) {
+            lines.add("${CoreConstants.TAB}... $commonFrames common frames omitted")
+        }
+        return lines
+    }
+
+    private fun dropped(event: ILoggingEvent, reason: String) {
+        droppedCounters.computeIfAbsent(DroppedKey(event.level.levelStr, reason)) { key ->
+            Counter.builder("valtimo.logging.database.dropped")
+                .description("Logging events that were not written to the database")
+                .tag("level", key.level)
+                .tag("reason", key.reason)
+                .register(Metrics.globalRegistry)
+        }.increment()
+    }
+
+    private data class DroppedKey(val level: String, val reason: String)
+
+    companion object {
+        const val DEFAULT_QUEUE_SIZE = 10000
+        const val DEFAULT_BATCH_SIZE = 500
+        const val DEFAULT_FLUSH_INTERVAL_MILLIS = 1000L
+        const val DEFAULT_MAX_FLUSH_TIME_MILLIS = 5000L
+        private const val UNDEFINED = -1
+        private const val MAX_ARGUMENTS = 4
+        private const val MAX_VARCHAR_LENGTH = 254
+        private const val MAX_PROPERTY_VALUE_LENGTH = 1024
+        private const val REASON_SHED = "shed"
+        private const val REASON_QUEUE_FULL = "queue_full"
+        private const val REASON_WRITE_FAILED = "write_failed"
+        private const val EVENT_ID_COLUMN = "event_id"
+        private const val INSERT_EVENT_SQL = "INSERT INTO logging_event (timestmp, formatted_message, logger_name, " +
+            "level_string, thread_name, reference_flag, arg0, arg1, arg2, arg3, caller_filename, caller_class, " +
+            "caller_method, caller_line) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+        private const val INSERT_PROPERTY_SQL =
+            "INSERT INTO logging_event_property (event_id, mapped_key, mapped_value) VALUES (?, ?, ?)"
+        private const val INSERT_EXCEPTION_SQL =
+            "INSERT INTO logging_event_exception (event_id, i, trace_line) VALUES (?, ?, ?)"
+
+        private val instances = CopyOnWriteArraySet<ValtimoDatabaseAppender>()
+
+        @Volatile
+        internal var dataSource: DataSource? = null
+
+        /**
+         * Writes the events that are waiting in every started appender.
+         */
+        @JvmStatic
+        fun flushAll() {
+            instances.forEach { it.flush() }
+        }
+    }
+}
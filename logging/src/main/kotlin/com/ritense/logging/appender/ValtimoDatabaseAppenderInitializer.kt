@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.logging.appender
+
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import javax.sql.DataSource
+
+/**
+ * Hands the application [DataSource] to the [ValtimoDatabaseAppender]s once the database schema is in place, and
+ * writes their remaining events before the data source is closed.
+ */
+class ValtimoDatabaseAppenderInitializer(
+    private val dataSource: DataSource,
+) : DisposableBean {
+
+    @EventListener(ApplicationReadyEvent::class)
+    fun initialize() {
+        ValtimoDatabaseAppender.dataSource = dataSource
+        ValtimoDatabaseAppender.flushAll()
+    }
+
+    override fun destroy() {
+        ValtimoDatabaseAppender.flushAll()
+        ValtimoDatabaseAppender.dataSource = null
+    }
+}
@@ -20,8 +20,16 @@ import com.ritense.logging.domain.LoggingEventException
 import com.ritense.logging.domain.LoggingEventExceptionId
 import org.springframework.data.jpa.repository.JpaRepository
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository
 
 @Repository
 interface LoggingEventExceptionRepository : JpaRepository<LoggingEventException, LoggingEventExceptionId>,
-    JpaSpecificationExecutor<LoggingEventException>
\ No newline at end of file
+    JpaSpecificationExecutor<LoggingEventException> {
+
+    @Modifying
+    @Query("DELETE FROM LoggingEventException x WHERE x.id.eventId IN (:eventIds)")
+    fun deleteAllByEventIds(@Param("eventIds") eventIds: Collection<Long>): Int
+}
\ No newline at end of file
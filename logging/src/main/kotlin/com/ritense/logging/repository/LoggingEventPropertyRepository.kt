@@ -20,8 +20,16 @@ import com.ritense.logging.domain.LoggingEventProperty
 import com.ritense.logging.domain.LoggingEventPropertyId
 import org.springframework.data.jpa.repository.JpaRepository
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository
 
 @Repository
 interface LoggingEventPropertyRepository : JpaRepository<LoggingEventProperty, LoggingEventPropertyId>,
-    JpaSpecificationExecutor<LoggingEventProperty>
\ No newline at end of file
+    JpaSpecificationExecutor<LoggingEventProperty> {
+
+    @Modifying
+    @Query("DELETE FROM LoggingEventProperty x WHERE x.id.eventId IN (:eventIds)")
+    fun deleteAllByEventIds(@Param("eventIds") eventIds: Collection<Long>): Int
+}
\ No newline at end of file
@@ -17,9 +17,21 @@
 package com.ritense.logging.repository
 
 import com.ritense.logging.domain.LoggingEvent
+import org.springframework.data.domain.Pageable
 import org.springframework.data.jpa.repository.JpaRepository
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository
 
 @Repository
-interface LoggingEventRepository : JpaRepository<LoggingEvent, Long>, JpaSpecificationExecutor<LoggingEvent>
\ No newline at end of file
+interface LoggingEventRepository : JpaRepository<LoggingEvent, Long>, JpaSpecificationExecutor<LoggingEvent> {
+
+    @Query("SELECT e.id FROM LoggingEvent e WHERE e.timestamp < :timestamp ORDER BY e.timestamp")
+    fun findIdsOlderThan(@Param("timestamp") timestamp: Long, pageable: Pageable): List<Long>
+
+    @Modifying
+    @Query("DELETE FROM LoggingEvent e WHERE e.id IN (:ids)")
+    fun deleteAllByIds(@Param("ids") ids: Collection<Long>): Int
+}
\ No newline at end of file
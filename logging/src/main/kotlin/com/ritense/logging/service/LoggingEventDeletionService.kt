@@ -17,19 +17,27 @@
 package com.ritense.logging.service
 
 import com.ritense.logging.repository.LoggingEventExceptionRepository
-import com.ritense.logging.repository.LoggingEventExceptionSpecificationHelper
 import com.ritense.logging.repository.LoggingEventPropertyRepository
-import com.ritense.logging.repository.LoggingEventPropertySpecificationHelper
 import com.ritense.logging.repository.LoggingEventRepository
-import com.ritense.logging.repository.LoggingEventSpecificationHelper
 import com.ritense.valtimo.contract.annotation.SkipComponentScan
-import jakarta.transaction.Transactional
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Metrics
+import io.micrometer.core.instrument.Timer
+import mu.KotlinLogging
+import org.springframework.data.domain.PageRequest
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Service
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
 import java.time.Duration
 import java.time.LocalDateTime
+import java.time.ZoneId
 
-@Transactional
+/**
+ * Deletes logging events that are older than the retention period in batches of [batchSize], each in its own
+ * transaction, pausing [batchPause] between batches. A run stops after [maxDuration] and the next run continues
+ * where it left off.
+ */
 @Service
 @SkipComponentScan
 class LoggingEventDeletionService(
@@ -37,15 +45,74 @@ class LoggingEventDeletionService(
     private val loggingEventRepository: LoggingEventRepository,
     private val loggingEventPropertyRepository: LoggingEventPropertyRepository,
     private val loggingEventExceptionRepository: LoggingEventExceptionRepository,
+    platformTransactionManager: PlatformTransactionManager,
+    private val batchSize: Int = DEFAULT_BATCH_SIZE,
+    private val batchPause: Duration = DEFAULT_BATCH_PAUSE,
+    private val maxDuration: Duration = DEFAULT_MAX_DURATION,
 ) {
 
+    private val transactionTemplate = TransactionTemplate(platformTransactionManager)
+
+    init {
+        require(batchSize > 0) { "batchSize must be at least 1" }
+    }
+
     @Scheduled(
         cron = "\${valtimo.logging.deletionCron:0 0 4 * * ?}"
     )
     fun deleteOldLoggingEvents() {
         val retentionDateTime = LocalDateTime.now() - Duration.ofMinutes(retentionInMinutes)
-        loggingEventPropertyRepository.delete(LoggingEventPropertySpecificationHelper.byOlderThan(retentionDateTime))
-        loggingEventExceptionRepository.delete(LoggingEventExceptionSpecificationHelper.byOlderThan(retentionDateTime))
-        loggingEventRepository.delete(LoggingEventSpecificationHelper.byOlderThan(retentionDateTime))
+        val timestamp = retentionDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        val start = System.nanoTime()
+        val deadline = start + maxDuration.toNanos()
+        var purged = 0L
+        do {
+            val deleted = transactionTemplate.execute { deleteBatch(timestamp) }!!
+            purged += deleted
+        } while (deleted == batchSize && System.nanoTime() < deadline && pause())
+
+        val elapsed = Duration.ofNanos(System.nanoTime() - start)
+        Counter.builder("valtimo.retention.purged")
+            .description("Rows deleted by retention jobs")
+            .tag("table", TABLE)
+            .register(Metrics.globalRegistry)
+            .increment(purged.toDouble())
+        Timer.builder("valtimo.retention.run")
+            .description("Duration of retention job runs")
+            .tag("table", TABLE)
+            .register(Metrics.globalRegistry)
+            .record(elapsed)
+        logger.info { "Purged $purged logging events older than $retentionDateTime in ${elapsed.toMillis()} ms" }
+    }
+
+    private fun deleteBatch(timestamp: Long): Int {
+        val eventIds = loggingEventRepository.findIdsOlderThan(timestamp, PageRequest.of(0, batchSize))
+        if (eventIds.isEmpty()) {
+            return 0
+        }
+        loggingEventPropertyRepository.deleteAllByEventIds(eventIds)
+        loggingEventExceptionRepository.deleteAllByEventIds(eventIds)
+        return loggingEventRepository.deleteAllByIds(eventIds)
+    }
+
+    private fun pause(): Boolean {
+        if (batchPause.isZero || batchPause.isNegative) {
+            return true
+        }
+        return try {
+            Thread.sleep(batchPause.toMillis())
+            true
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            false
+        }
+    }
+
+    companion object {
+        const val DEFAULT_BATCH_SIZE = 1000
+        val DEFAULT_BATCH_PAUSE: Duration = Duration.ofMillis(50)
+        val DEFAULT_MAX_DURATION: Duration = Duration.ofMinutes(50)
+        private const val TABLE = "logging_event"
+        private val logger = KotlinLogging.logger {}
     }
 }
@@ -16,6 +16,7 @@
 
 package com.ritense.logging
 
+import com.ritense.logging.appender.ValtimoDatabaseAppender
 import com.ritense.logging.repository.LoggingEventSpecificationHelper.Companion.byLevel
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertTrue
@@ -50,6 +51,7 @@ class LoggingContextExceptionTranslatorIT : BaseIntegrationTest() {
         mockMvc.perform(get("/api/v1/test-error"))
             .andDo(MockMvcResultHandlers.print())
             .andExpect(status().is5xxServerError)
+        ValtimoDatabaseAppender.flushAll()
 
         val errorEvent = loggingEventRepository.findAll(byLevel("ERROR")).last()
 
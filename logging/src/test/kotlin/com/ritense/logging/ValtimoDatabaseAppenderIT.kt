@@ -16,6 +16,7 @@
 
 package com.ritense.logging
 
+import com.ritense.logging.appender.ValtimoDatabaseAppender
 import com.ritense.logging.repository.LoggingEventSpecificationHelper.Companion.byCallerClass
 import com.ritense.logging.repository.LoggingEventSpecificationHelper.Companion.byLevel
 import com.ritense.logging.repository.LoggingEventSpecificationHelper.Companion.byLikeFormattedMessage
@@ -44,6 +45,7 @@ class ValtimoDatabaseAppenderIT : BaseIntegrationTest() {
             logger.error(IllegalStateException("Test exception")) { "Test error message" }
         }
         logger.info { "Test info message" }
+        ValtimoDatabaseAppender.flushAll()
 
         val spec = byCallerClass(ValtimoDatabaseAppenderIT::class.java)
         val errorEvent = loggingEventRepository.findOne(spec.and(byLevel("ERROR"))).orElseThrow()
@@ -65,6 +67,7 @@ class ValtimoDatabaseAppenderIT : BaseIntegrationTest() {
     fun `should log very long trace_line`() {
         val veryLongExceptionMessage = "Very long exception message: ${(1..1000).joinToString(" ")}"
         logger.error(IllegalStateException("Test exception")) { veryLongExceptionMessage }
+        ValtimoDatabaseAppender.flushAll()
 
         val spec = byCallerClass(ValtimoDatabaseAppenderIT::class.java)
             .and(byLikeFormattedMessage("Very long exception message"))
@@ -74,6 +77,22 @@ class ValtimoDatabaseAppenderIT : BaseIntegrationTest() {
         assertEquals(3921, veryLongExceptionMessage.length)
     }
 
+    @Test
+    fun `should write many events in batches`() {
+        withLoggingContext("Batch key" to "Batch value") {
+            (1..1200).forEach { logger.warn { "Batched message $it" } }
+        }
+        ValtimoDatabaseAppender.flushAll()
+
+        val spec = byCallerClass(ValtimoDatabaseAppenderIT::class.java)
+            .and(byLikeFormattedMessage("Batched message"))
+        val events = loggingEventRepository.findAll(spec)
+
+        assertEquals(1200, events.size)
+        assertEquals(1200, events.map { it.formattedMessage }.toSet().size)
+        assertEquals("Batch value", events.first().properties.single().value)
+    }
+
     private companion object {
         private val logger: KLogger = KotlinLogging.logger {}
     }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.logging.appender
+
+import ch.qos.logback.classic.Level
+import ch.qos.logback.classic.LoggerContext
+import ch.qos.logback.classic.spi.LoggingEvent
+import io.micrometer.core.instrument.Metrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyInt
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.ArgumentMatchers.eq
+import org.mockito.Mockito.doAnswer
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.`when`
+import org.slf4j.LoggerFactory
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.util.concurrent.CopyOnWriteArrayList
+import javax.sql.DataSource
+
+class ValtimoDatabaseAppenderTest {
+
+    private val loggerContext = LoggerFactory.getILoggerFactory() as LoggerContext
+    private val meterRegistry = SimpleMeterRegistry()
+    private val batches = CopyOnWriteArrayList<List<String>>()
+    private val dataSource = recordingDataSource()
+    private var previousDataSource: DataSource? = null
+    private var appender: ValtimoDatabaseAppender? = null
+
+    @BeforeEach
+    fun setUp() {
+        Metrics.addRegistry(meterRegistry)
+        previousDataSource = ValtimoDatabaseAppender.dataSource
+        ValtimoDatabaseAppender.dataSource = null
+    }
+
+    @AfterEach
+    fun tearDown() {
+        appender?.stop()
+        ValtimoDatabaseAppender.dataSource = previousDataSource
+        Metrics.removeRegistry(meterRegistry)
+    }
+
+    @Test
+    fun `should shed events at or below the shedding level when the queue passes the threshold`() {
+        val appender = startAppender(queueSize = 10, discardingThreshold = 5)
+
+        repeat(6) { appender.doAppend(event(Level.INFO, "queued $it")) }
+        appender.doAppend(event(Level.INFO, "shed info"))
+        appender.doAppend(event(Level.DEBUG, "shed debug"))
+        appender.doAppend(event(Level.WARN, "kept warn"))
+        ValtimoDatabaseAppender.dataSource = dataSource
+        appender.flush()
+
+        val written = batches.flatten()
+        assertEquals((0 until 6).map { "queued $it" } + "kept warn", written)
+        assertEquals(1.0, dropped("INFO", "shed"))
+        assertEquals(1.0, dropped("DEBUG", "shed"))
+        assertEquals(0.0, dropped("WARN", "shed"))
+    }
+
+    @Test
+    fun `should drop every event when the queue is full`() {
+        val appender = startAppender(queueSize = 2, discardingThreshold = 0)
+
+        appender.doAppend(event(Level.ERROR, "first"))
+        appender.doAppend(event(Level.ERROR, "second"))
+        appender.doAppend(event(Level.ERROR, "third"))
+        ValtimoDatabaseAppender.dataSource = dataSource
+        appender.flush()
+
+        assertEquals(listOf("first", "second"), batches.flatten())
+        assertEquals(1.0, dropped("ERROR", "queue_full"))
+    }
+
+    @Test
+    fun `should write a batch once batch size events are waiting`() {
+        ValtimoDatabaseAppender.dataSource = dataSource
+        val appender = startAppender(batchSize = 3)
+
+        appender.doAppend(event(Level.INFO, "first"))
+        appender.doAppend(event(Level.INFO, "second"))
+        Thread.sleep(200)
+        assertTrue(batches.isEmpty())
+
+        appender.doAppend(event(Level.INFO, "third"))
+
+        awaitUntil { batches.isNotEmpty() }
+        assertEquals(listOf(listOf("first", "second", "third")), batches)
+    }
+
+    @Test
+    fun `should write waiting events once the flush interval has passed`() {
+        ValtimoDatabaseAppender.dataSource = dataSource
+        val appender = startAppender(flushIntervalMillis = 100)
+
+        appender.doAppend(event(Level.INFO, "first"))
+
+        awaitUntil { batches.isNotEmpty() }
+        assertEquals(listOf(listOf("first")), batches)
+    }
+
+    @Test
+    fun `should keep events until the DataSource is set`() {
+        val appender = startAppender(batchSize = 1, flushIntervalMillis = 50)
+
+        appender.doAppend(event(Level.INFO, "first"))
+        appender.doAppend(event(Level.INFO, "second"))
+        Thread.sleep(200)
+        assertTrue(batches.isEmpty())
+
+        ValtimoDatabaseAppender.dataSource = dataSource
+
+        awaitUntil { batches.flatten().size == 2 }
+        assertEquals(listOf("first", "second"), batches.flatten())
+    }
+
+    private fun startAppender(
+        queueSize: Int = 100,
+        batchSize: Int = 100,
+        flushIntervalMillis: Long = 60_000,
+        discardingThreshold: Int = 0,
+    ): ValtimoDatabaseAppender {
+        return ValtimoDatabaseAppender().apply {
+            context = loggerContext
+            name = "test"
+            this.queueSize = queueSize
+            this.batchSize = batchSize
+            this.flushIntervalMillis = flushIntervalMillis
+            this.discardingThreshold = discardingThreshold
+            includeCallerData = false
+            start()
+            appender = this
+        }
+    }
+
+    private fun event(level: Level, message: String): LoggingEvent {
+        val logger = loggerContext.getLogger(ValtimoDatabaseAppenderTest::class.java)
+        return LoggingEvent(ValtimoDatabaseAppenderTest::class.java.name, logger, level, message, null, null)
+    }
+
+    private fun dropped(level: String, reason: String): Double {
+        return meterRegistry.find("valtimo.logging.database.dropped")
+            .tags("level", level, "reason", reason)
+            .counter()
+            ?.count() ?: 0.0
+    }
+
+    private fun awaitUntil(condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + 5_000
+        while (!condition()) {
+            check(System.currentTimeMillis() < deadline) { "Condition not met within 5 seconds" }
+            Thread.sleep(10)
+        }
+    }
+
+    /**
+     * Data source that records the messages of each batch of logging events written to it.
+     */
+    private fun recordingDataSource(): DataSource {
+        val pending = ArrayList<String>()
+        var lastBatchSize = 0
+        val eventStatement = mock(PreparedStatement::class.java)
+        doAnswer { pending.add(it.getArgument(1)) }.`when`(eventStatement).setString(eq(2), anyString())
+        `when`(eventStatement.executeBatch()).thenAnswer {
+            lastBatchSize = pending.size
+            batches.add(pending.toList())
+            pending.clear()
+            IntArray(lastBatchSize) { 1 }
+        }
+        `when`(eventStatement.generatedKeys).thenAnswer {
+            var remaining = lastBatchSize
+            val keys = mock(ResultSet::class.java)
+            `when`(keys.next()).thenAnswer { remaining-- > 0 }
+            `when`(keys.getLong(anyInt())).thenReturn(1L)
+            keys
+        }
+        val connection = mock(Connection::class.java)
+        `when`(connection.prepareStatement(anyString(), any(Array<String>::class.java))).thenReturn(eventStatement)
+        `when`(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement::class.java))
+        val dataSource = mock(DataSource::class.java)
+        `when`(dataSource.connection).thenReturn(connection)
+        return dataSource
+    }
+}
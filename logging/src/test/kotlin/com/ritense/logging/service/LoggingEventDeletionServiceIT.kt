@@ -19,11 +19,14 @@ package com.ritense.logging.service
 import com.ritense.logging.BaseIntegrationTest
 import com.ritense.logging.domain.LoggingEvent
 import com.ritense.logging.repository.LoggingEventSpecificationHelper.Companion.byFormattedMessage
+import com.ritense.logging.repository.LoggingEventSpecificationHelper.Companion.byLikeFormattedMessage
 import jakarta.transaction.Transactional
 import mu.KLogger
 import mu.KotlinLogging
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.transaction.PlatformTransactionManager
 import java.time.Duration
 import java.time.LocalDateTime
 import java.time.ZoneId
@@ -32,6 +35,9 @@ import kotlin.random.Random
 @Transactional
 class LoggingEventDeletionServiceIT : BaseIntegrationTest() {
 
+    @Autowired
+    lateinit var platformTransactionManager: PlatformTransactionManager
+
     @Test
     fun `should log to database using valtimo-database-appender-xml`() {
         saveLoggingEvent("log line old", LocalDateTime.now() - Duration.ofDays(356))
@@ -43,6 +49,26 @@ class LoggingEventDeletionServiceIT : BaseIntegrationTest() {
         assertEquals(1, loggingEventRepository.count(byFormattedMessage("log line new")))
     }
 
+    @Test
+    fun `should delete old logging events in batches`() {
+        (1..5).forEach { saveLoggingEvent("batched log line old $it", LocalDateTime.now() - Duration.ofDays(356)) }
+        saveLoggingEvent("batched log line new", LocalDateTime.now())
+        val deletionService = LoggingEventDeletionService(
+            retentionInMinutes = 30240,
+            loggingEventRepository = loggingEventRepository,
+            loggingEventPropertyRepository = loggingEventPropertyRepository,
+            loggingEventExceptionRepository = loggingEventExceptionRepository,
+            platformTransactionManager = platformTransactionManager,
+            batchSize = 2,
+            batchPause = Duration.ZERO,
+        )
+
+        deletionService.deleteOldLoggingEvents()
+
+        assertEquals(0, loggingEventRepository.count(byLikeFormattedMessage("batched log line old")))
+        assertEquals(1, loggingEventRepository.count(byFormattedMessage("batched log line new")))
+    }
+
     private fun saveLoggingEvent(message: String, localDateTime: LocalDateTime) {
         val timestamp = localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
         loggingEventRepository.save(
@@ -17,6 +17,7 @@
 package com.ritense.openzaak.service.impl
 
 import com.ritense.openzaak.service.DocumentenService
+import com.ritense.openzaak.service.impl.model.documenten.CreateEnkelvoudigInformatieObjectRequest
 import com.ritense.openzaak.service.impl.model.documenten.DocumentCreatedResult
 import com.ritense.openzaak.service.impl.model.documenten.ZaakInformatieObjectCreatedResult
 import com.ritense.valtimo.contract.annotation.SkipComponentScan
@@ -31,7 +32,6 @@ import org.springframework.web.multipart.MultipartFile
 import java.net.URI
 import java.time.LocalDate
 import java.time.format.DateTimeFormatter
-import java.util.Base64
 import java.util.UUID
 
 @Service
@@ -49,25 +49,27 @@ class DocumentenService(
 
         val auteur = SecurityUtils.getCurrentUserLogin()?: DEFAULT_AUTEUR_NAME
 
-        return OpenZaakRequestBuilder(restTemplate, openZaakConfigService, openZaakTokenGeneratorService)
-            .path("/documenten/api/v1/enkelvoudiginformatieobjecten")
-            .post()
-            .body(
-                mapOf(
-                    "bronorganisatie" to openZaakConfigService.getOpenZaakConfig()!!.rsin,
-                    "creatiedatum" to LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-                    "titel" to multipartFile.originalFilename,
-                    "auteur" to auteur,
-                    "bestandsnaam" to multipartFile.originalFilename,
-                    "taal" to "nld",
-                    "inhoud" to Base64.getEncoder().encodeToString(multipartFile.bytes),
-                    "informatieobjecttype" to informatieObjectTypeLink.informatieObjectType,
-                    "status" to "definitief",
-                    "indicatieGebruiksrecht" to false
+        return multipartFile.inputStream.use { inhoud ->
+            OpenZaakRequestBuilder(restTemplate, openZaakConfigService, openZaakTokenGeneratorService)
+                .path("/documenten/api/v1/enkelvoudiginformatieobjecten")
+                .post()
+                .streamingBody(
+                    CreateEnkelvoudigInformatieObjectRequest(
+                        bronorganisatie = openZaakConfigService.getOpenZaakConfig()!!.rsin.toString(),
+                        creatiedatum = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                        titel = multipartFile.originalFilename,
+                        auteur = auteur,
+                        bestandsnaam = multipartFile.originalFilename,
+                        taal = "nld",
+                        inhoud = inhoud,
+                        informatieobjecttype = informatieObjectTypeLink.informatieObjectType,
+                        status = "definitief",
+                        indicatieGebruiksrecht = false
                     )
-            )
-            .build()
-            .execute(DocumentCreatedResult::class.java).url
+                )
+                .build()
+                .execute(DocumentCreatedResult::class.java).url
+        }
     }
 
     override fun createObjectInformatieObject(enkelvoudigInformatieObject: URI, documentId: UUID) {
@@ -38,6 +38,7 @@ data class OpenZaakRequestBuilder(
     private var queryParams: Map<String, String>? = null,
     private var body: Any? = null,
     private var acceptHeader: List<MediaType>? = null,
+    private var streamBody: Boolean = false,
 ) {
     lateinit var url: String
     lateinit var requestEntity: HttpEntity<Any>
@@ -58,6 +59,14 @@ data class OpenZaakRequestBuilder(
 
     fun body(body: Any) = apply { this.body = body }
 
+    /**
+     * Lets the RestTemplate write the body straight to the connection instead of serializing it to a String first.
+     */
+    fun streamingBody(body: Any) = apply {
+        this.body = body
+        this.streamBody = true
+    }
+
     fun acceptHeader(acceptHeader: List<MediaType>) = apply { this.acceptHeader = acceptHeader }
 
     fun build() = apply {
@@ -75,6 +84,8 @@ data class OpenZaakRequestBuilder(
         url = builder.build().normalize().toUriString()
         requestEntity = if (body == null || (body is Map<*, *> && (body as Map<*, *>).isEmpty()))
             HttpEntity(buildHeaders(this.config!!))
+        else if (streamBody)
+            HttpEntity(body!!, buildPostHeaders(this.config!!))
         else
             HttpEntity(MapperSingleton.get().writeValueAsString(body), buildPostHeaders(this.config!!))
     }
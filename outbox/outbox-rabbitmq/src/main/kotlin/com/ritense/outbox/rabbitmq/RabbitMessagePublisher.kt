@@ -57,8 +57,71 @@ class RabbitMessagePublisher(
 
         rabbitTemplate.convertAndSend(exchange, routingKey, message.message, correlationData)
 
+        awaitConfirm(message, correlationData, deliveryTimeout.toNanos())
+    }
+
+    /**
+     * Sends the messages over a single channel and awaits the publisher confirms in waves. Using one channel keeps the
+     * broker-side order equal to the outbox order.
+     *
+     * Messages of different partitions are sent without waiting in between. Before a second message of the same
+     * partition is sent, all messages in flight must be confirmed. A message of a partition is therefore never on the
+     * broker while an earlier message of that partition can still fail and be retried, which would break the order of
+     * the events about one resource.
+     */
+    override fun publishBatch(messages: List<OutboxMessage>): List<UUID> {
+        val confirmed = mutableListOf<UUID>()
+        var failure: MessagePublishingFailed? = null
+        rabbitTemplate.invoke { operations ->
+            val inFlight = mutableListOf<Pair<OutboxMessage, CorrelationData>>()
+            for (message in messages) {
+                if (inFlight.any { (inFlightMessage, _) -> inFlightMessage.partitionKey == message.partitionKey }) {
+                    failure = awaitConfirms(inFlight, confirmed)
+                    inFlight.clear()
+                    if (failure != null) {
+                        return@invoke
+                    }
+                }
+                val correlationData = CorrelationData(UUID.randomUUID().toString())
+                logger.trace { "Sending message to RabbitMQ: routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}" }
+                operations.convertAndSend(exchange, routingKey, message.message, correlationData)
+                inFlight.add(message to correlationData)
+            }
+            failure = awaitConfirms(inFlight, confirmed)
+        }
+
+        failure?.let { e ->
+            if (confirmed.isEmpty()) {
+                throw e
+            }
+            logger.warn { e.message }
+        }
+        return confirmed
+    }
+
+    /**
+     * Awaits the confirms of the given messages in order and adds the ids of the confirmed ones to [confirmed].
+     * Returns the failure of the first message that could not be confirmed, or null when all were confirmed.
+     */
+    private fun awaitConfirms(
+        inFlight: List<Pair<OutboxMessage, CorrelationData>>,
+        confirmed: MutableList<UUID>
+    ): MessagePublishingFailed? {
+        val deadline = System.nanoTime() + deliveryTimeout.toNanos()
+        for ((message, correlationData) in inFlight) {
+            try {
+                awaitConfirm(message, correlationData, deadline - System.nanoTime())
+            } catch (e: MessagePublishingFailed) {
+                return e
+            }
+            confirmed.add(message.id)
+        }
+        return null
+    }
+
+    private fun awaitConfirm(message: OutboxMessage, correlationData: CorrelationData, timeoutNanos: Long) {
         try {
-            val result = correlationData.future.get(deliveryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            val result = correlationData.future.get(timeoutNanos.coerceAtLeast(0), TimeUnit.NANOSECONDS)
             if (!result!!.isAck) {
                 throw MessagePublishingFailed("Outbox message was not acknowledged: reason=${result.reason}, routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}\"")
             } else if (correlationData.returned != null) {
@@ -8,11 +8,14 @@ import org.junit.jupiter.api.assertThrows
 import org.mockito.kotlin.any
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import org.springframework.amqp.core.MessageBuilder
 import org.springframework.amqp.core.ReturnedMessage
 import org.springframework.amqp.rabbit.connection.ConnectionFactory
 import org.springframework.amqp.rabbit.connection.CorrelationData
+import org.springframework.amqp.rabbit.core.RabbitOperations
 import org.springframework.amqp.rabbit.core.RabbitTemplate
 
 class RabbitMessagePublisherTest {
@@ -101,6 +104,29 @@ class RabbitMessagePublisherTest {
         Assertions.assertThat(ex.message).contains("not confirmed in time")
     }
 
+    @Test
+    fun `should not send the next message of a partition before the previous ones are confirmed`() {
+        val rabbitTemplate = getMockedRabbitTemplate()
+        whenever(rabbitTemplate.invoke<Any>(any())).thenAnswer { answer ->
+            answer.getArgument<RabbitOperations.OperationsCallback<Any>>(0).doInRabbit(rabbitTemplate)
+        }
+        whenever(rabbitTemplate.convertAndSend(any<String>(), eq("test"), any<String>(), any<CorrelationData>())).thenAnswer { answer ->
+            val correlationData = answer.getArgument(3, CorrelationData::class.java)
+            val ack = answer.getArgument(2, String::class.java) != "second"
+            correlationData.future.complete(CorrelationData.Confirm(ack, "reasons"))
+        }
+
+        val publisher = RabbitMessagePublisher(rabbitTemplate, "test")
+        val first = OutboxMessage(message = "first", partitionKey = 0)
+        val second = OutboxMessage(message = "second", partitionKey = 1)
+        val third = OutboxMessage(message = "third", partitionKey = 0)
+
+        val confirmed = publisher.publishBatch(listOf(first, second, third))
+
+        Assertions.assertThat(confirmed).containsExactly(first.id)
+        verify(rabbitTemplate, never()).convertAndSend(any<String>(), eq("test"), eq("third"), any<CorrelationData>())
+    }
+
     private fun getMockedRabbitTemplate(
         publisherConfirms: Boolean = true,
         publisherReturns: Boolean = true,
@@ -23,4 +23,8 @@ class NoopOutboxService : OutboxService {
     override fun send(eventSupplier: Supplier<BaseEvent>) {
         // Nothing to do
     }
+
+    override fun send(eventType: String, eventSupplier: Supplier<BaseEvent>) {
+        // Nothing to do
+    }
 }
\ No newline at end of file
@@ -35,5 +35,8 @@ class OutboxMessage(
     val message: String,
 
     @Column(name = "created_on")
-    val createdOn: LocalDateTime = LocalDateTime.now()
+    val createdOn: LocalDateTime = LocalDateTime.now(),
+
+    @Column(name = "partition_key")
+    val partitionKey: Int = 0
 )
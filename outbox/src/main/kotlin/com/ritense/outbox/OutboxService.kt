@@ -21,4 +21,20 @@ import java.util.function.Supplier
 
 interface OutboxService {
     fun send(eventSupplier: Supplier<BaseEvent>)
+
+    /**
+     * Sends an event of which the type is known up front. When events of this type are configured to be dropped, the
+     * supplier is never evaluated. Use this for high-volume events that are expensive to build.
+     */
+    fun send(eventType: String, eventSupplier: Supplier<BaseEvent>) = send(eventSupplier)
+
+    /**
+     * Sends an event of which the type is known up front, with a cheaper supplier for when events of this type are
+     * configured to be sent with ids only. Only one of the suppliers is evaluated.
+     */
+    fun send(
+        eventType: String,
+        eventSupplier: Supplier<BaseEvent>,
+        idsOnlyEventSupplier: Supplier<BaseEvent>
+    ) = send(eventType, eventSupplier)
 }
\ No newline at end of file
@@ -17,6 +17,10 @@
 package com.ritense.outbox
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.ArrayNode
+import com.fasterxml.jackson.databind.node.ContainerNode
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.ritense.outbox.config.OutboxEventPayloadProperties
 import com.ritense.outbox.domain.BaseEvent
 import com.ritense.outbox.domain.CloudEventData
 import com.ritense.outbox.exception.OutboxTransactionReadOnlyException
@@ -25,11 +29,14 @@ import io.cloudevents.core.builder.CloudEventBuilder
 import io.cloudevents.core.provider.EventFormatProvider
 import io.cloudevents.jackson.JsonFormat
 import mu.KotlinLogging
+import org.springframework.context.ApplicationEventPublisher
 import org.springframework.transaction.annotation.Propagation
 import org.springframework.transaction.annotation.Transactional
 import org.springframework.transaction.support.TransactionSynchronizationManager
 import java.net.URI
+import java.time.LocalDateTime
 import java.time.ZonedDateTime
+import java.util.Objects
 import java.util.UUID
 import java.util.function.Supplier
 import kotlin.text.Charsets.UTF_8
@@ -39,11 +46,47 @@ open class ValtimoOutboxService(
     private val objectMapper: ObjectMapper,
     private val userProvider: UserProvider,
     private val cloudEventSource: String,
+    private val partitions: Int = 1,
+    private val applicationEventPublisher: ApplicationEventPublisher? = null,
+    private val eventPayloadProperties: OutboxEventPayloadProperties = OutboxEventPayloadProperties(),
 ) : OutboxService {
 
+    init {
+        require(partitions > 0) { "The number of outbox partitions must be at least 1" }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    override fun send(eventType: String, eventSupplier: Supplier<BaseEvent>) {
+        if (eventPayloadProperties.drop.contains(eventType)) {
+            logger.trace { "Dropping outbox event of type '$eventType'" }
+            return
+        }
+        send(eventSupplier)
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    override fun send(
+        eventType: String,
+        eventSupplier: Supplier<BaseEvent>,
+        idsOnlyEventSupplier: Supplier<BaseEvent>
+    ) {
+        if (eventPayloadProperties.idsOnly.contains(eventType)) {
+            send(eventType, idsOnlyEventSupplier)
+        } else {
+            send(eventType, eventSupplier)
+        }
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     override fun send(eventSupplier: Supplier<BaseEvent>) {
-        val baseEvent = eventSupplier.get()
+        var baseEvent = eventSupplier.get()
+        if (eventPayloadProperties.drop.contains(baseEvent.type)) {
+            logger.trace { "Dropping outbox event of type '${baseEvent.type}'" }
+            return
+        }
+        if (eventPayloadProperties.idsOnly.contains(baseEvent.type)) {
+            baseEvent = IdsOnlyEvent(baseEvent)
+        }
 
         val userId = baseEvent.userId ?: userProvider.getCurrentUserLogin() ?: "System"
         val roles = baseEvent.roles.ifEmpty { userProvider.getCurrentUserRoles() }
@@ -63,7 +106,7 @@ open class ValtimoOutboxService(
             .serialize(cloudEvent)
         val serializedCloudEventString = String(serializedCloudEvent, UTF_8)
 
-        send(serializedCloudEventString)
+        send(serializedCloudEventString, partitionKeyOf(baseEvent))
     }
 
     /**
@@ -79,23 +122,89 @@ open class ValtimoOutboxService(
      * }
      */
     @Transactional(propagation = Propagation.MANDATORY)
-    open fun send(message: String) {
+    open fun send(message: String) = send(message, 0)
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    open fun send(message: String, partitionKey: Int) {
         if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
             throw OutboxTransactionReadOnlyException()
         }
 
         val outboxMessage = OutboxMessage(
-            message = message
+            message = message,
+            partitionKey = partitionKey
         )
         logger.debug { "Saving OutboxMessage '${outboxMessage.id}'" }
         outboxMessageRepository.save(outboxMessage)
+        applicationEventPublisher?.publishEvent(OutboxMessageStoredEvent(outboxMessage.id))
     }
 
     open fun getOldestMessage() = outboxMessageRepository.findOutboxMessage()
 
+    open fun getOldestMessages(limit: Int) = outboxMessageRepository.findOutboxMessages(limit)
+
+    open fun getOldestMessagesInPartitions(partitions: Collection<Int>, limit: Int) =
+        outboxMessageRepository.findOutboxMessagesInPartitions(partitions, limit)
+
+    open fun claimPartitions(limit: Int): List<Int> {
+        val claimed = outboxMessageRepository.claimPartitions(limit)
+        if (claimed.isNotEmpty()) {
+            outboxMessageRepository.markPartitionsClaimed(claimed, LocalDateTime.now())
+        }
+        return claimed
+    }
+
+    open fun createPartitions() {
+        val now = LocalDateTime.now()
+        (0 until partitions).forEach { outboxMessageRepository.createPartition(it, now) }
+    }
+
+    /**
+     * Events about the same resource always end up in the same partition, so they are published in order even when
+     * several nodes publish from the outbox at the same time.
+     */
+    open fun partitionKeyOf(event: BaseEvent): Int {
+        return Math.floorMod(Objects.hash(event.resultType, event.resultId), partitions)
+    }
+
     open fun deleteMessage(id: UUID) = outboxMessageRepository.deleteById(id)
 
+    open fun deleteMessages(ids: Collection<UUID>) = outboxMessageRepository.deleteAllByIdInBatch(ids)
+
+    /**
+     * Copy of an event of which the result only keeps the 'id' fields. For a single resource the result is dropped
+     * entirely, as the resultId already identifies it.
+     */
+    private class IdsOnlyEvent(event: BaseEvent) : BaseEvent(
+        id = event.id,
+        type = event.type,
+        date = event.date,
+        userId = event.userId,
+        roles = event.roles,
+        resultType = event.resultType,
+        resultId = event.resultId,
+        result = idsOf(event)
+    )
+
     companion object {
         private val logger = KotlinLogging.logger {}
+
+        private fun idsOf(event: BaseEvent): ContainerNode<*>? {
+            return when (val result = event.result) {
+                is ArrayNode -> {
+                    val ids = result.arrayNode()
+                    result.forEach { element -> element.get("id")?.let { ids.add(it) } }
+                    ids
+                }
+                is ObjectNode -> {
+                    if (event.resultId != null || !result.has("id")) {
+                        null
+                    } else {
+                        result.objectNode().set<ObjectNode>("id", result.get("id"))
+                    }
+                }
+                else -> null
+            }
+        }
     }
 }
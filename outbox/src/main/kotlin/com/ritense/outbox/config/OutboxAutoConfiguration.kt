@@ -24,21 +24,29 @@ import com.ritense.outbox.OutboxService
 import com.ritense.outbox.UserProvider
 import com.ritense.outbox.ValtimoOutboxService
 import com.ritense.outbox.config.condition.ConditionalOnOutboxEnabled
+import com.ritense.outbox.postgres.PostgresNotificationListener
 import com.ritense.outbox.repository.impl.MySqlOutboxMessageRepository
 import com.ritense.outbox.repository.impl.PostgresOutboxMessageRepository
 import com.ritense.outbox.publisher.MessagePublisher
+import com.ritense.outbox.publisher.PartitionedPollingPublisherService
 import com.ritense.outbox.publisher.PollingPublisherJob
 import com.ritense.outbox.publisher.PollingPublisherService
+import com.ritense.outbox.publisher.PollingPublisherTrigger
+import com.ritense.outbox.publisher.PostgresPublisherListener
+import com.ritense.outbox.publisher.PostgresPublisherNotifier
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.AutoConfiguration
 import org.springframework.boot.autoconfigure.AutoConfigureAfter
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.boot.autoconfigure.domain.EntityScan
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration
 import org.springframework.boot.context.properties.EnableConfigurationProperties
+import org.springframework.context.ApplicationEventPublisher
 import org.springframework.context.annotation.Bean
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean
@@ -51,7 +59,7 @@ import javax.sql.DataSource
 @EnableJpaRepositories(basePackages = ["com.ritense.outbox.repository.impl"])
 @EntityScan(basePackages = ["com.ritense.outbox"])
 @AutoConfigureAfter(DataSourceAutoConfiguration::class, HibernateJpaAutoConfiguration::class)
-@EnableConfigurationProperties(LiquibaseProperties::class)
+@EnableConfigurationProperties(LiquibaseProperties::class, OutboxEventPayloadProperties::class)
 class OutboxAutoConfiguration {
 
     @Bean
@@ -77,12 +85,37 @@ class OutboxAutoConfiguration {
         objectMapper: ObjectMapper,
         userProvider: UserProvider,
         @Value("\${valtimo.outbox.publisher.cloudevent-source:\${spring.application.name:application}}") cloudEventSource: String,
+        @Value("\${valtimo.outbox.publisher.partitioning.partitions:16}") partitions: Int,
+        applicationEventPublisher: ApplicationEventPublisher,
+        eventPayloadProperties: OutboxEventPayloadProperties,
     ): OutboxService {
         return ValtimoOutboxService(
             outboxMessageRepository,
             objectMapper,
             userProvider,
             cloudEventSource,
+            partitions,
+            applicationEventPublisher,
+            eventPayloadProperties,
+        )
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PollingPublisherService::class)
+    @ConditionalOnProperty(prefix = "valtimo.outbox.publisher.partitioning", name = ["enabled"], havingValue = "true")
+    fun partitionedPollingPublisherService(
+        outboxService: ValtimoOutboxService,
+        messagePublisher: MessagePublisher,
+        platformTransactionManager: PlatformTransactionManager,
+        @Value("\${valtimo.outbox.publisher.polling.batch-size:1}") batchSize: Int,
+        @Value("\${valtimo.outbox.publisher.partitioning.partitions-per-poll:4}") partitionsPerPoll: Int,
+    ): PollingPublisherService {
+        return PartitionedPollingPublisherService(
+            outboxService,
+            messagePublisher,
+            platformTransactionManager,
+            batchSize,
+            partitionsPerPoll,
         )
     }
 
@@ -91,12 +124,14 @@ class OutboxAutoConfiguration {
     fun pollingPublisherService(
         outboxService: ValtimoOutboxService,
         messagePublisher: MessagePublisher,
-        platformTransactionManager: PlatformTransactionManager
+        platformTransactionManager: PlatformTransactionManager,
+        @Value("\${valtimo.outbox.publisher.polling.batch-size:1}") batchSize: Int,
     ): PollingPublisherService {
         return PollingPublisherService(
             outboxService,
             messagePublisher,
-            platformTransactionManager
+            platformTransactionManager,
+            batchSize,
         )
     }
 
@@ -108,6 +143,39 @@ class OutboxAutoConfiguration {
         return PollingPublisherJob(pollingPublisherService)
     }
 
+    @Bean
+    @ConditionalOnMissingBean(PollingPublisherTrigger::class)
+    @ConditionalOnProperty(prefix = "valtimo.outbox.publisher.wakeup", name = ["enabled"], havingValue = "true")
+    fun pollingPublisherTrigger(
+        pollingPublisherService: PollingPublisherService
+    ): PollingPublisherTrigger {
+        return PollingPublisherTrigger(pollingPublisherService)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PostgresPublisherNotifier::class)
+    @ConditionalOnBean(PollingPublisherTrigger::class)
+    @ConditionalOnProperty(prefix = "valtimo", name = ["database"], havingValue = "postgres")
+    fun postgresPublisherNotifier(
+        dataSource: DataSource
+    ): PostgresPublisherNotifier {
+        return PostgresPublisherNotifier(dataSource)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PostgresPublisherListener::class)
+    @ConditionalOnBean(PollingPublisherTrigger::class)
+    @ConditionalOnProperty(prefix = "valtimo", name = ["database"], havingValue = "postgres")
+    fun postgresPublisherListener(
+        dataSourceProperties: DataSourceProperties,
+        pollingPublisherTrigger: PollingPublisherTrigger
+    ): PostgresPublisherListener {
+        return PostgresPublisherListener(
+            PostgresNotificationListener.dedicatedDataSource(dataSourceProperties),
+            pollingPublisherTrigger
+        )
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "valtimo", name = ["database"], havingValue = "postgres")
     fun postgresOutboxMessageRepository(): JpaRepositoryFactoryBean<OutboxMessageRepository, OutboxMessage, UUID> {
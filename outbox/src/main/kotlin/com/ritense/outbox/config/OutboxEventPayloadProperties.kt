@@ -0,0 +1,30 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ritense.outbox.config
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+/**
+ * Controls how much of an event ends up in the outbox, per event type.
+ *
+ * Event types listed under [drop] are not stored at all. Event types listed under [idsOnly] are stored with a result
+ * that only contains the ids of the affected resources. All other events are stored in full.
+ */
+@ConfigurationProperties(prefix = "valtimo.outbox.event-payload")
+data class OutboxEventPayloadProperties(
+    val drop: Set<String> = emptySet(),
+    val idsOnly: Set<String> = emptySet(),
+)
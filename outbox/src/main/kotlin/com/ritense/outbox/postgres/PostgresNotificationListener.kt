@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ritense.outbox.postgres
+
+import mu.KotlinLogging
+import org.postgresql.PGConnection
+import org.postgresql.PGNotification
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties
+import org.springframework.jdbc.datasource.SimpleDriverDataSource
+import java.sql.Connection
+import java.time.Duration
+import javax.sql.DataSource
+
+/**
+ * Runs a daemon thread that listens on a Postgres notification channel and hands the received notifications to
+ * [onNotifications]. When the connection is lost, the listener reconnects after [reconnectDelay].
+ *
+ * The listener holds its connection for as long as it runs. The given data source should therefore open a dedicated
+ * connection, see [dedicatedDataSource], instead of taking one from the application's connection pool.
+ */
+class PostgresNotificationListener(
+    private val dataSource: DataSource,
+    private val channel: String,
+    private val threadName: String,
+    private val reconnectDelay: Duration = Duration.ofSeconds(5),
+    private val onNotifications: (Array<PGNotification>) -> Unit,
+) {
+
+    @Volatile
+    private var running = false
+
+    private var thread: Thread? = null
+
+    fun start() {
+        running = true
+        thread = Thread(::listen, threadName).apply {
+            isDaemon = true
+            start()
+        }
+    }
+
+    fun stop() {
+        running = false
+        thread?.interrupt()
+        thread = null
+    }
+
+    fun isRunning() = running
+
+    private fun listen() {
+        while (running) {
+            try {
+                dataSource.connection.use { connection ->
+                    connection.autoCommit = true
+                    connection.createStatement().use { it.execute("LISTEN $channel") }
+                    logger.debug { "Listening for notifications on channel '$channel'" }
+                    awaitNotifications(connection)
+                }
+            } catch (e: Exception) {
+                if (running) {
+                    logger.warn(e) { "Lost connection while listening on channel '$channel'. Reconnecting in $reconnectDelay" }
+                    try {
+                        Thread.sleep(reconnectDelay.toMillis())
+                    } catch (interrupted: InterruptedException) {
+                        Thread.currentThread().interrupt()
+                        return
+                    }
+                }
+            }
+        }
+    }
+
+    private fun awaitNotifications(connection: Connection) {
+        val pgConnection = connection.unwrap(PGConnection::class.java)
+        while (running) {
+            val notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MILLIS)
+            if (!notifications.isNullOrEmpty()) {
+                onNotifications(notifications)
+            }
+        }
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+        private const val NOTIFICATION_TIMEOUT_MILLIS = 10_000
+
+        /**
+         * Creates a data source that opens a new connection to the configured database on every call, outside the
+         * application's connection pool.
+         */
+        @JvmStatic
+        fun dedicatedDataSource(dataSourceProperties: DataSourceProperties): DataSource {
+            return dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource::class.java)
+                .build()
+        }
+    }
+}
@@ -17,8 +17,32 @@
 package com.ritense.outbox.publisher
 
 import com.ritense.outbox.OutboxMessage
+import java.util.UUID
 
 interface MessagePublisher {
 
     fun publish(message: OutboxMessage)
+
+    /**
+     * Publishes the messages in the given order and returns the ids of the leading messages that were confirmed.
+     *
+     * Publishing stops at the first message that could not be confirmed. That message and every message after it
+     * are left out of the result, so they stay in the outbox and are retried in the same order.
+     * When not even the first message could be published, a [MessagePublishingFailed] is thrown.
+     */
+    fun publishBatch(messages: List<OutboxMessage>): List<UUID> {
+        val confirmed = mutableListOf<UUID>()
+        for (message in messages) {
+            try {
+                publish(message)
+            } catch (e: MessagePublishingFailed) {
+                if (confirmed.isEmpty()) {
+                    throw e
+                }
+                break
+            }
+            confirmed.add(message.id)
+        }
+        return confirmed
+    }
 }
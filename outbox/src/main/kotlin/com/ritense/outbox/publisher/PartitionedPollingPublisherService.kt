@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import com.ritense.outbox.ValtimoOutboxService
+import mu.KotlinLogging
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Publisher for deployments with several nodes. Instead of every node competing for the oldest message, each poll
+ * claims a set of partitions by locking their rows in the outbox_partition table. Only the node holding the lock on a
+ * partition publishes its messages, so messages about the same resource stay in order while different nodes publish
+ * different partitions in parallel.
+ */
+open class PartitionedPollingPublisherService(
+    private val outboxService: ValtimoOutboxService,
+    private val messagePublisher: MessagePublisher,
+    private val platformTransactionManager: PlatformTransactionManager,
+    private val batchSize: Int = 1,
+    private val partitionsPerPoll: Int = 1,
+) : PollingPublisherService(outboxService, messagePublisher, platformTransactionManager, batchSize) {
+
+    private val partitionsCreated = AtomicBoolean(false)
+
+    init {
+        require(partitionsPerPoll > 0) { "The number of partitions claimed per poll must be at least 1" }
+    }
+
+    override fun pollAndPublishAll() {
+        createPartitions()
+        try {
+            do {
+                val publishedAny = TransactionTemplate(platformTransactionManager).execute {
+                    val partitions = outboxService.claimPartitions(partitionsPerPoll)
+                    if (partitions.isEmpty()) {
+                        return@execute false
+                    }
+                    publishPartitions(partitions)
+                }
+            } while (publishedAny == true)
+        } catch (e: Exception) {
+            throw RuntimeException("Failed to poll and publish outbox messages", e)
+        }
+    }
+
+    /**
+     * Publishes the messages of the claimed partitions until they are empty, as long as the partition locks are held.
+     */
+    protected open fun publishPartitions(partitions: List<Int>): Boolean {
+        var published = 0
+        do {
+            val messages = outboxService.getOldestMessagesInPartitions(partitions, batchSize)
+            if (messages.isEmpty()) {
+                break
+            }
+            logger.debug { "Sending ${messages.size} OutboxMessages from partitions $partitions" }
+            val confirmedIds = messagePublisher.publishBatch(messages)
+            outboxService.deleteMessages(confirmedIds)
+            published += confirmedIds.size
+            if (confirmedIds.size < messages.size) {
+                logger.warn { "Only ${confirmedIds.size} of ${messages.size} OutboxMessages were confirmed. Retrying the rest on the next poll." }
+                return false
+            }
+        } while (messages.size == batchSize && published < MAX_MESSAGES_PER_CLAIM)
+        return published > 0
+    }
+
+    private fun createPartitions() {
+        if (!partitionsCreated.get()) {
+            TransactionTemplate(platformTransactionManager).executeWithoutResult {
+                outboxService.createPartitions()
+            }
+            partitionsCreated.set(true)
+        }
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+
+        // Releases the partition locks now and then, so other nodes get a chance to take over busy partitions
+        private const val MAX_MESSAGES_PER_CLAIM = 1000
+    }
+}
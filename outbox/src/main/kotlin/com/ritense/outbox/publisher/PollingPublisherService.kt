@@ -25,11 +25,13 @@ import java.util.concurrent.atomic.AtomicBoolean
 open class PollingPublisherService(
     private val outboxService: ValtimoOutboxService,
     private val messagePublisher: MessagePublisher,
-    private val platformTransactionManager: PlatformTransactionManager
+    private val platformTransactionManager: PlatformTransactionManager,
+    private val batchSize: Int = 1,
 ) {
     private val polling = AtomicBoolean(false)
 
     init {
+        require(batchSize > 0) { "The outbox publisher batch size must be at least 1" }
         logger.info { "Using ${messagePublisher::class.qualifiedName} as outbox message publisher." }
     }
 
@@ -37,6 +39,10 @@ open class PollingPublisherService(
      * Poll messages from the outbox table and publishes them in the correct order.
      */
     open fun pollAndPublishAll() {
+        if (batchSize > 1) {
+            pollAndPublishAllInBatches()
+            return
+        }
         if (polling.compareAndSet(false, true)) {
             try {
                 do {
@@ -59,6 +65,38 @@ open class PollingPublisherService(
         }
     }
 
+    /**
+     * Claims up to [batchSize] of the oldest messages at once, publishes them with their confirms in flight and
+     * deletes the confirmed messages in a single statement. When only part of a batch is confirmed, the confirmed
+     * messages are removed and polling stops, so the remaining messages are retried in order on the next poll.
+     */
+    protected open fun pollAndPublishAllInBatches() {
+        if (polling.compareAndSet(false, true)) {
+            try {
+                do {
+                    val batchComplete = TransactionTemplate(platformTransactionManager).execute {
+                        val messages = outboxService.getOldestMessages(batchSize)
+                        if (messages.isEmpty()) {
+                            return@execute false
+                        }
+                        logger.debug { "Sending ${messages.size} OutboxMessages, starting with '${messages.first().id}'" }
+                        val confirmedIds = messagePublisher.publishBatch(messages)
+                        outboxService.deleteMessages(confirmedIds)
+                        if (confirmedIds.size < messages.size) {
+                            logger.warn { "Only ${confirmedIds.size} of ${messages.size} OutboxMessages were confirmed. Retrying the rest on the next poll." }
+                            return@execute false
+                        }
+                        messages.size == batchSize
+                    }
+                } while (batchComplete == true)
+            } catch (e: Exception) {
+                throw RuntimeException("Failed to poll and publish outbox messages", e)
+            } finally {
+                polling.set(false)
+            }
+        }
+    }
+
     companion object {
         val logger = KotlinLogging.logger {}
     }
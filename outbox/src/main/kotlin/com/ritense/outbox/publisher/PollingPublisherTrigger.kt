@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ritense.outbox.publisher
+
+import com.ritense.outbox.OutboxMessageStoredEvent
+import mu.KotlinLogging
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.transaction.event.TransactionPhase
+import org.springframework.transaction.event.TransactionalEventListener
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Wakes up the [PollingPublisherService] as soon as new outbox messages are committed, instead of waiting for the next
+ * scheduled poll. Wake-ups that arrive while a poll is already queued are merged, because a single poll publishes all
+ * messages that are available at that moment.
+ */
+open class PollingPublisherTrigger(
+    private val pollingPublisherService: PollingPublisherService,
+) : DisposableBean {
+
+    private val pending = AtomicBoolean(false)
+
+    private val executor: ExecutorService = Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "outbox-publisher-wakeup").apply { isDaemon = true }
+    }
+
+    @TransactionalEventListener(OutboxMessageStoredEvent::class, phase = TransactionPhase.AFTER_COMMIT)
+    open fun onOutboxMessageStored() {
+        wakeUp()
+    }
+
+    open fun wakeUp() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute {
+                pending.set(false)
+                try {
+                    pollingPublisherService.pollAndPublishAll()
+                } catch (e: Exception) {
+                    logger.warn(e) { "Outbox publishing after wake-up failed. Messages will be published by the next scheduled poll." }
+                }
+            }
+        }
+    }
+
+    override fun destroy() {
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ritense.outbox.publisher
+
+import com.ritense.outbox.postgres.PostgresNotificationListener
+import org.springframework.context.SmartLifecycle
+import java.time.Duration
+import javax.sql.DataSource
+
+/**
+ * Listens for the notifications sent by [PostgresPublisherNotifier] on any node and wakes up the local publisher.
+ * The listener keeps one connection of the given data source open for as long as the application runs, so that data
+ * source should not be the application's connection pool.
+ */
+open class PostgresPublisherListener(
+    dataSource: DataSource,
+    private val pollingPublisherTrigger: PollingPublisherTrigger,
+    reconnectDelay: Duration = Duration.ofSeconds(5),
+) : SmartLifecycle {
+
+    private val listener = PostgresNotificationListener(
+        dataSource,
+        PostgresPublisherNotifier.CHANNEL,
+        "outbox-publisher-listener",
+        reconnectDelay
+    ) { pollingPublisherTrigger.wakeUp() }
+
+    override fun start() = listener.start()
+
+    override fun stop() = listener.stop()
+
+    override fun isRunning() = listener.isRunning()
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ritense.outbox.publisher
+
+import com.ritense.outbox.OutboxMessageStoredEvent
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.event.TransactionPhase
+import org.springframework.transaction.event.TransactionalEventListener
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import javax.sql.DataSource
+
+/**
+ * Sends a Postgres NOTIFY from every transaction that stored outbox messages. Postgres only delivers the notification
+ * when the transaction commits, so listening nodes never wake up for messages they cannot see yet.
+ */
+open class PostgresPublisherNotifier(
+    dataSource: DataSource,
+) {
+    private val jdbcTemplate = JdbcTemplate(dataSource)
+
+    @TransactionalEventListener(OutboxMessageStoredEvent::class, phase = TransactionPhase.BEFORE_COMMIT)
+    open fun onOutboxMessageStored() {
+        // One notification per transaction is enough, no matter how many messages were stored
+        if (TransactionSynchronizationManager.hasResource(NOTIFIED_RESOURCE_KEY)) {
+            return
+        }
+        TransactionSynchronizationManager.bindResource(NOTIFIED_RESOURCE_KEY, true)
+        TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+            override fun afterCompletion(status: Int) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NOTIFIED_RESOURCE_KEY)
+            }
+        })
+        jdbcTemplate.execute("NOTIFY $CHANNEL")
+    }
+
+    companion object {
+        const val CHANNEL = "valtimo_outbox"
+        private val NOTIFIED_RESOURCE_KEY = PostgresPublisherNotifier::class.java.name + ".notified"
+    }
+}
@@ -19,10 +19,25 @@ package com.ritense.outbox.repository
 import com.ritense.outbox.OutboxMessage
 import org.springframework.data.jpa.repository.JpaRepository
 import org.springframework.data.repository.NoRepositoryBean
+import java.time.LocalDateTime
 import java.util.UUID
 
 @NoRepositoryBean
 interface OutboxMessageRepository : JpaRepository<OutboxMessage, UUID> {
 
     fun findOutboxMessage(): OutboxMessage?
+
+    fun findOutboxMessages(limit: Int): List<OutboxMessage>
+
+    fun findOutboxMessagesInPartitions(partitions: Collection<Int>, limit: Int): List<OutboxMessage>
+
+    /**
+     * Locks up to [limit] partitions that contain messages, skipping partitions locked by other nodes. The lock is
+     * held until the surrounding transaction ends and acts as the lease on those partitions.
+     */
+    fun claimPartitions(limit: Int): List<Int>
+
+    fun markPartitionsClaimed(partitions: Collection<Int>, now: LocalDateTime)
+
+    fun createPartition(partitionNumber: Int, now: LocalDateTime)
 }
@@ -18,12 +18,49 @@ package com.ritense.outbox.repository.impl
 
 import com.ritense.outbox.OutboxMessage
 import com.ritense.outbox.repository.OutboxMessageRepository
+import org.springframework.data.jpa.repository.Modifying
 import org.springframework.data.jpa.repository.Query
 import org.springframework.data.repository.NoRepositoryBean
+import org.springframework.data.repository.query.Param
+import java.time.LocalDateTime
 
 @NoRepositoryBean
 interface PostgresOutboxMessageRepository : OutboxMessageRepository {
 
     @Query("SELECT * FROM outbox_message ORDER BY created_on ASC LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
     override fun findOutboxMessage(): OutboxMessage?
+
+    @Query("SELECT * FROM outbox_message ORDER BY created_on ASC LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    override fun findOutboxMessages(@Param("limit") limit: Int): List<OutboxMessage>
+
+    @Query(
+        "SELECT * FROM outbox_message WHERE partition_key IN (:partitions) ORDER BY created_on ASC LIMIT :limit",
+        nativeQuery = true
+    )
+    override fun findOutboxMessagesInPartitions(
+        @Param("partitions") partitions: Collection<Int>,
+        @Param("limit") limit: Int
+    ): List<OutboxMessage>
+
+    @Query(
+        "SELECT p.partition_number FROM outbox_partition p " +
+            "WHERE EXISTS (SELECT 1 FROM outbox_message m WHERE m.partition_key = p.partition_number) " +
+            "ORDER BY p.last_claimed_on ASC LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    override fun claimPartitions(@Param("limit") limit: Int): List<Int>
+
+    @Modifying
+    @Query("UPDATE outbox_partition SET last_claimed_on = :now WHERE partition_number IN (:partitions)", nativeQuery = true)
+    override fun markPartitionsClaimed(
+        @Param("partitions") partitions: Collection<Int>,
+        @Param("now") now: LocalDateTime
+    )
+
+    @Modifying
+    @Query("INSERT INTO outbox_partition (partition_number, last_claimed_on) VALUES (:partitionNumber, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    override fun createPartition(
+        @Param("partitionNumber") partitionNumber: Int,
+        @Param("now") now: LocalDateTime
+    )
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.ritense.outbox
 import com.fasterxml.jackson.databind.node.ObjectNode
 import com.fasterxml.jackson.module.kotlin.jacksonObjectMapper
 import com.fasterxml.jackson.module.kotlin.readValue
+import com.ritense.outbox.config.OutboxEventPayloadProperties
 import com.ritense.outbox.domain.BaseEvent
 import com.ritense.outbox.exception.OutboxTransactionReadOnlyException
 import org.assertj.core.api.Assertions.assertThat
@@ -115,10 +116,76 @@ class ValtimoOutboxServiceIntTest : BaseIntegrationTest() {
         assertThat(roles).containsExactlyInAnyOrder("ADMIN", "USER")
     }
 
+    @Test
+    @Transactional
+    fun `should store events about the same resource in the same partition`() {
+        outboxService.send { TestEvent() }
+        outboxService.send { TestEvent() }
+
+        val messages = outboxMessageRepository.findAll()
+        assertThat(messages.size).isEqualTo(2)
+        assertThat(messages[0].partitionKey).isEqualTo(messages[1].partitionKey)
+        assertThat(messages[0].partitionKey).isEqualTo(outboxService.partitionKeyOf(TestEvent()))
+    }
+
+    @Test
+    @Transactional
+    fun `should not evaluate supplier of dropped event type`() {
+        val service = outboxServiceWith(OutboxEventPayloadProperties(drop = setOf("test")))
+
+        service.send("test") { throw IllegalStateException("Supplier should not be evaluated") }
+
+        assertThat(outboxMessageRepository.findAll()).isEmpty()
+    }
+
+    @Test
+    @Transactional
+    fun `should only store ids of ids-only event type`() {
+        val service = outboxServiceWith(OutboxEventPayloadProperties(idsOnly = setOf("list")))
+
+        service.send("list") { ListTestEvent() }
+
+        val messages = outboxMessageRepository.findAll()
+        assertThat(messages.size).isEqualTo(1)
+        val result: ObjectNode = objectMapper.readValue(messages[0].message)
+        assertThat(result["data"]["result"].toString()).isEqualTo("""["1","2"]""")
+    }
+
+    @Test
+    @Transactional
+    fun `should not build the full event of ids-only event type`() {
+        val service = outboxServiceWith(OutboxEventPayloadProperties(idsOnly = setOf("list")))
+
+        service.send("list", { throw IllegalStateException("Full event should not be built") }, { ListTestEvent() })
+
+        val messages = outboxMessageRepository.findAll()
+        assertThat(messages.size).isEqualTo(1)
+        val result: ObjectNode = objectMapper.readValue(messages[0].message)
+        assertThat(result["data"]["result"].toString()).isEqualTo("""["1","2"]""")
+    }
+
+    private fun outboxServiceWith(properties: OutboxEventPayloadProperties) = ValtimoOutboxService(
+        outboxMessageRepository,
+        objectMapper,
+        UserProvider(),
+        "application",
+        eventPayloadProperties = properties,
+    )
+
     data class OrderCreatedEvent(
         val name: String
     )
 
+    class ListTestEvent : BaseEvent(
+        type = "list",
+        resultType = "List<test>",
+        resultId = null,
+        result = jacksonObjectMapper().createArrayNode().apply {
+            addObject().put("id", "1").put("name", "one")
+            addObject().put("id", "2").put("name", "two")
+        }
+    )
+
     class TestEvent : BaseEvent(
         type = "test",
         resultType = "test",
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import com.ritense.outbox.BaseIntegrationTest
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.ValtimoOutboxService
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.whenever
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+
+class PartitionedPollingPublisherServiceIntTest : BaseIntegrationTest() {
+
+    @Autowired
+    lateinit var outboxService: ValtimoOutboxService
+
+    @Autowired
+    lateinit var platformTransactionManager: PlatformTransactionManager
+
+    @Test
+    fun `should publish messages of all partitions in order`() {
+        insertOutboxMessage("event 1", 1)
+        insertOutboxMessage("event 2", 2)
+        insertOutboxMessage("event 3", 1)
+        val published = mutableListOf<String>()
+        whenever(messagePublisher.publishBatch(any())).thenAnswer { answer ->
+            val messages = answer.getArgument<List<OutboxMessage>>(0)
+            published.addAll(messages.map { it.message })
+            messages.map { it.id }
+        }
+        val publisherService = PartitionedPollingPublisherService(
+            outboxService, messagePublisher, platformTransactionManager, 10, 1
+        )
+
+        publisherService.pollAndPublishAll()
+
+        assertThat(published).containsExactlyInAnyOrder("event 1", "event 2", "event 3")
+        assertThat(published.indexOf("event 1")).isLessThan(published.indexOf("event 3"))
+        assertThat(outboxMessageRepository.count()).isZero()
+    }
+
+    @Test
+    fun `should not claim partitions locked by another node`(): Unit = runBlocking {
+        TransactionTemplate(platformTransactionManager).executeWithoutResult { outboxService.createPartitions() }
+        insertOutboxMessage("event 1", 1)
+        insertOutboxMessage("event 2", 2)
+
+        val claim1Ref = async(Dispatchers.IO) {
+            TransactionTemplate(platformTransactionManager).execute {
+                val partitions = outboxService.claimPartitions(1)
+                Thread.sleep(1000)
+                partitions
+            }
+        }
+        val claim2Ref = async(Dispatchers.IO) {
+            TransactionTemplate(platformTransactionManager).execute {
+                val partitions = outboxService.claimPartitions(1)
+                Thread.sleep(1000)
+                partitions
+            }
+        }
+
+        assertThat(claim1Ref.await()).hasSize(1)
+        assertThat(claim2Ref.await()).hasSize(1)
+        assertThat(claim1Ref.await()).doesNotContainAnyElementsOf(claim2Ref.await())
+    }
+
+    private fun insertOutboxMessage(message: String, partitionKey: Int) {
+        outboxMessageRepository.save(OutboxMessage(message = message, partitionKey = partitionKey))
+        Thread.sleep(5)
+    }
+}
@@ -17,6 +17,8 @@
 package com.ritense.outbox.publisher
 
 import com.ritense.outbox.BaseIntegrationTest
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.ValtimoOutboxService
 import com.ritense.outbox.test.OrderCreatedEvent
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.async
@@ -27,13 +29,21 @@ import org.mockito.kotlin.any
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
+import org.assertj.core.api.Assertions.assertThat
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.transaction.PlatformTransactionManager
 
 class PollingPublisherServiceIntTest : BaseIntegrationTest() {
 
     @Autowired
     lateinit var pollingPublisherService: PollingPublisherService
 
+    @Autowired
+    lateinit var outboxService: ValtimoOutboxService
+
+    @Autowired
+    lateinit var platformTransactionManager: PlatformTransactionManager
+
     @Test
     fun `should publish messages`() {
         insertOutboxMessage(OrderCreatedEvent("textBook"))
@@ -80,4 +90,39 @@ class PollingPublisherServiceIntTest : BaseIntegrationTest() {
         // Poller 2: read database. Find NULL
         verify(outboxMessageRepository, times(4)).findOutboxMessage()
     }
+
+    @Test
+    fun `should publish messages in batches`() {
+        insertOutboxMessage(OrderCreatedEvent("event 1"))
+        insertOutboxMessage(OrderCreatedEvent("event 2"))
+        insertOutboxMessage(OrderCreatedEvent("event 3"))
+        whenever(messagePublisher.publishBatch(any())).thenAnswer { answer ->
+            answer.getArgument<List<OutboxMessage>>(0).map { it.id }
+        }
+        val batchPublisherService = PollingPublisherService(outboxService, messagePublisher, platformTransactionManager, 2)
+
+        batchPublisherService.pollAndPublishAll()
+
+        // Number of database reads is 2 because:
+        // Poller: read database. Find event 1 and event 2
+        // Poller: read database. Find event 3, batch not full so stop
+        verify(outboxMessageRepository, times(2)).findOutboxMessages(2)
+        verify(messagePublisher, times(0)).publish(any())
+        assertThat(outboxMessageRepository.count()).isZero()
+    }
+
+    @Test
+    fun `should keep unconfirmed messages of a batch in the outbox`() {
+        insertOutboxMessage(OrderCreatedEvent("event 1"))
+        insertOutboxMessage(OrderCreatedEvent("event 2"))
+        whenever(messagePublisher.publishBatch(any())).thenAnswer { answer ->
+            listOf(answer.getArgument<List<OutboxMessage>>(0).first().id)
+        }
+        val batchPublisherService = PollingPublisherService(outboxService, messagePublisher, platformTransactionManager, 2)
+
+        batchPublisherService.pollAndPublishAll()
+
+        verify(outboxMessageRepository, times(1)).findOutboxMessages(2)
+        assertThat(outboxMessageRepository.count()).isEqualTo(1)
+    }
 }
@@ -19,6 +19,7 @@ package com.ritense.valtimo.processlink
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.ritense.plugin.repository.PluginProcessLinkRepository
 import com.ritense.plugin.service.PluginService
+import com.ritense.processlink.service.ProcessLinkIndex
 import com.ritense.processlink.service.ProcessLinkService
 import com.ritense.valtimo.processlink.mapper.PluginProcessLinkMapper
 import com.ritense.valtimo.processlink.service.PluginProcessLinkService
@@ -34,11 +35,13 @@ class ProcessLinkAutoConfiguration {
     @ConditionalOnMissingBean(ProcessLinkServiceTaskStartListener::class)
     fun pluginLinkServiceTaskStartListener(
         pluginProcessLinkRepository: PluginProcessLinkRepository?,
-        pluginService: PluginService?
+        pluginService: PluginService?,
+        processLinkIndex: ProcessLinkIndex,
     ): ProcessLinkServiceTaskStartListener {
         return ProcessLinkServiceTaskStartListener(
             pluginProcessLinkRepository!!,
-            pluginService!!
+            pluginService!!,
+            processLinkIndex,
         )
     }
 
@@ -46,11 +49,13 @@ class ProcessLinkAutoConfiguration {
     @ConditionalOnMissingBean(ProcessLinkUserTaskCreateListener::class)
     fun processLinkUserTaskCreateListener(
         pluginProcessLinkRepository: PluginProcessLinkRepository?,
-        pluginService: PluginService?
+        pluginService: PluginService?,
+        processLinkIndex: ProcessLinkIndex,
     ): ProcessLinkUserTaskCreateListener {
         return ProcessLinkUserTaskCreateListener(
             pluginProcessLinkRepository!!,
-            pluginService!!
+            pluginService!!,
+            processLinkIndex,
         )
     }
 
@@ -58,11 +63,13 @@ class ProcessLinkAutoConfiguration {
     @ConditionalOnMissingBean(ProcessLinkCallActivityStartListener::class)
     fun processLinkCallActivityStartListener(
         pluginProcessLinkRepository: PluginProcessLinkRepository?,
-        pluginService: PluginService?
+        pluginService: PluginService?,
+        processLinkIndex: ProcessLinkIndex,
     ): ProcessLinkCallActivityStartListener {
         return ProcessLinkCallActivityStartListener(
             pluginProcessLinkRepository!!,
-            pluginService!!
+            pluginService!!,
+            processLinkIndex,
         )
     }
 
@@ -17,9 +17,11 @@
 package com.ritense.valtimo.processlink
 
 import com.ritense.logging.withLoggingContext
+import com.ritense.plugin.domain.PluginProcessLink
 import com.ritense.plugin.repository.PluginProcessLinkRepository
 import com.ritense.plugin.service.PluginService
 import com.ritense.processlink.domain.ActivityTypeWithEventName
+import com.ritense.processlink.service.ProcessLinkIndex
 import org.camunda.bpm.engine.ActivityTypes
 import org.camunda.bpm.engine.delegate.DelegateTask
 import org.camunda.bpm.engine.delegate.TaskListener
@@ -31,16 +33,24 @@ import org.springframework.transaction.annotation.Transactional
 open class ProcessLinkUserTaskCreateListener(
     private val pluginProcessLinkRepository: PluginProcessLinkRepository,
     private val pluginService: PluginService,
+    private val processLinkIndex: ProcessLinkIndex? = null,
 ) : ReactorTaskListener() {
 
     @Transactional
     override fun notify(task: DelegateTask) {
         withLoggingContext("com.ritense.document.domain.impl.JsonSchemaDocument", task.execution.processBusinessKey) {
-            val pluginProcessLinks = pluginProcessLinkRepository.findByProcessDefinitionIdAndActivityIdAndActivityType(
-                task.processDefinitionId,
-                task.execution.currentActivityId,
-                ActivityTypeWithEventName.USER_TASK_CREATE
-            )
+            val pluginProcessLinks = processLinkIndex
+                ?.getProcessLinks(
+                    task.processDefinitionId,
+                    task.execution.currentActivityId,
+                    ActivityTypeWithEventName.USER_TASK_CREATE
+                )
+                ?.filterIsInstance<PluginProcessLink>()
+                ?: pluginProcessLinkRepository.findByProcessDefinitionIdAndActivityIdAndActivityType(
+                    task.processDefinitionId,
+                    task.execution.currentActivityId,
+                    ActivityTypeWithEventName.USER_TASK_CREATE
+                )
             pluginProcessLinks.forEach { pluginProcessLink ->
                 pluginService.invoke(task, pluginProcessLink)
             }
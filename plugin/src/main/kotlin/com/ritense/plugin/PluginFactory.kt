@@ -38,8 +38,18 @@ import kotlin.reflect.jvm.javaType
 abstract class PluginFactory<T : Any>(
     protected var pluginService: PluginService,
 ) {
+    @Volatile
     private var fullyQualifiedClassName: String = ""
-    lateinit var pluginConfigurationId: PluginConfigurationId
+    private val currentPluginConfigurationId = ThreadLocal<PluginConfigurationId>()
+
+    /**
+     * The id of the configuration the plugin is created for. Factories are shared singletons, so the id is kept per
+     * thread and is only available while a plugin is being created.
+     */
+    var pluginConfigurationId: PluginConfigurationId
+        get() = currentPluginConfigurationId.get()
+            ?: throw UninitializedPropertyAccessException("pluginConfigurationId is only available while creating a plugin")
+        set(value) = currentPluginConfigurationId.set(value)
 
     /**
      * Create the base plugin instance, without any additional plugin properties.
@@ -55,8 +65,7 @@ abstract class PluginFactory<T : Any>(
      * @return plugin instance of type T
      */
     fun create(configuration: PluginConfiguration): T {
-        pluginConfigurationId = configuration.id
-        val instance = create()
+        val instance = createFor(configuration.id)
 
         injectProperties(instance, configuration)
 
@@ -65,14 +74,26 @@ abstract class PluginFactory<T : Any>(
 
     fun canCreate(configuration: PluginConfiguration): Boolean {
         if (fullyQualifiedClassName.isEmpty()) {
-            pluginConfigurationId = configuration.id
-            val instance = create()
-            fullyQualifiedClassName = instance::class.java.name
+            fullyQualifiedClassName = createFor(configuration.id)::class.java.name
         }
 
         return this.fullyQualifiedClassName == configuration.pluginDefinition.fullyQualifiedClassName
     }
 
+    private fun createFor(configurationId: PluginConfigurationId): T {
+        val previousConfigurationId = currentPluginConfigurationId.get()
+        currentPluginConfigurationId.set(configurationId)
+        try {
+            return create()
+        } finally {
+            if (previousConfigurationId == null) {
+                currentPluginConfigurationId.remove()
+            } else {
+                currentPluginConfigurationId.set(previousConfigurationId)
+            }
+        }
+    }
+
     private fun injectProperties(instance: T, configuration: PluginConfiguration) {
         if (configuration.properties == null) {
             return
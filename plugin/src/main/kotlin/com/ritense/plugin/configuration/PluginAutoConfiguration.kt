@@ -124,7 +124,8 @@ class PluginAutoConfiguration {
         validator: Validator,
         applicationEventPublisher: ApplicationEventPublisher,
         encryptionService: EncryptionService,
-        environment: Environment
+        environment: Environment,
+        @Value("\${valtimo.plugin.instance-cache.enabled:true}") pluginInstanceCacheEnabled: Boolean,
     ): PluginService {
         return PluginService(
             pluginDefinitionRepository,
@@ -139,6 +140,7 @@ class PluginAutoConfiguration {
             applicationEventPublisher,
             encryptionService,
             environment,
+            pluginInstanceCacheEnabled,
         )
     }
 
@@ -66,9 +66,14 @@ import org.springframework.core.env.Environment
 import org.springframework.data.repository.findByIdOrNull
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.InvocationTargetException
 import java.lang.reflect.Method
 import java.lang.reflect.Parameter
 import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
 import kotlin.reflect.full.findAnnotation
 import kotlin.reflect.full.functions
 
@@ -87,8 +92,11 @@ class PluginService(
     private val validator: Validator,
     private val applicationEventPublisher: ApplicationEventPublisher,
     private val encryptionService: EncryptionService,
-    private val environment: Environment
+    private val environment: Environment,
+    private val pluginInstanceCacheEnabled: Boolean = true,
 ) {
+    private val pluginInstances = ConcurrentHashMap<PluginConfigurationId, CachedPluginInstance>()
+    private val pluginActions = ConcurrentHashMap<Class<*>, Map<String, PluginActionMethod>>()
 
     fun getObjectMapper(): ObjectMapper {
         return objectMapper
@@ -271,6 +279,7 @@ class PluginService(
                 }
 
                 pluginConfigurationRepository.deleteById(pluginConfigurationId)
+                pluginInstances.remove(pluginConfigurationId)
 
                 val event = PluginConfigurationDeletedEvent(it)
                 applicationEventPublisher.publishEvent(event)
@@ -383,12 +392,12 @@ class PluginService(
         ) {
             val instance: Any = createInstance(processLink.pluginConfigurationId)
 
-            val method = getActionMethod(instance, processLink)
-            val methodArguments = resolveMethodArguments(method, execution, processLink.actionProperties)
+            val action = getAction(instance, processLink)
+            val methodArguments = resolveMethodArguments(action.method, execution, processLink.actionProperties)
 
-            logger.debug { "Invoking method ${method.name} of class ${instance.javaClass.simpleName} for activity ${execution.currentActivityId} of process-instance ${execution.processInstanceId}" }
+            logger.debug { "Invoking method ${action.method.name} of class ${instance.javaClass.simpleName} for activity ${execution.currentActivityId} of process-instance ${execution.processInstanceId}" }
 
-            method.invoke(instance, *methodArguments)
+            action.invoke(instance, methodArguments)
         }
     }
 
@@ -404,12 +413,12 @@ class PluginService(
         ) {
             val instance: Any = createInstance(processLink.pluginConfigurationId)
 
-            val method = getActionMethod(instance, processLink)
-            val methodArguments = resolveMethodArguments(method, task, processLink.actionProperties)
+            val action = getAction(instance, processLink)
+            val methodArguments = resolveMethodArguments(action.method, task, processLink.actionProperties)
 
-            logger.debug { "Invoking method ${method.name} of class ${instance.javaClass.simpleName} for task ${task.taskDefinitionKey} of process-instance ${task.processInstanceId}" }
+            logger.debug { "Invoking method ${action.method.name} of class ${instance.javaClass.simpleName} for task ${task.taskDefinitionKey} of process-instance ${task.processInstanceId}" }
 
-            method.invoke(instance, *methodArguments)
+            action.invoke(instance, methodArguments)
         }
     }
 
@@ -425,6 +434,7 @@ class PluginService(
             throw IllegalStateException("Failed to update plugin. Plugin ID '${newPluginConfigurationId.id}' is already used by another plugin.")
         }
         pluginConfigurationRepository.deleteById(oldPluginConfigurationId)
+        pluginInstances.remove(oldPluginConfigurationId)
         val newPluginConfiguration = pluginConfigurationRepository.save(
             PluginConfiguration(
                 newPluginConfigurationId,
@@ -600,7 +610,48 @@ class PluginService(
         @LoggableResource(resourceType = PluginConfiguration::class) pluginConfigurationId: PluginConfigurationId
     ): Any {
         val configuration = pluginConfigurationRepository.getReferenceById(pluginConfigurationId)
-        return createInstance(configuration)
+        if (!pluginInstanceCacheEnabled) {
+            return createInstance(configuration)
+        }
+
+        val cachedInstance = pluginInstances[pluginConfigurationId]
+        if (cachedInstance != null && isCurrent(cachedInstance, configuration)) {
+            return cachedInstance.instance
+        }
+
+        val instance = createInstance(configuration)
+        val dependencies = getPluginPropertyConfigurationIds(configuration).associateWith { dependencyId ->
+            pluginInstances[dependencyId]?.instance
+        }
+        pluginInstances[pluginConfigurationId] = CachedPluginInstance(
+            instance,
+            configuration.rawProperties?.deepCopy(),
+            dependencies
+        )
+        return instance
+    }
+
+    /**
+     * A cached instance can be reused as long as its configuration was not changed, possibly on another node, and
+     * the plugins that were injected into it are still current themselves.
+     */
+    private fun isCurrent(cachedInstance: CachedPluginInstance, configuration: PluginConfiguration): Boolean {
+        return cachedInstance.rawProperties == configuration.rawProperties
+            && cachedInstance.dependencies.all { (dependencyId, dependency) ->
+                dependency != null && createInstance(dependencyId) === dependency
+            }
+    }
+
+    private fun getPluginPropertyConfigurationIds(configuration: PluginConfiguration): List<PluginConfigurationId> {
+        val properties = configuration.properties ?: return emptyList()
+        return configuration.pluginDefinition.properties
+            .filter { property ->
+                val propertyType = Class.forName(property.fieldType)
+                propertyType.isAnnotationPresent(Plugin::class.java)
+                    || propertyType.isAnnotationPresent(PluginCategory::class.java)
+            }
+            .mapNotNull { property -> properties[property.fieldName]?.textValue() }
+            .map { PluginConfigurationId.existingId(UUID.fromString(it)) }
     }
 
     fun createInstance(pluginConfiguration: PluginConfiguration): Any {
@@ -617,17 +668,19 @@ class PluginService(
         return pluginConfiguration?.let { createInstance(it) as T }
     }
 
-    private fun getActionMethod(
+    private fun getAction(
         instance: Any,
         processLink: PluginProcessLink
-    ): Method {
-        val method = instance.javaClass.methods.filter { method ->
-            method.isAnnotationPresent(PluginAction::class.java)
-        }.associateWith { method -> method.getAnnotation(PluginAction::class.java) }
-            .filter { (_, annotation) -> annotation.key == processLink.pluginActionDefinitionKey }
-            .map { entry -> entry.key }
-            .first()
-        return method
+    ): PluginActionMethod {
+        val actions = pluginActions.computeIfAbsent(instance.javaClass) { pluginClass ->
+            pluginClass.methods.filter { method ->
+                method.isAnnotationPresent(PluginAction::class.java)
+            }.associate { method ->
+                method.getAnnotation(PluginAction::class.java).key to PluginActionMethod(method)
+            }
+        }
+        return actions[processLink.pluginActionDefinitionKey]
+            ?: throw NoSuchElementException("Plugin ${instance.javaClass.name} has no action with key '${processLink.pluginActionDefinitionKey}'")
     }
 
     private fun validateProperties(properties: ObjectNode, pluginDefinition: PluginDefinition) {
@@ -737,6 +790,32 @@ class PluginService(
         return pluginActionDefinitionRepository.findByActivityTypes(ActivityTypeWithEventName.fromValue(activityType))
     }
 
+    private class CachedPluginInstance(
+        val instance: Any,
+        val rawProperties: ObjectNode?,
+        val dependencies: Map<PluginConfigurationId, Any?>,
+    )
+
+    /**
+     * Action method with a method handle that takes the plugin instance and the arguments as an array, so an action
+     * can be invoked without the per-call access checks of [Method.invoke].
+     */
+    private class PluginActionMethod(val method: Method) {
+        private val handle: MethodHandle = MethodHandles.lookup()
+            .unreflect(method.apply { trySetAccessible() })
+            .asSpreader(Array<Any?>::class.java, method.parameterCount)
+            .asType(MethodType.methodType(Any::class.java, Any::class.java, Array<Any?>::class.java))
+
+        fun invoke(instance: Any, arguments: Array<Any?>): Any? {
+            try {
+                return handle.invoke(instance, arguments)
+            } catch (e: Throwable) {
+                // Keep the contract of Method.invoke, callers expect failing actions to be wrapped
+                throw InvocationTargetException(e)
+            }
+        }
+    }
+
     companion object {
         val logger = KotlinLogging.logger {}
 
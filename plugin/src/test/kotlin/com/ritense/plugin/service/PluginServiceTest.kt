@@ -51,12 +51,15 @@ import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.spy
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import org.springframework.context.ApplicationEventPublisher
 import org.springframework.core.env.Environment
 import java.util.Optional
 import kotlin.test.assertEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
 import kotlin.test.assertTrue
 
 internal class PluginServiceTest {
@@ -498,6 +501,52 @@ internal class PluginServiceTest {
         }
     }
 
+    @Test
+    fun `should reuse plugin instance for unchanged configuration`() {
+        val pluginConfiguration = newPluginConfiguration(newPluginDefinition())
+
+        whenever(pluginConfigurationRepository.getReferenceById(pluginConfiguration.id)).thenReturn(pluginConfiguration)
+        whenever(pluginFactory.canCreate(any())).thenReturn(true)
+        whenever(pluginFactory.create(any())).thenReturn(TestPlugin(mock()))
+
+        val instance = pluginService.createInstance(pluginConfiguration.id)
+
+        assertSame(instance, pluginService.createInstance(pluginConfiguration.id))
+        verify(pluginFactory, times(1)).create(any())
+    }
+
+    @Test
+    fun `should create new plugin instance when configuration changed`() {
+        val pluginDefinition = newPluginDefinition()
+        val pluginConfigurationId = PluginConfigurationId.newId()
+        val pluginConfiguration = PluginConfiguration(
+            pluginConfigurationId,
+            "title",
+            MapperSingleton.get().readTree("{\"name\": \"whatever\" }") as ObjectNode,
+            pluginDefinition,
+            encryptionService,
+            MapperSingleton.get()
+        )
+        val updatedPluginConfiguration = PluginConfiguration(
+            pluginConfigurationId,
+            "title",
+            MapperSingleton.get().readTree("{\"name\": \"updated\" }") as ObjectNode,
+            pluginDefinition,
+            encryptionService,
+            MapperSingleton.get()
+        )
+
+        whenever(pluginConfigurationRepository.getReferenceById(pluginConfigurationId))
+            .thenReturn(pluginConfiguration, updatedPluginConfiguration)
+        whenever(pluginFactory.canCreate(any())).thenReturn(true)
+        whenever(pluginFactory.create(any())).thenReturn(TestPlugin(mock()), TestPlugin(mock()))
+
+        val instance = pluginService.createInstance(pluginConfigurationId)
+
+        assertNotSame(instance, pluginService.createInstance(pluginConfigurationId))
+        verify(pluginFactory, times(2)).create(any())
+    }
+
     private fun newPluginDefinition(): PluginDefinition {
         val pluginDefinition = PluginDefinition(
             "TestPlugin",
@@ -84,6 +84,10 @@ class DocumentJsonValueResolverFactory(
         )
     }
 
+    override fun createResolvers(documentIds: Collection<String>): Map<String, Function<String, Any?>> {
+        return documentService.createResolvers(documentIds, ::createResolver)
+    }
+
     override fun handleValues(
         processInstanceId: String,
         variableScope: VariableScope?,
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.processdocument.resolver
+
+import com.ritense.authorization.AuthorizationContext
+import com.ritense.document.domain.Document
+import com.ritense.document.domain.impl.JsonSchemaDocumentId
+import com.ritense.document.exception.DocumentNotFoundException
+import com.ritense.document.service.DocumentService
+import java.util.UUID
+import java.util.function.Function
+
+/**
+ * Loads all documents with one query and creates a resolver for each of them.
+ */
+internal fun DocumentService.createResolvers(
+    documentIds: Collection<String>,
+    createResolver: (Document) -> Function<String, Any?>
+): Map<String, Function<String, Any?>> {
+    val documents = AuthorizationContext.runWithoutAuthorization {
+        findAllBy(documentIds.map<String, Document.Id> { JsonSchemaDocumentId.existingId(UUID.fromString(it)) })
+    }.associateBy { it.id().toString() }
+
+    return documentIds.associateWith { documentId ->
+        createResolver(
+            documents[documentId] ?: throw DocumentNotFoundException("Document not found with id $documentId")
+        )
+    }
+}
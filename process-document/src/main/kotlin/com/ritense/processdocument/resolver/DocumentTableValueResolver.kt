@@ -60,6 +60,10 @@ class DocumentTableValueResolver(
         return AuthorizationContext.runWithoutAuthorization { createResolver(documentService.get(documentId)) }
     }
 
+    override fun createResolvers(documentIds: Collection<String>): Map<String, Function<String, Any?>> {
+        return documentService.createResolvers(documentIds, ::createResolver)
+    }
+
     override fun handleValues(processInstanceId: String, variableScope: VariableScope?, values: Map<String, Any?>) {
         val firstValue = values.iterator().next()
         throw NotImplementedError("Unable to handle value: {${firstValue.key} to ${firstValue.value}}")
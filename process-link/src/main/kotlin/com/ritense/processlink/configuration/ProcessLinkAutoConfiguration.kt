@@ -28,6 +28,7 @@ import com.ritense.processlink.security.config.ProcessLinkHttpSecurityConfigurer
 import com.ritense.processlink.service.CopyProcessLinkOnProcessDeploymentListener
 import com.ritense.processlink.service.ProcessLinkActivityHandler
 import com.ritense.processlink.service.ProcessLinkActivityService
+import com.ritense.processlink.service.ProcessLinkIndex
 import com.ritense.processlink.service.ProcessLinkService
 import com.ritense.processlink.web.rest.ProcessLinkResource
 import com.ritense.processlink.web.rest.ProcessLinkTaskResource
@@ -35,6 +36,7 @@ import com.ritense.valtimo.autoconfiguration.ValtimoCamundaAutoConfiguration
 import com.ritense.valtimo.camunda.service.CamundaRepositoryService
 import com.ritense.valtimo.event.ProcessDefinitionDeployedEvent
 import com.ritense.valtimo.service.CamundaTaskService
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.AutoConfiguration
 import org.springframework.boot.autoconfigure.AutoConfigureAfter
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
@@ -46,6 +48,7 @@ import org.springframework.core.annotation.Order
 import org.springframework.core.env.Environment
 import org.springframework.core.io.ResourceLoader
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories
+import java.time.Duration
 
 @AutoConfiguration
 @EnableJpaRepositories(
@@ -75,6 +78,15 @@ class ProcessLinkAutoConfiguration {
         return ProcessLinkService(processLinkRepository, processLinkMappers, processLinkTypes, camundaRepositoryService)
     }
 
+    @Bean
+    @ConditionalOnMissingBean(ProcessLinkIndex::class)
+    fun processLinkIndex(
+        processLinkRepository: ProcessLinkRepository,
+        @Value("\${valtimo.process-link.index-time-to-live:1m}") timeToLive: Duration
+    ): ProcessLinkIndex {
+        return ProcessLinkIndex(processLinkRepository, timeToLive)
+    }
+
     @Bean
     @ConditionalOnMissingBean(ProcessLinkActivityService::class)
     fun processLinkTaskService(
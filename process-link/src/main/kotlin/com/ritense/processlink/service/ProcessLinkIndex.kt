@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.processlink.service
+
+import com.ritense.processlink.domain.ActivityTypeWithEventName
+import com.ritense.processlink.domain.ProcessLink
+import com.ritense.processlink.repository.ProcessLinkRepository
+import mu.KotlinLogging
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * In-memory index of the process links of a process definition.
+ *
+ * A Camunda process definition id never changes, so the links of a definition are loaded once and served from memory
+ * when activities are started. Every write to a process link evicts the definition it belongs to, both immediately
+ * and again when the writing transaction completes, so links that were read before the commit (or that were rolled
+ * back) are not served afterwards. Changes made on other nodes become visible once an entry is older than the
+ * configured time-to-live.
+ */
+class ProcessLinkIndex(
+    private val processLinkRepository: ProcessLinkRepository,
+    private val timeToLive: Duration = DEFAULT_TIME_TO_LIVE,
+    private val clock: Clock = Clock.systemUTC(),
+) {
+    private val processLinksByDefinition = ConcurrentHashMap<String, IndexedProcessLinks>()
+
+    fun getProcessLinks(
+        processDefinitionId: String,
+        activityId: String,
+        activityType: ActivityTypeWithEventName
+    ): List<ProcessLink> {
+        return getProcessLinks(processDefinitionId)
+            .filter { it.activityId == activityId && it.activityType == activityType }
+    }
+
+    fun getProcessLinks(processDefinitionId: String): List<ProcessLink> {
+        val now = Instant.now(clock)
+        val indexed = processLinksByDefinition[processDefinitionId]
+        if (indexed != null && indexed.expiresAt.isAfter(now)) {
+            return indexed.processLinks
+        }
+
+        logger.debug { "Indexing process links of process definition $processDefinitionId" }
+        val processLinks = processLinkRepository.findByProcessDefinitionId(processDefinitionId)
+        processLinksByDefinition[processDefinitionId] = IndexedProcessLinks(processLinks, now.plus(timeToLive))
+        return processLinks
+    }
+
+    fun evict(processDefinitionId: String) {
+        processLinksByDefinition.remove(processDefinitionId)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCompletion(status: Int) {
+                    processLinksByDefinition.remove(processDefinitionId)
+                }
+            })
+        }
+    }
+
+    fun evictAll() {
+        processLinksByDefinition.clear()
+    }
+
+    private class IndexedProcessLinks(
+        val processLinks: List<ProcessLink>,
+        val expiresAt: Instant,
+    )
+
+    companion object {
+        val DEFAULT_TIME_TO_LIVE: Duration = Duration.ofMinutes(1)
+
+        private val logger = KotlinLogging.logger {}
+    }
+}
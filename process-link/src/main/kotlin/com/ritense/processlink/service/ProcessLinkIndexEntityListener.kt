@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.processlink.service
+
+import com.ritense.processlink.domain.ProcessLink
+import jakarta.persistence.PostPersist
+import jakarta.persistence.PostRemove
+import jakarta.persistence.PostUpdate
+import jakarta.persistence.PrePersist
+import jakarta.persistence.PreRemove
+import jakarta.persistence.PreUpdate
+import org.springframework.beans.factory.ObjectProvider
+
+/**
+ * Evicts the process definition of every process link that is written, whichever repository or service writes it.
+ * The index is looked up lazily, because entity listeners are created while the entity manager factory is built.
+ */
+class ProcessLinkIndexEntityListener(
+    private val processLinkIndex: ObjectProvider<ProcessLinkIndex>
+) {
+    @PrePersist
+    @PreUpdate
+    @PreRemove
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    fun evict(processLink: ProcessLink) {
+        processLinkIndex.ifAvailable { it.evict(processLink.processDefinitionId) }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.processlink.service
+
+import com.ritense.authorization.AuthorizationContext.Companion.runWithoutAuthorization
+import com.ritense.processlink.BaseIntegrationTest
+import com.ritense.processlink.domain.ActivityTypeWithEventName
+import com.ritense.processlink.domain.CustomProcessLinkCreateRequestDto
+import com.ritense.valtimo.camunda.domain.CamundaProcessDefinition
+import com.ritense.valtimo.camunda.repository.CamundaProcessDefinitionSpecificationHelper.Companion.byKey
+import com.ritense.valtimo.camunda.repository.CamundaProcessDefinitionSpecificationHelper.Companion.byLatestVersion
+import com.ritense.valtimo.camunda.service.CamundaRepositoryService
+import jakarta.transaction.Transactional
+import kotlin.test.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+
+@Transactional
+internal class ProcessLinkIndexIntTest : BaseIntegrationTest() {
+
+    @Autowired
+    lateinit var processLinkService: ProcessLinkService
+
+    @Autowired
+    lateinit var processLinkIndex: ProcessLinkIndex
+
+    @Autowired
+    lateinit var repositoryService: CamundaRepositoryService
+
+    private lateinit var processDefinition: CamundaProcessDefinition
+
+    @BeforeEach
+    fun beforeEach() {
+        processDefinition = runWithoutAuthorization {
+            repositoryService.findProcessDefinition(byKey(PROCESS_DEFINITION_KEY).and(byLatestVersion()))!!
+        }
+    }
+
+    @Test
+    fun `should serve process links of a process definition`() {
+        val processLink = createProcessLink()
+
+        val processLinks = processLinkIndex.getProcessLinks(
+            processDefinition.id,
+            SERVICE_TASK_ID,
+            ActivityTypeWithEventName.SERVICE_TASK_START
+        )
+
+        assertEquals(listOf(processLink.id), processLinks.map { it.id })
+        assertEquals(
+            0,
+            processLinkIndex.getProcessLinks(
+                processDefinition.id,
+                SERVICE_TASK_ID,
+                ActivityTypeWithEventName.SERVICE_TASK_END
+            ).size
+        )
+    }
+
+    @Test
+    fun `should evict process definition when a process link is created or deleted`() {
+        assertEquals(0, processLinkIndex.getProcessLinks(processDefinition.id).size)
+
+        val processLink = createProcessLink()
+        assertEquals(1, processLinkIndex.getProcessLinks(processDefinition.id).size)
+
+        processLinkService.deleteProcessLink(processLink.id)
+        assertEquals(0, processLinkIndex.getProcessLinks(processDefinition.id).size)
+    }
+
+    private fun createProcessLink() = processLinkService.createProcessLink(
+        CustomProcessLinkCreateRequestDto(
+            processDefinition.id,
+            SERVICE_TASK_ID,
+            ActivityTypeWithEventName.SERVICE_TASK_START
+        )
+    )
+
+    companion object {
+        private const val PROCESS_DEFINITION_KEY = "service-task-process"
+        private const val SERVICE_TASK_ID = "my-service-task"
+    }
+}
@@ -85,6 +85,20 @@ interface ValueResolverFactory {
     fun createResolver(documentId: String)
         : Function<String, Any?>
 
+    /**
+     * This creates a requestedValue resolver for each of the given documents.
+     *
+     * By default a resolver is created per document. Factories that load a document or call an external source for
+     * every resolver can override this to load the data for all documents in one go, for instance for a page of
+     * case list rows.
+     *
+     * @param documentIds The documentIds these values belong to
+     *
+     * @return a resolver for each documentId that handles one requestedValue at a time within the same context.
+     */
+    fun createResolvers(documentIds: Collection<String>)
+        : Map<String, Function<String, Any?>> = documentIds.associateWith { createResolver(it) }
+
     /**
      * @param processInstanceId The Camunda processInstanceId these values belong to
      * @param variableScope An implementation of VariableScope.
@@ -71,6 +71,21 @@ interface ValueResolverService {
         requestedValues: Collection<String>
     ): Map<String, Any?>
 
+    /**
+     * Resolves the same requestedValues for many documents at once, for instance for the rows of a case list.
+     * Resolvers that support it load the data for all documents in one go instead of once per document.
+     *
+     * @param documentInstanceIds The documentInstanceIds these values belong to
+     * @param requestedValues The requestedValues that should be resolved into values.
+     * @return A map where the key is the documentInstanceId, and the value the resolved values of that document.
+     */
+    fun resolveValues(
+        documentInstanceIds: Collection<String>,
+        requestedValues: Collection<String>
+    ): Map<String, Map<String, Any?>> {
+        return documentInstanceIds.associateWith { resolveValues(it, requestedValues) }
+    }
+
     /**
      * Handle values. Usually by storing them somewhere.
      *
@@ -143,6 +143,27 @@ class ValueResolverServiceImpl(
         }.flatten().toMap()
     }
 
+    override fun resolveValues(
+        documentInstanceIds: Collection<String>,
+        requestedValues: Collection<String>
+    ): Map<String, Map<String, Any?>> {
+        val resolvedValues = documentInstanceIds.associateWith { mutableMapOf<String, Any?>() }
+        if (resolvedValues.isEmpty()) {
+            return resolvedValues
+        }
+        toResolverFactoryMap(requestedValues).forEach { (resolverFactory, requestedValues) ->
+            val resolvers = resolverFactory.createResolvers(resolvedValues.keys)
+            resolvedValues.forEach { (documentInstanceId, values) ->
+                val resolver = resolvers[documentInstanceId]
+                    ?: throw IllegalStateException("No resolver created for document $documentInstanceId by ${resolverFactory.javaClass.simpleName}")
+                requestedValues.forEach { requestedValue ->
+                    values[requestedValue] = resolver.apply(trimPrefix(requestedValue))
+                }
+            }
+        }
+        return resolvedValues
+    }
+
     /**
      * Handle values. Usually by storing them somewhere.
      *
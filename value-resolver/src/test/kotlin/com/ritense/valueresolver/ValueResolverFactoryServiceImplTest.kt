@@ -22,7 +22,10 @@ import org.camunda.bpm.engine.RuntimeService
 import org.camunda.community.mockito.delegate.DelegateTaskFake
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.spy
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 
 internal class ValueResolverFactoryServiceImplTest {
@@ -124,6 +127,27 @@ internal class ValueResolverFactoryServiceImplTest {
         assertThat(exception.message).startsWith("No resolver factory found for value prefix xyz")
     }
 
+    @Test
+    fun `Should resolve requested values for many documents at once`() {
+        val documentValueResolver = spy(TestDocumentValueResolver())
+        val resolverService = ValueResolverServiceImpl(listOf(documentValueResolver, FixedValueResolverFactory()))
+        val documentIds = listOf(UUID.randomUUID().toString(), UUID.randomUUID().toString())
+
+        val resolvedValues = resolverService.resolveValues(documentIds, listOf("testDoc:1", "testDoc:2", "fixedValue"))
+
+        assertThat(resolvedValues).containsOnlyKeys(documentIds)
+        documentIds.forEach { documentId ->
+            assertThat(resolvedValues[documentId]).containsExactlyInAnyOrderEntriesOf(
+                mapOf(
+                    "testDoc:1" to "test",
+                    "testDoc:2" to "test",
+                    "fixedValue" to "fixedValue"
+                )
+            )
+        }
+        verify(documentValueResolver, times(1)).createResolvers(any())
+    }
+
     @Test
     fun `Should handle list of values`() {
         val processInstanceId = UUID.randomUUID().toString()
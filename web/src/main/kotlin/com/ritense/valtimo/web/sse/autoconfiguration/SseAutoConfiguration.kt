@@ -16,7 +16,9 @@
 
 package com.ritense.valtimo.web.sse.autoconfiguration
 
+import com.ritense.valtimo.web.sse.service.SseEventBroadcaster
 import com.ritense.valtimo.web.sse.service.SseSubscriptionService
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.AutoConfiguration
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.context.annotation.Bean
@@ -26,5 +28,9 @@ class SseAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(SseSubscriptionService::class)
-    fun sseSubscriptionService() = SseSubscriptionService()
+    fun sseSubscriptionService(
+        @Value("\${valtimo.sse.fan-out.threads:4}") threads: Int,
+        @Value("\${valtimo.sse.subscriber.queue-capacity:100}") queueCapacity: Int,
+        sseEventBroadcaster: SseEventBroadcaster?
+    ) = SseSubscriptionService(threads, queueCapacity, sseEventBroadcaster)
 }
@@ -18,54 +18,89 @@ package com.ritense.valtimo.web.sse.domain
 
 import com.ritense.valtimo.web.sse.event.BaseSseEvent
 import java.io.IOException
-import java.util.LinkedList
+import java.util.concurrent.atomic.AtomicBoolean
 
 class SubscriberHandler(
-    val state: SubscriberState = SubscriberState()
+    val state: SubscriberState = SubscriberState(),
+    private val capacity: Int = DEFAULT_CAPACITY
 ) {
 
     /**
      * Active subscriber instance if connected, or null if disconnected
      */
+    @Volatile
     var subscriber: Subscriber? = null
         private set
 
-    private val eventQueue = LinkedList<BaseSseEvent>()
+    private val eventQueue = ArrayDeque<BaseSseEvent>()
+
+    private val sendLock = Any()
+
+    private val flushScheduled = AtomicBoolean(false)
+
+    val queueSize: Int
+        get() = synchronized(eventQueue) { eventQueue.size }
 
     /**
-     * Sends an SSE event, or if not connected add it to the queue, to be sent upon reconnecting
+     * Adds an SSE event to the queue, to be sent by the next [flush]. When the queue is full the oldest event is
+     * dropped, and events that are interchangeable with an event that is already queued are skipped.
      */
     fun enqueue(event: BaseSseEvent) {
-        var sent = false
-        this.subscriber?.let {
-            try {
-                it.send(event)
-                sent = true
-            } catch (ex: IOException) {
-                this.subscriber = null
+        synchronized(eventQueue) {
+            val coalesceKey = event.coalesceKey
+            if (coalesceKey != null
+                && eventQueue.any { it.eventType == event.eventType && it.coalesceKey == coalesceKey }
+            ) {
+                return
             }
-        }
-        if (!sent) {
-            this.eventQueue.add(event)
+            if (eventQueue.size >= capacity) {
+                eventQueue.removeFirst()
+            }
+            eventQueue.addLast(event)
         }
     }
 
-    fun setSubscriber(subscriber: Subscriber?) {
-        this.subscriber = subscriber
-        // process built up events
-        subscriber?.let { sub ->
-            while (eventQueue.isNotEmpty()) {
-                val event = eventQueue.pop()
+    /**
+     * Sends the queued events to the connected subscriber. Events stay queued while disconnected, to be sent upon
+     * reconnecting.
+     */
+    fun flush() {
+        flushScheduled.set(false)
+        synchronized(sendLock) {
+            while (true) {
+                val sub = subscriber ?: return
+                val event = synchronized(eventQueue) { eventQueue.firstOrNull() } ?: return
                 try {
                     sub.send(event)
                 } catch (ex: IOException) {
-                    // reinsert event at start of queue
-                    eventQueue.add(0, event)
-                    this.subscriber = null
-                    break
+                    if (subscriber === sub) {
+                        subscriber = null
+                    }
+                    return
+                }
+                synchronized(eventQueue) {
+                    if (eventQueue.firstOrNull() === event) {
+                        eventQueue.removeFirst()
+                    }
                 }
             }
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns true when the caller should schedule a [flush], false when one is already pending.
+     */
+    fun tryScheduleFlush(): Boolean {
+        return flushScheduled.compareAndSet(false, true)
+    }
+
+    fun setSubscriber(subscriber: Subscriber?) {
+        this.subscriber = subscriber
+        // process built up events
+        flush()
+    }
+
+    companion object {
+        const val DEFAULT_CAPACITY = 100
+    }
+}
@@ -16,9 +16,18 @@
 
 package com.ritense.valtimo.web.sse.event
 
+import com.fasterxml.jackson.annotation.JsonIgnore
 import com.fasterxml.jackson.annotation.JsonProperty
 
 abstract class BaseSseEvent(
     @JsonProperty("_t")
     val eventType: String
-)
+) {
+    /**
+     * Events of the same type with the same non-null key are interchangeable: when one is still waiting to be sent to
+     * a subscriber, newer ones are not queued again.
+     */
+    @get:JsonIgnore
+    open val coalesceKey: String?
+        get() = null
+}
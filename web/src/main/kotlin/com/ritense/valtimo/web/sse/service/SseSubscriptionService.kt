@@ -22,17 +22,55 @@ import com.ritense.valtimo.web.sse.domain.Subscriber
 import com.ritense.valtimo.web.sse.domain.SubscriberHandler
 import com.ritense.valtimo.web.sse.event.BaseSseEvent
 import com.ritense.valtimo.web.sse.event.EstablishedConnectionSseEvent
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.Metrics
 import mu.KotlinLogging
+import org.springframework.beans.factory.DisposableBean
 import java.time.Duration
 import java.util.UUID
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicInteger
 
-class SseSubscriptionService {
+/**
+ * Keeps track of SSE subscribers and fans out events to them. Events are queued per subscriber and sent on a dedicated
+ * executor, so a slow or stalled connection never blocks the thread that raised the event. When an
+ * [SseEventBroadcaster] is configured, events are also passed on to the subscribers connected to other nodes.
+ */
+class SseSubscriptionService(
+    threads: Int = DEFAULT_THREADS,
+    private val queueCapacity: Int = SubscriberHandler.DEFAULT_CAPACITY,
+    private val broadcaster: SseEventBroadcaster? = null
+) : DisposableBean {
 
     // use cache so items get automatically evicted after 3h as final safeguard for memory leaks
     private val subscriberHandles: Cache<UUID, SubscriberHandler> = CacheBuilder.newBuilder()
         .expireAfterAccess(Duration.ofHours(3))
         .build()
 
+    private val executor: ExecutorService = AtomicInteger().let { threadNumber ->
+        Executors.newFixedThreadPool(threads) { runnable ->
+            Thread(runnable, "sse-fan-out-${threadNumber.incrementAndGet()}").apply { isDaemon = true }
+        }
+    }
+
+    init {
+        Gauge.builder("valtimo.sse.subscribers", this) { it.subscriberHandles.size().toDouble() }
+            .description("Number of SSE subscriptions, including disconnected ones that may still reconnect")
+            .register(Metrics.globalRegistry)
+        Gauge.builder("valtimo.sse.subscribers.connected", this) { service ->
+            service.subscriberHandles.asMap().values.count { it.subscriber != null }.toDouble()
+        }
+            .description("Number of SSE subscriptions with an open connection")
+            .register(Metrics.globalRegistry)
+        Gauge.builder("valtimo.sse.queue.depth", this) { service ->
+            service.subscriberHandles.asMap().values.sumOf { it.queueSize }.toDouble()
+        }
+            .description("Number of SSE events waiting to be sent, over all subscriptions")
+            .register(Metrics.globalRegistry)
+    }
+
     fun subscribe(subscriptionId: UUID? = null): Subscriber {
         logger.debug { "Fetching new or existing subscription: $subscriptionId" }
         return subscriptionId?.let { id ->
@@ -48,19 +86,51 @@ class SseSubscriptionService {
     }
 
     fun notifySubscribers(event: BaseSseEvent) {
+        notifyLocalSubscribers(event)
+        if (broadcaster != null) {
+            try {
+                broadcaster.broadcast(event)
+            } catch (e: Exception) {
+                logger.error(e) { "Failed to broadcast ${event.eventType} event to other nodes" }
+            }
+        }
+    }
+
+    fun notifyLocalSubscribers(event: BaseSseEvent) {
         logger.debug { "Notify subscribers (total=${subscriberHandles.asMap().size})" }
         try {
             subscriberHandles.asMap().values.forEach { subscriber ->
-                logger.debug { "Sending notification to ${subscriber.state.subscriptionId}" }
+                logger.debug { "Queueing notification for ${subscriber.state.subscriptionId}" }
                 subscriber.enqueue(event)
+                scheduleFlush(subscriber)
             }
         } catch (e: Exception) {
             logger.error { "Failed to notify subscribers $e" }
         }
     }
 
+    override fun destroy() {
+        executor.shutdownNow()
+    }
+
+    private fun scheduleFlush(handle: SubscriberHandler) {
+        if (handle.subscriber != null && handle.tryScheduleFlush()) {
+            try {
+                executor.execute {
+                    try {
+                        handle.flush()
+                    } catch (e: Exception) {
+                        logger.debug { "Failed to send notifications to ${handle.state.subscriptionId}: $e" }
+                    }
+                }
+            } catch (e: RejectedExecutionException) {
+                logger.debug { "SSE fan-out executor is shut down, not sending notifications" }
+            }
+        }
+    }
+
     private fun registerNewSubscriber(): Subscriber {
-        return this.setupNewSubscriber(SubscriberHandler(), true)
+        return this.setupNewSubscriber(SubscriberHandler(capacity = queueCapacity), true)
     }
 
     private fun setupNewSubscriber(handle: SubscriberHandler, isNew: Boolean): Subscriber {
@@ -71,6 +141,7 @@ class SseSubscriptionService {
             this.subscriberHandles.put(handle.state.subscriptionId, handle)
             // send subscription id to client
             handle.enqueue(EstablishedConnectionSseEvent(handle.state.subscriptionId))
+            handle.flush()
         }
 
         // On Client connection timeout, unregister and mark complete subscriber
@@ -93,6 +164,7 @@ class SseSubscriptionService {
     }
 
     companion object {
+        private const val DEFAULT_THREADS = 4
         private val logger = KotlinLogging.logger {}
     }
 
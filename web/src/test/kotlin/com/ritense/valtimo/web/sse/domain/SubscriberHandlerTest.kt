@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.valtimo.web.sse.domain
+
+import com.ritense.valtimo.web.sse.event.BaseSseEvent
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doThrow
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.io.IOException
+
+class SubscriberHandlerTest {
+
+    @Test
+    fun `should queue events until flushed`() {
+        val handler = SubscriberHandler()
+        val subscriber = mock<Subscriber>()
+        handler.setSubscriber(subscriber)
+
+        handler.enqueue(TestEvent("1"))
+        handler.enqueue(TestEvent("2"))
+        assertThat(handler.queueSize).isEqualTo(2)
+
+        handler.flush()
+        assertThat(handler.queueSize).isZero()
+        verify(subscriber, times(2)).send(any<Any>())
+    }
+
+    @Test
+    fun `should skip events that are already queued with the same coalesce key`() {
+        val handler = SubscriberHandler()
+
+        handler.enqueue(TestEvent("1"))
+        handler.enqueue(TestEvent("1"))
+        handler.enqueue(TestEvent("2"))
+
+        assertThat(handler.queueSize).isEqualTo(2)
+    }
+
+    @Test
+    fun `should drop the oldest events when the queue is full`() {
+        val handler = SubscriberHandler(capacity = 2)
+        val subscriber = mock<Subscriber>()
+        val third = TestEvent("3")
+
+        handler.enqueue(TestEvent("1"))
+        handler.enqueue(TestEvent("2"))
+        handler.enqueue(third)
+        assertThat(handler.queueSize).isEqualTo(2)
+
+        handler.setSubscriber(subscriber)
+        verify(subscriber, times(2)).send(any<Any>())
+        verify(subscriber).send(third)
+    }
+
+    @Test
+    fun `should keep events queued when sending fails`() {
+        val handler = SubscriberHandler()
+        val subscriber = mock<Subscriber>()
+        doThrow(IOException()).whenever(subscriber).send(any<Any>())
+        handler.setSubscriber(subscriber)
+
+        handler.enqueue(TestEvent("1"))
+        handler.flush()
+
+        assertThat(handler.queueSize).isEqualTo(1)
+        assertThat(handler.subscriber).isNull()
+    }
+
+    private class TestEvent(val id: String) : BaseSseEvent("TEST") {
+        override val coalesceKey: String
+            get() = id
+    }
+}
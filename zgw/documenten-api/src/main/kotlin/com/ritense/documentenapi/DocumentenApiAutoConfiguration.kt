@@ -42,6 +42,7 @@ import com.ritense.resource.service.TemporaryResourceStorageService
 import com.ritense.valtimo.camunda.service.CamundaRepositoryService
 import com.ritense.valtimo.changelog.service.ChangelogDeployer
 import com.ritense.valtimo.changelog.service.ChangelogService
+import com.ritense.valtimo.contract.client.StreamingRequestFactoryConfigurer
 import com.ritense.valtimo.contract.config.LiquibaseMasterChangeLogLocation
 import com.ritense.valtimo.processlink.service.PluginProcessLinkService
 import org.springframework.beans.factory.annotation.Value
@@ -69,12 +70,14 @@ class DocumentenApiAutoConfiguration {
         restClientBuilder: RestClient.Builder,
         outboxService: OutboxService,
         objectMapper: ObjectMapper,
-        platformTransactionManager: PlatformTransactionManager
+        platformTransactionManager: PlatformTransactionManager,
+        streamingRequestFactoryConfigurer: StreamingRequestFactoryConfigurer?
     ) = DocumentenApiClient(
         restClientBuilder,
         outboxService,
         objectMapper,
-        platformTransactionManager
+        platformTransactionManager,
+        streamingRequestFactoryConfigurer
     )
 
     @Bean
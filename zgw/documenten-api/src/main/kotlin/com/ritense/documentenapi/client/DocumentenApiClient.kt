@@ -29,6 +29,7 @@ import com.ritense.documentenapi.event.DocumentStored
 import com.ritense.documentenapi.event.DocumentUpdated
 import com.ritense.documentenapi.web.rest.dto.DocumentSearchRequest
 import com.ritense.outbox.OutboxService
+import com.ritense.valtimo.contract.client.StreamingRequestFactoryConfigurer
 import com.ritense.zgw.ClientTools
 import com.ritense.zgw.ClientTools.Companion.optionalQueryParam
 import com.ritense.zgw.Page
@@ -52,14 +53,15 @@ class DocumentenApiClient(
     private val restClientBuilder: RestClient.Builder,
     private val outboxService: OutboxService,
     private val objectMapper: ObjectMapper,
-    private val platformTransactionManager: PlatformTransactionManager
+    private val platformTransactionManager: PlatformTransactionManager,
+    private val streamingRequestFactoryConfigurer: StreamingRequestFactoryConfigurer? = null
 ) {
     fun storeDocument(
         authentication: DocumentenApiAuthentication,
         baseUrl: URI,
         request: CreateDocumentRequest
     ): CreateDocumentResult {
-        val result = restClient(authentication)
+        val result = streamingRestClient(authentication)
             .post()
             .uri {
                 ClientTools.baseUrlToBuilder(it, baseUrl)
@@ -93,7 +95,7 @@ class DocumentenApiClient(
             val body = FileUploadPart(bestandsdeel, request, bestandsnaam)
                 .createBody()
 
-            restClient(authentication)
+            streamingRestClient(authentication)
                 .put()
                 .uri {
                     ClientTools.baseUrlToBuilder(it, baseUrl)
@@ -218,7 +220,7 @@ class DocumentenApiClient(
         authentication: DocumentenApiAuthentication,
         objectUrl: URI
     ): InputStream {
-        val result = restClient(authentication)
+        val result = streamingRestClient(authentication)
             .get()
             .uri {
                 ClientTools.baseUrlToBuilder(it, objectUrl)
@@ -318,6 +320,22 @@ class DocumentenApiClient(
             .build()
     }
 
+    /**
+     * Used for the endpoints that transfer document content, so large files are not held in memory.
+     */
+    private fun streamingRestClient(authentication: DocumentenApiAuthentication): RestClient {
+        return restClientBuilder
+            .clone()
+            .apply {
+                streamingRequestFactoryConfigurer?.configure(it)
+                authentication.applyAuth(it)
+            }
+            .messageConverters {
+                it + ResourceHttpMessageConverter(true)
+            }
+            .build()
+    }
+
     fun UriBuilder.addSortParameter(pageable: Pageable): UriBuilder {
         val sortString = pageable.sort.map {
             val property = DocumentenApiColumnKey.fromProperty(it.property)
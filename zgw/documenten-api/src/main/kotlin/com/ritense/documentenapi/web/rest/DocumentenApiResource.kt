@@ -52,8 +52,9 @@ class DocumentenApiResource(
         @PathVariable(name = "documentId") documentId: String,
     ): ResponseEntity<InputStreamResource> {
 
-        val documentInputStream = documentenApiService.downloadInformatieObject(pluginConfigurationId, documentId)
+        // Fetch the metadata first: the content stream holds a pooled connection until it is read
         val documentMetadata = documentenApiService.getInformatieObject(pluginConfigurationId, documentId)
+        val documentInputStream = documentenApiService.downloadInformatieObject(pluginConfigurationId, documentId)
 
         val responseHeaders = HttpHeaders()
         responseHeaders.set("Content-Disposition", "attachment; filename=\"${documentMetadata.bestandsnaam}\"")
@@ -28,6 +28,8 @@ import com.ritense.documentenapi.event.DocumentUpdated
 import com.ritense.documentenapi.web.rest.dto.DocumentSearchRequest
 import com.ritense.outbox.OutboxService
 import com.ritense.outbox.domain.BaseEvent
+import com.ritense.valtimo.contract.client.StreamingRequestFactoryConfigurer
+import com.ritense.valtimo.contract.client.ValtimoHttpRestClientConfigurationProperties
 import com.ritense.valtimo.contract.json.MapperSingleton
 import com.ritense.zgw.Rsin
 import com.ritense.zgw.domain.Vertrouwelijkheid
@@ -520,6 +522,42 @@ DocumentenApiClientTest {
         assertThat(firstEventValue.resultId).contains(documentInformatieObjectId)
     }
 
+    @Test
+    fun `should stream document content without buffering request interceptors`() {
+        var intercepted = false
+        val restClientBuilder = RestClient.builder()
+            .requestInterceptor { request, body, execution ->
+                intercepted = true
+                execution.execute(request, body)
+            }
+        val streamingRequestFactoryConfigurer = StreamingRequestFactoryConfigurer(
+            ValtimoHttpRestClientConfigurationProperties()
+        )
+        val client = DocumentenApiClient(
+            restClientBuilder,
+            outboxService,
+            objectMapper,
+            mock(),
+            streamingRequestFactoryConfigurer
+        )
+        val buffer = Buffer()
+        buffer.writeUtf8("HI TOM")
+
+        mockDocumentenApi.enqueue(mockInputStreamResponse(buffer))
+
+        val content = client.downloadInformatieObjectContent(
+            TestAuthentication(),
+            mockDocumentenApi.url("/").toUri(),
+            "123"
+        ).use { it.readAllBytes() }
+
+        val recordedRequest = mockDocumentenApi.takeRequest()
+
+        assertEquals("HI TOM", String(content))
+        assertEquals("Bearer test", recordedRequest.getHeader("Authorization"))
+        assertThat(intercepted).isFalse()
+    }
+
     @Test
     fun `should not send outbox message on error download document informatieobject content`() {
         val restClientBuilder = RestClient.builder()